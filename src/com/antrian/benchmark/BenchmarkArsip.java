@@ -0,0 +1,143 @@
+package com.antrian.benchmark;
+
+import com.antrian.core.model.Antrian;
+import com.antrian.core.model.Poli;
+import com.antrian.core.service.AntrianCursor;
+import com.antrian.core.service.AntrianFilter;
+import com.antrian.core.service.FileService;
+import com.antrian.core.service.FileService.StorageMode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Kelas {@code BenchmarkArsip} mengukur arsip segmen terkompresi: rasio kompresi
+ * arsip {@code yyyy-MM.txt.gz} dan throughput scan lewat {@link AntrianCursor},
+ * dibandingkan dengan snapshot teks tunggal {@code Antrian.txt}.
+ *
+ * <p>Data sintetis tersebar merata selama 12 bulan terakhir, sehingga sebagian
+ * besar bulan langsung diarsipkan saat penyimpanan dipindah ke mode
+ * {@link StorageMode#SEGMENTED}. Dua query diukur di kedua mode: scan satu poli
+ * di seluruh data, dan rentang satu bulan yang sudah diarsipkan. Jumlah hasil
+ * kedua mode harus sama; program berhenti dengan kode 1 jika berbeda.</p>
+ *
+ * <p>Contoh menjalankan dari folder kosong (file data ditulis di folder kerja):</p>
+ * <pre>
+ * java -cp bin com.antrian.benchmark.BenchmarkArsip [jumlahAntrian]
+ * </pre>
+ *
+ * @author
+ *  Sulistyo Fajar Pratama,
+ *  Dinda Diyah Arifa,
+ *  Musthofa Agung Distyawan
+ * @version 1.0
+ * @since 2025
+ */
+public final class BenchmarkArsip {
+
+    private static final int ULANGAN = 5;
+    private static final Path DIR_SEGMEN = Paths.get("antrian-segmen");
+
+    private BenchmarkArsip() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int jumlah = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+
+        Random acak = new Random(42);
+        LocalDateTime mulai = LocalDateTime.now().minusMonths(12);
+        long jedaDetik = 365L * 24 * 3600 / jumlah;
+        List<Antrian> data = new ArrayList<>(jumlah);
+        for (int i = 1; i <= jumlah; i++) data.add(DataBenchmark.antrian(i, mulai.plusSeconds(i * jedaDetik), acak));
+
+        LocalDateTime bulanArsip = mulai.plusMonths(2).withDayOfMonth(1).toLocalDate().atStartOfDay();
+        AntrianFilter semuaGigi = AntrianFilter.semua().poli(Poli.GIGI);
+        AntrianFilter satuBulan = AntrianFilter.semua()
+                .rentangWaktu(bulanArsip, bulanArsip.plusMonths(1).minusNanos(1));
+
+        // ==== snapshot teks ====
+        FileService.setStorageMode(StorageMode.TEXT);
+        FileService.saveAntrian(data);
+        data = null;
+        long ukuranTeks = Files.size(Paths.get("antrian.txt"));
+        long[] teksPoli = scan(semuaGigi);
+        long[] teksBulan = scan(satuBulan);
+
+        // ==== segmen dan arsip ====
+        FileService.setStorageMode(StorageMode.SEGMENTED);
+        long arsipTerkompresi = 0;
+        long arsipAsli = 0;
+        long segmenTeks = 0;
+        int jumlahArsip = 0;
+        try (DirectoryStream<Path> isi = Files.newDirectoryStream(DIR_SEGMEN)) {
+            for (Path file : isi) {
+                String nama = file.getFileName().toString();
+                if (nama.endsWith(".txt.gz")) {
+                    jumlahArsip++;
+                    arsipTerkompresi += Files.size(file);
+                    arsipAsli += ukuranSetelahDekompresi(file);
+                } else if (nama.endsWith(".txt")) {
+                    segmenTeks += Files.size(file);
+                }
+            }
+        }
+        long[] segmenPoli = scan(semuaGigi);
+        long[] segmenBulan = scan(satuBulan);
+
+        System.out.printf(Locale.ROOT, "antrian=%d, Antrian.txt=%.1f MB%n", jumlah, ukuranTeks / 1e6);
+        System.out.printf(Locale.ROOT, "arsip: %d bulan, %.1f MB -> %.1f MB (%.1fx), segmen aktif %.1f MB%n",
+                jumlahArsip, arsipAsli / 1e6, arsipTerkompresi / 1e6,
+                (double) arsipAsli / Math.max(1, arsipTerkompresi), segmenTeks / 1e6);
+        System.out.printf(Locale.ROOT, "%-24s %12s %12s %8s%n", "query", "teks", "segmen", "hasil");
+        System.out.printf(Locale.ROOT, "%-24s %9.1f ms %9.1f ms %8d%n", "poli gigi, semua data",
+                teksPoli[0] / 1e6, segmenPoli[0] / 1e6, segmenPoli[1]);
+        System.out.printf(Locale.ROOT, "%-24s %9.1f ms %9.1f ms %8d%n", "satu bulan diarsipkan",
+                teksBulan[0] / 1e6, segmenBulan[0] / 1e6, segmenBulan[1]);
+
+        if (teksPoli[1] != segmenPoli[1] || teksBulan[1] != segmenBulan[1]) {
+            System.err.println("[ERROR] Jumlah hasil mode teks dan segmen berbeda");
+            System.exit(1);
+        }
+        // pemadat segmen berjalan di latar belakang
+        System.exit(0);
+    }
+
+    /** @return {@code {waktu terbaik dalam nanodetik, jumlah hasil}} */
+    private static long[] scan(AntrianFilter filter) throws IOException {
+        long terbaik = Long.MAX_VALUE;
+        long hasil = 0;
+        for (int u = 0; u < ULANGAN; u++) {
+            long mulai = System.nanoTime();
+            long n = 0;
+            try (AntrianCursor cursor = FileService.bukaCursor(filter)) {
+                while (cursor.hasNext()) {
+                    cursor.next();
+                    n++;
+                }
+            }
+            terbaik = Math.min(terbaik, System.nanoTime() - mulai);
+            hasil = n;
+        }
+        return new long[] {terbaik, hasil};
+    }
+
+    private static long ukuranSetelahDekompresi(Path arsip) throws IOException {
+        long total = 0;
+        byte[] buf = new byte[1 << 16];
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(arsip))) {
+            int n;
+            while ((n = in.read(buf)) > 0) total += n;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,83 @@
+package com.antrian.benchmark;
+
+import com.antrian.core.service.AntrianLog;
+import com.antrian.core.service.SharedFileLock;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Kelas {@code BenchmarkGroupCommit} mengukur group commit {@link AntrianLog}:
+ * sejumlah thread mencatat perubahan status bersamaan, lalu dihitung berapa
+ * {@code fsync} log dan berapa kenaikan versi {@link SharedFileLock} yang
+ * dibutuhkan untuk seluruh entri, beserta throughput-nya.
+ *
+ * <p>Log dan file kunci ditulis ke {@code bench-antrian.log} dan
+ * {@code bench-antrian.lock} di folder kerja, terpisah dari data aplikasi.
+ * Setiap jumlah thread dimulai dari log kosong.</p>
+ *
+ * <p>Contoh menjalankan:</p>
+ * <pre>
+ * java -cp bin com.antrian.benchmark.BenchmarkGroupCommit [jumlahEntri]
+ * </pre>
+ *
+ * @author
+ *  Sulistyo Fajar Pratama,
+ *  Dinda Diyah Arifa,
+ *  Musthofa Agung Distyawan
+ * @version 1.0
+ * @since 2025
+ */
+public final class BenchmarkGroupCommit {
+
+    private static final int[] JUMLAH_THREAD = {1, 2, 4, 8, 16, 32};
+    private static final Path FILE_LOG = Paths.get("bench-antrian.log");
+    private static final Path FILE_KUNCI = Paths.get("bench-antrian.lock");
+
+    private BenchmarkGroupCommit() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int jumlahEntri = args.length > 0 ? Integer.parseInt(args[0]) : 3200;
+
+        System.out.printf(Locale.ROOT, "%7s %7s %7s %7s %9s %12s%n",
+                "thread", "entri", "fsync", "versi", "entri/fsync", "entri/detik");
+        for (int thread : JUMLAH_THREAD) {
+            Files.deleteIfExists(FILE_LOG);
+            Files.deleteIfExists(FILE_KUNCI);
+            SharedFileLock kunci = new SharedFileLock(FILE_KUNCI);
+            AntrianLog log = new AntrianLog(FILE_LOG.toString(), kunci);
+
+            int perThread = jumlahEntri / thread;
+            AtomicReference<IOException> gagal = new AtomicReference<>();
+            Thread[] pekerja = new Thread[thread];
+            long versiAwal = kunci.versi();
+            long mulai = System.nanoTime();
+            for (int t = 0; t < thread; t++) {
+                int dasar = t * perThread;
+                pekerja[t] = new Thread(() -> {
+                    try {
+                        for (int i = 0; i < perThread; i++) log.catatStatus(dasar + i + 1, "Selesai");
+                    } catch (IOException e) {
+                        gagal.compareAndSet(null, e);
+                    }
+                });
+                pekerja[t].start();
+            }
+            for (Thread p : pekerja) p.join();
+            double detik = (System.nanoTime() - mulai) / 1e9;
+            if (gagal.get() != null) throw gagal.get();
+
+            long entri = log.getJumlahEntri();
+            long fsync = log.getJumlahCommit();
+            System.out.printf(Locale.ROOT, "%7d %7d %7d %7d %9.2f %12.0f%n",
+                    thread, entri, fsync, kunci.versi() - versiAwal, (double) entri / fsync, entri / detik);
+        }
+        Files.deleteIfExists(FILE_LOG);
+        Files.deleteIfExists(FILE_KUNCI);
+    }
+}
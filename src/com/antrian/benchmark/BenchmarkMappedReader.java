@@ -0,0 +1,147 @@
+package com.antrian.benchmark;
+
+import com.antrian.core.model.Antrian;
+import com.antrian.core.service.FileService;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Kelas {@code BenchmarkMappedReader} membandingkan dua jalur baca
+ * {@code Antrian.txt}: {@link FileService#loadAntrian()} ({@code readAllLines}
+ * lalu {@code split}) dan {@link FileService#loadAntrianMapped()} (memory-mapped,
+ * tanpa daftar baris perantara), pada file berisi 10 ribu sampai 10 juta antrian.
+ *
+ * <p>Untuk setiap ukuran dicatat waktu baca terbaik dan puncak pemakaian heap
+ * (jumlah puncak setiap pool heap, diukur ulang per pembacaan). Kedua jalur
+ * harus menghasilkan antrian yang sama; program berhenti dengan kode 1 jika
+ * sidik jari hasilnya berbeda. Jalur yang kehabisan heap dilaporkan sebagai
+ * {@code OOM}, bukan menghentikan benchmark.</p>
+ *
+ * <p>Contoh menjalankan dari folder kosong (file data ditulis di folder kerja):</p>
+ * <pre>
+ * java -Xmx8g -cp bin com.antrian.benchmark.BenchmarkMappedReader [ukuran,ukuran,...]
+ * </pre>
+ *
+ * @author
+ *  Sulistyo Fajar Pratama,
+ *  Dinda Diyah Arifa,
+ *  Musthofa Agung Distyawan
+ * @version 1.0
+ * @since 2025
+ */
+public final class BenchmarkMappedReader {
+
+    private static final int[] UKURAN_BAWAAN = {10_000, 100_000, 1_000_000, 10_000_000};
+    private static final Path FILE_ANTRIAN = Paths.get("antrian.txt");
+    private static final Path FILE_LOG = Paths.get("antrian.log");
+
+    /** Hasil satu jalur baca. */
+    private static final class Hasil {
+        double milidetik = Double.MAX_VALUE;
+        long puncakHeap;
+        long sidikJari;
+        boolean oom;
+    }
+
+    /** Jalur baca yang dibandingkan. */
+    @FunctionalInterface
+    private interface JalurBaca {
+        List<Antrian> baca() throws IOException;
+    }
+
+    private BenchmarkMappedReader() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int[] ukuran = UKURAN_BAWAAN;
+        if (args.length > 0) {
+            String[] bagian = args[0].split(",");
+            ukuran = new int[bagian.length];
+            for (int i = 0; i < bagian.length; i++) ukuran[i] = Integer.parseInt(bagian[i].trim());
+        }
+
+        System.out.printf(Locale.ROOT, "heap maksimum=%d MB%n", Runtime.getRuntime().maxMemory() >> 20);
+        System.out.printf(Locale.ROOT, "%11s %9s | %12s %10s | %12s %10s%n",
+                "antrian", "file", "readAllLines", "puncak", "mapped", "puncak");
+        for (int n : ukuran) {
+            tulisData(n);
+            long ukuranFile = Files.size(FILE_ANTRIAN);
+            int ulangan = n <= 1_000_000 ? 3 : 1;
+
+            Hasil biasa = ukur(FileService::loadAntrian, ulangan);
+            Hasil mapped = ukur(FileService::loadAntrianMapped, ulangan);
+            System.out.printf(Locale.ROOT, "%11d %6d MB | %s | %s%n",
+                    n, ukuranFile >> 20, format(biasa), format(mapped));
+
+            if (!biasa.oom && !mapped.oom && biasa.sidikJari != mapped.sidikJari) {
+                System.err.println("[ERROR] Hasil kedua jalur baca berbeda pada " + n + " antrian");
+                System.exit(1);
+            }
+        }
+    }
+
+    /**
+     * Menulis {@code Antrian.txt} berisi {@code n} antrian langsung sebagai teks,
+     * tanpa menyimpan daftarnya di memori, dan mengosongkan log mutasi.
+     */
+    private static void tulisData(int n) throws IOException {
+        Random acak = new Random(42);
+        LocalDateTime mulai = LocalDateTime.of(2020, 1, 1, 7, 0);
+        try (BufferedWriter writer = Files.newBufferedWriter(FILE_ANTRIAN, StandardCharsets.UTF_8)) {
+            for (int i = 1; i <= n; i++) {
+                writer.write(DataBenchmark.antrian(i, mulai.plusSeconds(i * 37L), acak).toString());
+                writer.newLine();
+            }
+        }
+        Files.deleteIfExists(FILE_LOG);
+    }
+
+    private static Hasil ukur(JalurBaca jalur, int ulangan) throws IOException {
+        Hasil hasil = new Hasil();
+        for (int u = 0; u < ulangan; u++) {
+            System.gc();
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (pool.getType() == MemoryType.HEAP) pool.resetPeakUsage();
+            }
+            try {
+                long mulai = System.nanoTime();
+                List<Antrian> data = jalur.baca();
+                hasil.milidetik = Math.min(hasil.milidetik, (System.nanoTime() - mulai) / 1e6);
+                hasil.puncakHeap = Math.max(hasil.puncakHeap, puncakHeap());
+
+                long sidik = data.size();
+                for (Antrian a : data) sidik = sidik * 31 + a.toString().hashCode();
+                hasil.sidikJari = sidik;
+            } catch (OutOfMemoryError e) {
+                hasil.oom = true;
+                return hasil;
+            }
+        }
+        return hasil;
+    }
+
+    private static long puncakHeap() {
+        long total = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) total += pool.getPeakUsage().getUsed();
+        }
+        return total;
+    }
+
+    private static String format(Hasil hasil) {
+        if (hasil.oom) return String.format(Locale.ROOT, "%12s %10s", "OOM", "-");
+        return String.format(Locale.ROOT, "%9.0f ms %7d MB", hasil.milidetik, hasil.puncakHeap >> 20);
+    }
+}
@@ -0,0 +1,99 @@
+package com.antrian.benchmark;
+
+import com.antrian.core.service.AntrianParalel;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntPredicate;
+
+/**
+ * Kelas {@code BenchmarkParalel} mengukur titik impas (crossover) antara
+ * penyaringan berurutan dan penyaringan fork/join {@link AntrianParalel} pada
+ * berbagai jumlah kandidat. Hasilnya dipakai untuk menentukan nilai
+ * {@code -Dantrian.paralel.ambang} di mesin tempat aplikasi dijalankan.
+ *
+ * <p>Setiap ukuran dijalankan berurutan (ambang {@link Integer#MAX_VALUE}) dan
+ * paralel (ambang 0) dengan predikat {@code contains()} atas nama pasien,
+ * sama seperti verifikasi kandidat trigram. Hasil kedua mode dibandingkan dan
+ * program berhenti dengan kode 1 jika berbeda.</p>
+ *
+ * <p>Contoh menjalankan (dari folder {@code bin} hasil kompilasi):</p>
+ * <pre>
+ * java -cp bin com.antrian.benchmark.BenchmarkParalel [jumlahNama]
+ * </pre>
+ *
+ * @author
+ *  Sulistyo Fajar Pratama,
+ *  Dinda Diyah Arifa,
+ *  Musthofa Agung Distyawan
+ * @version 1.0
+ * @since 2025
+ */
+public final class BenchmarkParalel {
+
+    private static final int[] UKURAN_KANDIDAT = {1_000, 10_000, 50_000, 100_000, 250_000, 500_000, 1_000_000};
+    private static final int PEMANASAN = 5;
+    private static final int ULANGAN = 15;
+
+    private BenchmarkParalel() {
+    }
+
+    public static void main(String[] args) {
+        int jumlahNama = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        String[] nama = DataBenchmark.namaPasien(jumlahNama, new Random(42));
+        IntPredicate cocok = i -> nama[i].contains("an");
+
+        System.out.printf(Locale.ROOT, "CPU=%d, common pool parallelism=%d, nama=%d%n",
+                Runtime.getRuntime().availableProcessors(), ForkJoinPool.getCommonPoolParallelism(), jumlahNama);
+        if (ForkJoinPool.getCommonPoolParallelism() <= 1) {
+            System.err.println("[WARN] Common pool hanya memiliki satu worker; kolom paralel juga berjalan berurutan.");
+        }
+        System.out.printf(Locale.ROOT, "%12s %12s %12s %8s%n", "kandidat", "berurutan", "paralel", "rasio");
+
+        int ambangAwal = AntrianParalel.getAmbang();
+        Random acak = new Random(7);
+        try {
+            for (int ukuran : UKURAN_KANDIDAT) {
+                if (ukuran > jumlahNama) break;
+                BitSet kandidat = new BitSet(jumlahNama);
+                while (kandidat.cardinality() < ukuran) kandidat.set(acak.nextInt(jumlahNama));
+
+                AntrianParalel.setAmbang(Integer.MAX_VALUE);
+                BitSet hasilBerurutan = (BitSet) kandidat.clone();
+                AntrianParalel.saring(hasilBerurutan, cocok);
+                double berurutan = ukur(kandidat, cocok);
+
+                AntrianParalel.setAmbang(0);
+                BitSet hasilParalel = (BitSet) kandidat.clone();
+                AntrianParalel.saring(hasilParalel, cocok);
+                double paralel = ukur(kandidat, cocok);
+
+                if (!hasilBerurutan.equals(hasilParalel)) {
+                    System.err.println("[ERROR] Hasil paralel berbeda dengan berurutan pada " + ukuran + " kandidat");
+                    System.exit(1);
+                }
+                System.out.printf(Locale.ROOT, "%12d %9.2f ms %9.2f ms %8.2f%n",
+                        ukuran, berurutan, paralel, berurutan / paralel);
+            }
+        } finally {
+            AntrianParalel.setAmbang(ambangAwal);
+        }
+    }
+
+    /** @return median lama satu penyaringan, dalam milidetik */
+    private static double ukur(BitSet kandidat, IntPredicate cocok) {
+        for (int i = 0; i < PEMANASAN; i++) AntrianParalel.saring((BitSet) kandidat.clone(), cocok);
+        long[] durasi = new long[ULANGAN];
+        for (int i = 0; i < ULANGAN; i++) {
+            BitSet salinan = (BitSet) kandidat.clone();
+            long mulai = System.nanoTime();
+            AntrianParalel.saring(salinan, cocok);
+            durasi[i] = System.nanoTime() - mulai;
+        }
+        Arrays.sort(durasi);
+        return durasi[ULANGAN / 2] / 1e6;
+    }
+}
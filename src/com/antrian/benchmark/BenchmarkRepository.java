@@ -0,0 +1,117 @@
+package com.antrian.benchmark;
+
+import com.antrian.core.model.Antrian;
+import com.antrian.core.model.AntrianTable;
+import com.antrian.core.model.StatusAntrian;
+import com.antrian.core.service.AntrianRepository;
+import com.antrian.core.service.FileService;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Kelas {@code BenchmarkRepository} mengukur {@link AntrianRepository} pada
+ * data sintetis di folder kerja: pemuatan penuh, refresh tanpa perubahan,
+ * refresh inkremental setelah beberapa perubahan status, dan memori
+ * {@link AntrianTable} dibandingkan {@code List<Antrian>} biasa.
+ *
+ * <p>Program juga memeriksa bahwa panjang log mutasi tetap terbatas: sejumlah
+ * perubahan status (bawaan 3x {@link FileService#CHECKPOINT_THRESHOLD}) dicatat
+ * sambil repository di-refresh secara berkala seperti auto-refresh dashboard.
+ * Jika log pernah melebihi ambang checkpoint ditambah satu interval refresh,
+ * program berhenti dengan kode 1.</p>
+ *
+ * <p>Contoh menjalankan dari folder kosong (file data ditulis di folder kerja):</p>
+ * <pre>
+ * java -cp bin com.antrian.benchmark.BenchmarkRepository [jumlahAntrian] [jumlahMutasi]
+ * </pre>
+ *
+ * @author
+ *  Sulistyo Fajar Pratama,
+ *  Dinda Diyah Arifa,
+ *  Musthofa Agung Distyawan
+ * @version 1.0
+ * @since 2025
+ */
+public final class BenchmarkRepository {
+
+    /** Jumlah mutasi di antara dua refresh saat memeriksa panjang log. */
+    private static final int INTERVAL_REFRESH = 50;
+    private static final Path LOG = Paths.get("antrian.log");
+
+    private BenchmarkRepository() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int jumlah = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int mutasi = args.length > 1 ? Integer.parseInt(args[1]) : 3 * FileService.CHECKPOINT_THRESHOLD;
+
+        Random acak = new Random(42);
+        LocalDateTime mulai = LocalDateTime.of(2025, 1, 1, 7, 0);
+        List<Antrian> data = new ArrayList<>(jumlah);
+        for (int i = 1; i <= jumlah; i++) data.add(DataBenchmark.antrian(i, mulai.plusMinutes(i), acak));
+        FileService.saveAntrian(data);
+
+        // ==== memori ====
+        AntrianTable tabel = new AntrianTable(data);
+        System.out.printf(Locale.ROOT, "antrian=%d, memori List<Antrian>~%.1f MB, AntrianTable~%.1f MB (+%.1f MB off-heap)%n",
+                jumlah, AntrianTable.estimasiBytes(data) / 1e6, tabel.estimasiBytes() / 1e6,
+                tabel.estimasiBytesOffHeap() / 1e6);
+        data = null;
+        tabel = null;
+
+        // ==== refresh ====
+        AntrianRepository repo = AntrianRepository.getInstance();
+        long t0 = System.nanoTime();
+        repo.getAll();
+        System.out.printf(Locale.ROOT, "pemuatan penuh:            %8.2f ms%n", (System.nanoTime() - t0) / 1e6);
+
+        t0 = System.nanoTime();
+        for (int i = 0; i < 100; i++) repo.refresh();
+        System.out.printf(Locale.ROOT, "refresh tanpa perubahan:   %8.3f ms%n", (System.nanoTime() - t0) / 1e6 / 100);
+
+        for (int i = 0; i < 10; i++) FileService.updateStatusAntrian(1 + acak.nextInt(jumlah), StatusAntrian.SELESAI.getLabel());
+        t0 = System.nanoTime();
+        repo.refresh();
+        System.out.printf(Locale.ROOT, "refresh setelah 10 mutasi: %8.3f ms%n", (System.nanoTime() - t0) / 1e6);
+
+        // ==== panjang log ====
+        int batas = FileService.CHECKPOINT_THRESHOLD + INTERVAL_REFRESH;
+        long maksimum = 0;
+        int checkpoint = 0;
+        long sebelumnya = jumlahBaris(LOG);
+        StatusAntrian[] status = StatusAntrian.values();
+        for (int i = 1; i <= mutasi; i++) {
+            FileService.updateStatusAntrian(1 + acak.nextInt(jumlah), status[acak.nextInt(status.length)].getLabel());
+            if (i % INTERVAL_REFRESH == 0) {
+                repo.refresh();
+                long baris = jumlahBaris(LOG);
+                if (baris < sebelumnya) checkpoint++;
+                sebelumnya = baris;
+                maksimum = Math.max(maksimum, baris);
+            }
+        }
+        System.out.printf(Locale.ROOT, "mutasi=%d, checkpoint=%d, panjang log maksimum=%d entri (batas %d)%n",
+                mutasi, checkpoint, maksimum, batas);
+        if (maksimum > batas) {
+            System.err.println("[ERROR] Log mutasi tumbuh melewati ambang checkpoint");
+            System.exit(1);
+        }
+    }
+
+    private static long jumlahBaris(Path file) throws IOException {
+        if (!Files.exists(file)) return 0;
+        long n = 0;
+        for (byte b : Files.readAllBytes(file)) {
+            if (b == '\n') n++;
+        }
+        return n;
+    }
+}
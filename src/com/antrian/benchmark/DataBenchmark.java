@@ -0,0 +1,66 @@
+package com.antrian.benchmark;
+
+import com.antrian.core.model.Antrian;
+import com.antrian.core.model.Poli;
+import com.antrian.core.model.StatusAntrian;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+
+/**
+ * Kelas {@code DataBenchmark} membuat data antrian sintetis untuk program
+ * benchmark di paket ini. Data dibuat dari {@link Random} dengan seed tetap,
+ * sehingga setiap jalannya benchmark memakai data yang sama.
+ *
+ * @author
+ *  Sulistyo Fajar Pratama,
+ *  Dinda Diyah Arifa,
+ *  Musthofa Agung Distyawan
+ * @version 1.0
+ * @since 2025
+ */
+final class DataBenchmark {
+
+    private static final String[] NAMA_DEPAN = {"Budi", "Siti", "Agus", "Dewi", "Andi", "Rina", "Joko", "Sri",
+            "Fajar", "Dinda", "Agung", "Putri", "Hendra", "Wulan", "Rudi", "Ayu"};
+    private static final String[] NAMA_BELAKANG = {"Santoso", "Rahayu", "Pratama", "Lestari", "Wijaya",
+            "Hidayat", "Kusuma", "Saputra", "Arifa", "Nugroho", "Permata", "Setiawan"};
+    private static final String[] KELUHAN = {"Demam dan batuk sejak tiga hari", "Sakit gigi geraham kiri bawah",
+            "Kontrol rutin tekanan darah", "Anak rewel dan tidak mau makan", "Nyeri dada saat naik tangga"};
+
+    /** Jumlah pasien berbeda; NIK diulang sehingga satu pasien memiliki banyak antrian. */
+    static final int JUMLAH_PASIEN = 5000;
+
+    private DataBenchmark() {
+    }
+
+    /**
+     * @param jumlah jumlah nama
+     * @param acak sumber acak
+     * @return nama pasien acak, huruf kecil seperti nama yang dinormalisasi indeks
+     */
+    static String[] namaPasien(int jumlah, Random acak) {
+        String[] nama = new String[jumlah];
+        for (int i = 0; i < jumlah; i++) nama[i] = namaAcak(acak).toLowerCase();
+        return nama;
+    }
+
+    /**
+     * @param id ID antrian
+     * @param waktu waktu pembuatan antrian
+     * @param acak sumber acak
+     * @return antrian sintetis dengan poli, status, dan pasien acak
+     */
+    static Antrian antrian(int id, LocalDateTime waktu, Random acak) {
+        String nik = String.format("3374%012d", acak.nextInt(JUMLAH_PASIEN));
+        Poli[] poli = Poli.values();
+        StatusAntrian[] status = StatusAntrian.values();
+        return new Antrian(id, nik, nik, namaAcak(acak), "Jl. Pahlawan No." + (acak.nextInt(200) + 1),
+                "0812" + (10_000_000 + acak.nextInt(90_000_000)), poli[acak.nextInt(poli.length)].getLabel(),
+                KELUHAN[acak.nextInt(KELUHAN.length)], status[acak.nextInt(status.length)].getLabel(), waktu);
+    }
+
+    private static String namaAcak(Random acak) {
+        return NAMA_DEPAN[acak.nextInt(NAMA_DEPAN.length)] + " " + NAMA_BELAKANG[acak.nextInt(NAMA_BELAKANG.length)];
+    }
+}
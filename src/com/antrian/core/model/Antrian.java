@@ -40,17 +40,23 @@ public class Antrian {
     private String alamatPasien;
     /** Nomor telepon pasien. */
     private String noTeleponPasien;
-    /** Poli tujuan pasien (misalnya: Umum, Gigi, Anak, Jantung). */
-    private String poli;
+    /** Poli tujuan pasien, atau {@code null} jika teksnya tidak dikenal (lihat {@link #poliLain}). */
+    private Poli poli;
+    /** Teks poli yang tidak termasuk {@link Poli}; {@code null} untuk poli yang dikenal. */
+    private String poliLain;
     /** Keluhan atau deskripsi kondisi pasien. */
     private String keluhan;
-    /** Status antrian (misalnya: Baru, Sedang Berlangsung, Selesai, Batal). */
-    private String status;
+    /** Status antrian, atau {@code null} jika teksnya tidak dikenal (lihat {@link #statusLain}). */
+    private StatusAntrian status;
+    /** Teks status yang tidak termasuk {@link StatusAntrian}; {@code null} untuk status yang dikenal. */
+    private String statusLain;
     /** Waktu pembuatan antrian. */
     private LocalDateTime timestamp;
 
     /**
      * Membuat objek {@code Antrian} baru dengan informasi lengkap.
+     * Teks poli dan status dipetakan ke {@link Poli} dan {@link StatusAntrian},
+     * sehingga antrian tidak menyimpan salinan teks tersebut sendiri.
      *
      * @param id ID unik antrian
      * @param nikPembuat NIK pembuat antrian
@@ -72,12 +78,19 @@ public class Antrian {
         this.namaPasien = namaPasien;
         this.alamatPasien = alamatPasien;
         this.noTeleponPasien = noTeleponPasien;
-        this.poli = poli;
+        setPoli(poli);
         this.keluhan = keluhan;
-        this.status = status;
+        tetapkanStatus(status);
         this.timestamp = timestamp;
     }
 
+    /**
+     * Konstruktor untuk tampilan antrian yang datanya disimpan di luar objek ini
+     * (lihat {@link AntrianTable}); seluruh getter dan setter di-override.
+     */
+    Antrian() {
+    }
+
     /** @return ID antrian */
     public int getId() { return id; }
 
@@ -97,13 +110,19 @@ public class Antrian {
     public String getNoTeleponPasien() { return noTeleponPasien; }
 
     /** @return Nama poli yang dituju */
-    public String getPoli() { return poli; }
+    public String getPoli() { return poli != null ? poli.getLabel() : poliLain; }
+
+    /** @return Poli yang dituju, atau {@code null} jika teks polinya tidak dikenal */
+    public Poli getPoliAntrian() { return poli; }
 
     /** @return Keluhan pasien */
     public String getKeluhan() { return keluhan; }
 
     /** @return Status antrian saat ini */
-    public String getStatus() { return status; }
+    public String getStatus() { return status != null ? status.getLabel() : statusLain; }
+
+    /** @return Status antrian saat ini, atau {@code null} jika teks statusnya tidak dikenal */
+    public StatusAntrian getStatusAntrian() { return status; }
 
     /** @return Waktu pembuatan antrian */
     public LocalDateTime getTimestamp() { return timestamp; }
@@ -114,7 +133,28 @@ public class Antrian {
      * @param status Status baru antrian
      */
     public void setStatus(String status) { 
+        tetapkanStatus(status);
+    }
+
+    /**
+     * Mengubah status antrian.
+     *
+     * @param status Status baru antrian
+     */
+    public void setStatus(StatusAntrian status) {
         this.status = status;
+        this.statusLain = null;
+    }
+
+    /** Dipakai konstruktor dan {@link #setStatus(String)}; tidak dapat di-override tampilan {@link AntrianTable}. */
+    private void tetapkanStatus(String status) {
+        this.status = StatusAntrian.dariLabel(status);
+        this.statusLain = this.status == null ? status : null;
+    }
+
+    private void setPoli(String poli) {
+        this.poli = Poli.dariLabel(poli);
+        this.poliLain = this.poli == null ? poli : null;
     }
 
     /**
@@ -123,7 +163,7 @@ public class Antrian {
      * @return Waktu dalam format "HH:mm dd-MM-yyyy"
      */
     public String getFormattedTimestamp() {
-        return timestamp.format(DateTimeFormatter.ofPattern("HH:mm dd-MM-yyyy"));
+        return getTimestamp().format(DateTimeFormatter.ofPattern("HH:mm dd-MM-yyyy"));
     }
 
     /**
@@ -134,16 +174,16 @@ public class Antrian {
     @Override
     public String toString() {
         return String.join(";",
-                String.valueOf(id),
-                nikPembuat,
-                nikPasien,
-                namaPasien,
-                alamatPasien,
-                noTeleponPasien,
-                poli,
-                keluhan.replace("\n", "\\n"),
-                status,
-                timestamp.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+                String.valueOf(getId()),
+                getNikPembuat(),
+                getNikPasien(),
+                getNamaPasien(),
+                getAlamatPasien(),
+                getNoTeleponPasien(),
+                getPoli(),
+                getKeluhan().replace("\n", "\\n"),
+                getStatus(),
+                getTimestamp().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
     }
 
     /**
@@ -155,9 +195,10 @@ public class Antrian {
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
+        // tampilan AntrianTable dan objek biasa dengan ID yang sama dianggap sama
+        if (!(o instanceof Antrian)) return false;
         Antrian antrian = (Antrian) o;
-        return id == antrian.id;
+        return getId() == antrian.getId();
     }
 
     /**
@@ -167,6 +208,6 @@ public class Antrian {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(id);
+        return Objects.hash(getId());
     }
 }
@@ -0,0 +1,519 @@
+package com.antrian.core.model;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Kelas {@code AntrianTable} menyimpan banyak antrian dalam bentuk kolom
+ * (struct-of-arrays), bukan satu objek {@link Antrian} per baris.
+ *
+ * <p>ID disimpan di {@code int[]}, timestamp di {@code long[]} (epoch nanodetik,
+ * dibaca sebagai UTC), poli dan status di {@code byte[]} sebagai kode
+ * {@link Poli}/{@link StatusAntrian}, dan field teks di array {@code String}.
+ * Teks yang berulang (NIK, nama, alamat, nomor telepon) disimpan sekali lewat
+ * pool, sehingga antrian milik pasien yang sama memakai objek string yang sama.</p>
+ *
+ * <p>Keluhan, teks bebas yang hanya dibaca saat detail antrian dibuka, disimpan
+ * sebagai UTF-8 di luar heap ({@link ArenaTeks}); tabel hanya menyimpan posisi
+ * dan panjangnya, dan teksnya baru di-decode saat {@link Antrian#getKeluhan()}
+ * dipanggil pada tampilan.</p>
+ *
+ * <p>Tabel ini juga sebuah {@code List<Antrian>}: {@link #get(int)} membuat
+ * tampilan (flyweight) yang membaca dan menulis langsung ke kolom tabel,
+ * sedangkan {@link #add(Antrian)} menyalin isi antrian ke kolom. Penghapusan
+ * hanya menandai baris sebagai tidak terpakai, sehingga tampilan yang sudah
+ * dibuat tetap menunjuk ke antrian yang sama.</p>
+ *
+ * <p>Seperti {@link java.util.ArrayList}, tabel ini tidak aman diubah dari beberapa
+ * thread sekaligus; pemanggil yang mengubahnya wajib menyinkronkan sendiri.</p>
+ *
+ * <p>Contoh penggunaan:</p>
+ * <pre>{@code
+ * AntrianTable table = new AntrianTable(daftarAntrian);
+ * Antrian pertama = table.get(0);          // tampilan, bukan salinan
+ * System.out.println(table.estimasiBytes() + " vs " + AntrianTable.estimasiBytes(daftarAntrian));
+ * }</pre>
+ *
+ * @author
+ *  Sulistyo Fajar Pratama,
+ *  Dinda Diyah Arifa,
+ *  Musthofa Agung Distyawan
+ * @version 1.0
+ * @since 2025
+ */
+public final class AntrianTable extends AbstractList<Antrian> implements RandomAccess {
+
+    /** Kapasitas awal kolom. */
+    private static final int KAPASITAS_AWAL = 64;
+    /** Kode poli/status untuk teks yang tidak dikenal (lihat peta {@code ...Lain}). */
+    private static final byte KODE_LAIN = 0;
+    /** Penanda timestamp yang tidak muat di epoch nanodetik (lihat {@link #waktuLain}). */
+    private static final long WAKTU_LAIN = Long.MIN_VALUE;
+
+    private static final Poli[] POLI = Poli.values();
+    private static final StatusAntrian[] STATUS = StatusAntrian.values();
+
+    /** Kolom data; diganti utuh saat kapasitas bertambah. */
+    private volatile Kolom kolom = new Kolom(KAPASITAS_AWAL);
+    /** Jumlah baris fisik yang sudah ditulis, termasuk yang sudah dihapus. */
+    private int jumlahFisik;
+    /** Baris fisik untuk setiap posisi list, atau {@code null} jika belum ada yang dihapus. */
+    private int[] urutan;
+    /** Jumlah antrian di list. */
+    private int ukuran;
+
+    /** Teks poli/status/timestamp yang tidak bisa dikodekan, per baris fisik. */
+    private final Map<Integer, String> poliLain = new HashMap<>();
+    private final Map<Integer, String> statusLain = new HashMap<>();
+    private final Map<Integer, LocalDateTime> waktuLain = new HashMap<>();
+    /** Pool teks berulang agar setiap nilai hanya disimpan satu kali. */
+    private final Map<String, String> pool = new HashMap<>();
+    /** Isi keluhan, di luar heap. */
+    private final ArenaTeks arenaKeluhan = new ArenaTeks();
+
+    /**
+     * Membuat tabel kosong.
+     */
+    public AntrianTable() {
+    }
+
+    /**
+     * Membuat tabel berisi salinan antrian yang diberikan.
+     *
+     * @param antrianList antrian yang disalin, sesuai urutan
+     */
+    public AntrianTable(Collection<? extends Antrian> antrianList) {
+        kolom = new Kolom(Math.max(antrianList.size(), KAPASITAS_AWAL));
+        for (Antrian a : antrianList) add(a);
+    }
+
+    // ===========================
+    // ==== LIST =================
+    // ===========================
+
+    @Override
+    public int size() {
+        return ukuran;
+    }
+
+    /**
+     * @param index posisi antrian
+     * @return tampilan antrian yang membaca langsung dari tabel
+     */
+    @Override
+    public Antrian get(int index) {
+        return new Baris(this, baris(index));
+    }
+
+    /**
+     * Menyalin isi antrian ke akhir tabel.
+     *
+     * @param antrian antrian yang disalin
+     * @return selalu {@code true}
+     */
+    @Override
+    public boolean add(Antrian antrian) {
+        int b = jumlahFisik;
+        Kolom k = kolom;
+        if (b == k.id.length) {
+            k = k.salin(Math.max(KAPASITAS_AWAL, b + (b >> 1)));
+            kolom = k;
+        }
+
+        k.id[b] = antrian.getId();
+        k.nikPembuat[b] = pool(antrian.getNikPembuat());
+        k.nikPasien[b] = pool(antrian.getNikPasien());
+        k.nama[b] = pool(antrian.getNamaPasien());
+        k.alamat[b] = pool(antrian.getAlamatPasien());
+        k.noTelepon[b] = pool(antrian.getNoTeleponPasien());
+        tulisKeluhan(k, b, antrian.getKeluhan());
+        tulisPoli(k, b, antrian.getPoliAntrian(), antrian.getPoli());
+        tulisStatus(k, b, antrian.getStatusAntrian(), antrian.getStatus());
+        tulisWaktu(k, b, antrian.getTimestamp());
+
+        jumlahFisik++;
+        if (urutan != null) {
+            if (ukuran == urutan.length) urutan = Arrays.copyOf(urutan, Math.max(KAPASITAS_AWAL, ukuran + (ukuran >> 1)));
+            urutan[ukuran] = b;
+        }
+        ukuran++;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public Antrian remove(int index) {
+        Antrian hapus = get(index);
+        int[] u = urutanAktif();
+        System.arraycopy(u, index + 1, u, index, ukuran - index - 1);
+        ukuran--;
+        modCount++;
+        return hapus;
+    }
+
+    /**
+     * Menghapus semua antrian yang memenuhi {@code syarat} dalam satu kali lintasan.
+     */
+    @Override
+    public boolean removeIf(Predicate<? super Antrian> syarat) {
+        int[] u = urutanAktif();
+        int tulis = 0;
+        for (int i = 0; i < ukuran; i++) {
+            if (!syarat.test(new Baris(this, u[i]))) u[tulis++] = u[i];
+        }
+        if (tulis == ukuran) return false;
+        ukuran = tulis;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Mengosongkan list. Seperti penghapusan lain, baris fisiknya tetap disimpan;
+     * buat tabel baru untuk membebaskan memorinya.
+     */
+    @Override
+    public void clear() {
+        urutan = new int[KAPASITAS_AWAL];
+        ukuran = 0;
+        modCount++;
+    }
+
+    /**
+     * Memangkas kapasitas kolom ke jumlah baris yang terpakai, misal setelah
+     * pemuatan selesai. Baris yang sudah dihapus tetap disimpan agar tampilan
+     * yang masih dipegang pemanggil tetap valid.
+     */
+    public void padatkan() {
+        if (kolom.id.length != jumlahFisik) kolom = kolom.salin(jumlahFisik);
+        if (urutan != null && urutan.length != ukuran) urutan = Arrays.copyOf(urutan, ukuran);
+    }
+
+    // ===========================
+    // ==== AKSES KOLOM ==========
+    // ===========================
+
+    /**
+     * @param index posisi antrian
+     * @return ID antrian tanpa membuat tampilan
+     */
+    public int getId(int index) {
+        return kolom.id[baris(index)];
+    }
+
+    /**
+     * @param index posisi antrian
+     * @return poli antrian, atau {@code null} jika teks polinya tidak dikenal
+     */
+    public Poli getPoli(int index) {
+        return poliDari(kolom.poli[baris(index)]);
+    }
+
+    /**
+     * @param index posisi antrian
+     * @return status antrian, atau {@code null} jika teks statusnya tidak dikenal
+     */
+    public StatusAntrian getStatus(int index) {
+        return statusDari(kolom.status[baris(index)]);
+    }
+
+    /**
+     * @param index posisi antrian
+     * @return waktu pembuatan antrian
+     */
+    public LocalDateTime getTimestamp(int index) {
+        return waktu(baris(index));
+    }
+
+    // ===========================
+    // ==== ESTIMASI MEMORI ======
+    // ===========================
+
+    /**
+     * Memperkirakan memori heap yang dipakai tabel ini: seluruh kolom, string unik,
+     * pool, dan peta nilai yang tidak dikenal. Perkiraan memakai tata letak JVM
+     * 64-bit dengan compressed oops dan compact strings. Isi keluhan tidak termasuk
+     * (lihat {@link #estimasiBytesOffHeap()}).
+     *
+     * @return perkiraan ukuran dalam byte
+     */
+    public long estimasiBytes() {
+        Kolom k = kolom;
+        int n = k.id.length;
+        long total = objek(64) + objek(12 + 11 * 4); // objek tabel + Kolom
+        total += array(n, 4) + 2 * array(n, 8) + 2 * array(n, 1) + 5 * array(n, 4) + array(n, 4);
+        if (urutan != null) total += array(urutan.length, 4);
+
+        Set<String> unik = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int b = 0; b < jumlahFisik; b++) {
+            tambahString(unik, k.nikPembuat[b]);
+            tambahString(unik, k.nikPasien[b]);
+            tambahString(unik, k.nama[b]);
+            tambahString(unik, k.alamat[b]);
+            tambahString(unik, k.noTelepon[b]);
+        }
+        for (String s : unik) total += ukuranString(s);
+
+        total += ukuranHashMap(pool.size());
+        total += ukuranHashMap(poliLain.size() + statusLain.size() + waktuLain.size());
+        return total;
+    }
+
+    /** @return memori di luar heap yang dialokasikan untuk keluhan, dalam byte */
+    public long estimasiBytesOffHeap() {
+        return arenaKeluhan.getKapasitas();
+    }
+
+    /**
+     * Memperkirakan memori sebuah {@code ArrayList<Antrian>} berisi objek
+     * {@link Antrian} biasa, dengan asumsi yang sama seperti {@link #estimasiBytes()}.
+     * String yang dipakai bersama beberapa antrian hanya dihitung sekali.
+     *
+     * @param antrianList daftar antrian
+     * @return perkiraan ukuran dalam byte
+     */
+    public static long estimasiBytes(Collection<? extends Antrian> antrianList) {
+        int n = antrianList.size();
+        long total = objek(12 + 4 + 4) + array(n, 4); // ArrayList + elementData
+        // Antrian: id + 12 referensi; LocalDateTime, LocalDate, LocalTime masing-masing 24 byte
+        long perAntrian = objek(12 + 4 + 12 * 4) + 3 * objek(12 + 8);
+        total += perAntrian * n;
+
+        Set<String> unik = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Antrian a : antrianList) {
+            tambahString(unik, a.getNikPembuat());
+            tambahString(unik, a.getNikPasien());
+            tambahString(unik, a.getNamaPasien());
+            tambahString(unik, a.getAlamatPasien());
+            tambahString(unik, a.getNoTeleponPasien());
+            tambahString(unik, a.getKeluhan());
+            if (a.getPoliAntrian() == null) tambahString(unik, a.getPoli());
+            if (a.getStatusAntrian() == null) tambahString(unik, a.getStatus());
+        }
+        for (String s : unik) total += ukuranString(s);
+        return total;
+    }
+
+    // ===========================
+    // ==== UTILITIES ============
+    // ===========================
+
+    /** @return baris fisik untuk posisi list {@code index} */
+    private int baris(int index) {
+        if (index < 0 || index >= ukuran) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + ukuran);
+        return urutan == null ? index : urutan[index];
+    }
+
+    /** @return array urutan, dibuat saat penghapusan pertama */
+    private int[] urutanAktif() {
+        if (urutan == null) {
+            urutan = new int[Math.max(ukuran, KAPASITAS_AWAL)];
+            for (int i = 0; i < ukuran; i++) urutan[i] = i;
+        }
+        return urutan;
+    }
+
+    private String pool(String nilai) {
+        if (nilai == null) return null;
+        String ada = pool.putIfAbsent(nilai, nilai);
+        return ada != null ? ada : nilai;
+    }
+
+    private void tulisKeluhan(Kolom k, int b, String keluhan) {
+        if (keluhan == null) {
+            k.panjangKeluhan[b] = -1;
+            return;
+        }
+        byte[] bytes = keluhan.getBytes(StandardCharsets.UTF_8);
+        k.keluhan[b] = arenaKeluhan.tambah(bytes);
+        k.panjangKeluhan[b] = bytes.length;
+    }
+
+    private String keluhan(int b) {
+        Kolom k = kolom;
+        int panjang = k.panjangKeluhan[b];
+        return panjang < 0 ? null : arenaKeluhan.baca(k.keluhan[b], panjang);
+    }
+
+    private void tulisPoli(Kolom k, int b, Poli poli, String teks) {
+        k.poli[b] = poli != null ? (byte) (poli.ordinal() + 1) : KODE_LAIN;
+        if (poli == null) poliLain.put(b, teks); else poliLain.remove(b);
+    }
+
+    private void tulisStatus(Kolom k, int b, StatusAntrian status, String teks) {
+        k.status[b] = status != null ? (byte) (status.ordinal() + 1) : KODE_LAIN;
+        if (status == null) statusLain.put(b, teks); else statusLain.remove(b);
+    }
+
+    private void tulisWaktu(Kolom k, int b, LocalDateTime waktu) {
+        if (waktu != null) {
+            try {
+                k.waktu[b] = Math.addExact(Math.multiplyExact(waktu.toEpochSecond(ZoneOffset.UTC), 1_000_000_000L),
+                        waktu.getNano());
+                if (k.waktu[b] != WAKTU_LAIN) return;
+            } catch (ArithmeticException e) {
+                // di luar rentang epoch nanodetik (sekitar tahun 1677-2262)
+            }
+        }
+        k.waktu[b] = WAKTU_LAIN;
+        waktuLain.put(b, waktu);
+    }
+
+    private LocalDateTime waktu(int b) {
+        long nano = kolom.waktu[b];
+        if (nano == WAKTU_LAIN) return waktuLain.get(b);
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(nano, 1_000_000_000L),
+                (int) Math.floorMod(nano, 1_000_000_000L), ZoneOffset.UTC);
+    }
+
+    private static Poli poliDari(byte kode) {
+        return kode == KODE_LAIN ? null : POLI[kode - 1];
+    }
+
+    private static StatusAntrian statusDari(byte kode) {
+        return kode == KODE_LAIN ? null : STATUS[kode - 1];
+    }
+
+    private static void tambahString(Set<String> unik, String s) {
+        if (s != null) unik.add(s);
+    }
+
+    /** @return ukuran objek setelah dibulatkan ke kelipatan 8 byte */
+    private static long objek(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    private static long array(long panjang, int ukuranElemen) {
+        return objek(16 + panjang * ukuranElemen);
+    }
+
+    /** String Latin-1 memakai 1 byte per karakter, selain itu 2 byte. */
+    private static long ukuranString(String s) {
+        boolean latin1 = true;
+        for (int i = 0; i < s.length() && latin1; i++) latin1 = s.charAt(i) < 256;
+        return objek(12 + 4 + 4 + 1 + 1) + array(s.length(), latin1 ? 1 : 2);
+    }
+
+    /** HashMap dengan {@code n} entri: objek map, array bucket, dan satu node per entri. */
+    private static long ukuranHashMap(int n) {
+        int bucket = Integer.highestOneBit(Math.max(1, (int) (n / 0.75f)) * 2 - 1);
+        return objek(48) + (n == 0 ? 0 : array(bucket, 4)) + (long) n * objek(12 + 4 * 4);
+    }
+
+    /**
+     * Kolom-kolom data dengan kapasitas yang sama.
+     */
+    private static final class Kolom {
+        final int[] id;
+        final long[] waktu;
+        final byte[] poli;
+        final byte[] status;
+        final String[] nikPembuat;
+        final String[] nikPasien;
+        final String[] nama;
+        final String[] alamat;
+        final String[] noTelepon;
+        /** Posisi keluhan di {@link ArenaTeks}. */
+        final long[] keluhan;
+        /** Panjang keluhan dalam byte, atau -1 untuk {@code null}. */
+        final int[] panjangKeluhan;
+
+        Kolom(int kapasitas) {
+            id = new int[kapasitas];
+            waktu = new long[kapasitas];
+            poli = new byte[kapasitas];
+            status = new byte[kapasitas];
+            nikPembuat = new String[kapasitas];
+            nikPasien = new String[kapasitas];
+            nama = new String[kapasitas];
+            alamat = new String[kapasitas];
+            noTelepon = new String[kapasitas];
+            keluhan = new long[kapasitas];
+            panjangKeluhan = new int[kapasitas];
+        }
+
+        private Kolom(Kolom asal, int kapasitas) {
+            id = Arrays.copyOf(asal.id, kapasitas);
+            waktu = Arrays.copyOf(asal.waktu, kapasitas);
+            poli = Arrays.copyOf(asal.poli, kapasitas);
+            status = Arrays.copyOf(asal.status, kapasitas);
+            nikPembuat = Arrays.copyOf(asal.nikPembuat, kapasitas);
+            nikPasien = Arrays.copyOf(asal.nikPasien, kapasitas);
+            nama = Arrays.copyOf(asal.nama, kapasitas);
+            alamat = Arrays.copyOf(asal.alamat, kapasitas);
+            noTelepon = Arrays.copyOf(asal.noTelepon, kapasitas);
+            keluhan = Arrays.copyOf(asal.keluhan, kapasitas);
+            panjangKeluhan = Arrays.copyOf(asal.panjangKeluhan, kapasitas);
+        }
+
+        Kolom salin(int kapasitas) {
+            return new Kolom(this, kapasitas);
+        }
+    }
+
+    /**
+     * Tampilan satu baris tabel sebagai {@link Antrian}. Hanya menyimpan
+     * referensi tabel dan nomor baris fisik; setiap getter membaca kolom saat
+     * dipanggil, dan perubahan status langsung ditulis ke tabel.
+     */
+    private static final class Baris extends Antrian {
+        private final AntrianTable table;
+        private final int baris;
+
+        Baris(AntrianTable table, int baris) {
+            this.table = table;
+            this.baris = baris;
+        }
+
+        @Override public int getId() { return table.kolom.id[baris]; }
+        @Override public String getNikPembuat() { return table.kolom.nikPembuat[baris]; }
+        @Override public String getNikPasien() { return table.kolom.nikPasien[baris]; }
+        @Override public String getNamaPasien() { return table.kolom.nama[baris]; }
+        @Override public String getAlamatPasien() { return table.kolom.alamat[baris]; }
+        @Override public String getNoTeleponPasien() { return table.kolom.noTelepon[baris]; }
+        @Override public String getKeluhan() { return table.keluhan(baris); }
+        @Override public LocalDateTime getTimestamp() { return table.waktu(baris); }
+
+        @Override
+        public Poli getPoliAntrian() {
+            return poliDari(table.kolom.poli[baris]);
+        }
+
+        @Override
+        public String getPoli() {
+            Poli poli = getPoliAntrian();
+            return poli != null ? poli.getLabel() : table.poliLain.get(baris);
+        }
+
+        @Override
+        public StatusAntrian getStatusAntrian() {
+            return statusDari(table.kolom.status[baris]);
+        }
+
+        @Override
+        public String getStatus() {
+            StatusAntrian status = getStatusAntrian();
+            return status != null ? status.getLabel() : table.statusLain.get(baris);
+        }
+
+        @Override
+        public void setStatus(String status) {
+            table.tulisStatus(table.kolom, baris, StatusAntrian.dariLabel(status), status);
+        }
+
+        @Override
+        public void setStatus(StatusAntrian status) {
+            table.tulisStatus(table.kolom, baris, status, null);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.antrian.core.model;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Kelas {@code ArenaTeks} menyimpan teks panjang (UTF-8) di luar heap Java,
+ * di dalam blok-blok {@link ByteBuffer#allocateDirect(int) direct buffer}.
+ *
+ * <p>Teks hanya bisa ditambahkan. Setiap teks dirujuk dengan posisi
+ * {@code long} (nomor blok di 32 bit atas, offset di 32 bit bawah) dan
+ * panjangnya dalam byte, lalu di-decode menjadi {@code String} hanya ketika
+ * dibaca. Dipakai {@link AntrianTable} untuk keluhan, yang jarang ditampilkan
+ * tetapi merupakan field terbesar.</p>
+ *
+ * <p>Blok pertama baru dialokasikan saat teks pertama ditambahkan, berukuran
+ * kecil (cukup untuk teks itu), dan setiap blok berikutnya dua kali lebih besar
+ * sampai {@value #UKURAN_BLOK_MAKS} byte. Tabel kecil karena itu hanya memakai
+ * beberapa kilobyte di luar heap.</p>
+ *
+ * <p>Memori blok dibebaskan oleh GC bersama arena ini. Pembacaan memakai
+ * operasi absolut sehingga aman dilakukan dari thread lain selama penulisan
+ * berjalan; penulisan harus dilakukan dari satu thread.</p>
+ *
+ * @author
+ *  Sulistyo Fajar Pratama,
+ *  Dinda Diyah Arifa,
+ *  Musthofa Agung Distyawan
+ * @version 1.0
+ * @since 2025
+ */
+final class ArenaTeks {
+
+    /** Ukuran minimum blok pertama. */
+    private static final int UKURAN_BLOK_AWAL = 4 << 10;
+    /** Ukuran maksimum satu blok; teks yang lebih panjang mendapat blok sendiri. */
+    private static final int UKURAN_BLOK_MAKS = 1 << 20;
+
+    /** Blok-blok buffer; array diganti utuh saat bertambah. */
+    private volatile ByteBuffer[] blok = new ByteBuffer[0];
+    /** Offset tulis berikutnya di blok terakhir. */
+    private int posisiTulis;
+    /** Total byte yang dialokasikan. */
+    private long kapasitas;
+
+    /**
+     * Menyimpan teks ke arena.
+     *
+     * @param bytes teks dalam UTF-8
+     * @return posisi teks untuk {@link #baca(long, int)}
+     */
+    long tambah(byte[] bytes) {
+        ByteBuffer[] b = blok;
+        if (b.length == 0 || posisiTulis + bytes.length > b[b.length - 1].capacity()) {
+            int ukuran = b.length == 0 ? UKURAN_BLOK_AWAL
+                    : Math.min(UKURAN_BLOK_MAKS, b[b.length - 1].capacity() * 2);
+            ByteBuffer baru = ByteBuffer.allocateDirect(Math.max(ukuran, bytes.length));
+            kapasitas += baru.capacity();
+            b = Arrays.copyOf(b, b.length + 1);
+            b[b.length - 1] = baru;
+            posisiTulis = 0;
+        }
+
+        int offset = posisiTulis;
+        b[b.length - 1].put(offset, bytes);
+        posisiTulis += bytes.length;
+        blok = b; // publikasi setelah isi ditulis
+        return ((long) (b.length - 1) << 32) | offset;
+    }
+
+    /**
+     * Membaca dan men-decode teks.
+     *
+     * @param posisi posisi dari {@link #tambah(byte[])}
+     * @param panjang panjang teks dalam byte
+     * @return teks hasil decode
+     */
+    String baca(long posisi, int panjang) {
+        byte[] bytes = new byte[panjang];
+        blok[(int) (posisi >>> 32)].get((int) posisi, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /** @return total memori di luar heap yang dialokasikan, dalam byte */
+    long getKapasitas() {
+        return kapasitas;
+    }
+}
@@ -0,0 +1,66 @@
+package com.antrian.core.model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Enum {@code Poli} berisi poli tujuan yang dapat dipilih saat membuat {@link Antrian}.
+ *
+ * <p>Seperti {@link StatusAntrian}, teks poli di file data dipetakan ke konstanta
+ * ini lewat {@link #dariLabel(String)}, sehingga setiap antrian tidak menyimpan
+ * salinan teks poli sendiri dan perbandingan poli cukup dengan {@code ==}.</p>
+ *
+ * @author
+ *  Sulistyo Fajar Pratama,
+ *  Dinda Diyah Arifa,
+ *  Musthofa Agung Distyawan
+ * @version 1.0
+ * @since 2025
+ */
+public enum Poli {
+
+    /** Poli umum. */
+    UMUM("Poli Umum"),
+    /** Poli gigi. */
+    GIGI("Poli Gigi"),
+    /** Poli anak. */
+    ANAK("Poli Anak"),
+    /** Poli jantung. */
+    JANTUNG("Poli Jantung");
+
+    private static final Map<String, Poli> BY_LABEL = new HashMap<>();
+
+    static {
+        for (Poli poli : values()) {
+            BY_LABEL.put(poli.label, poli);
+        }
+    }
+
+    /** Label teks poli, sama seperti yang tersimpan di file. */
+    private final String label;
+
+    Poli(String label) {
+        this.label = label;
+    }
+
+    /** @return label teks poli (misal: "Poli Gigi") */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Mencari poli berdasarkan label teksnya.
+     *
+     * @param label label poli
+     * @return konstanta yang cocok, atau {@code null} jika label tidak dikenal
+     */
+    public static Poli dariLabel(String label) {
+        return label == null ? null : BY_LABEL.get(label);
+    }
+
+    /** @return label teks poli */
+    @Override
+    public String toString() {
+        return label;
+    }
+}
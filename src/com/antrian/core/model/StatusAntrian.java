@@ -0,0 +1,72 @@
+package com.antrian.core.model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Enum {@code StatusAntrian} berisi status yang dapat dimiliki sebuah {@link Antrian}.
+ *
+ * <p>Setiap konstanta menyimpan label teks yang dipakai di file data dan di
+ * tampilan. Saat data dibaca, teks status dipetakan ke konstanta ini lewat
+ * {@link #dariLabel(String)}, sehingga semua antrian berbagi objek yang sama dan
+ * perbandingan status cukup dengan {@code ==}.</p>
+ *
+ * <p>Contoh penggunaan:</p>
+ * <pre>{@code
+ * if (antrian.getStatusAntrian() == StatusAntrian.SELESAI) { ... }
+ * }</pre>
+ *
+ * @author
+ *  Sulistyo Fajar Pratama,
+ *  Dinda Diyah Arifa,
+ *  Musthofa Agung Distyawan
+ * @version 1.0
+ * @since 2025
+ */
+public enum StatusAntrian {
+
+    /** Antrian baru dibuat dan belum dilayani. */
+    BARU("Baru"),
+    /** Pasien sedang dilayani. */
+    SEDANG_BERLANGSUNG("Sedang Berlangsung"),
+    /** Pelayanan sudah selesai. */
+    SELESAI("Selesai"),
+    /** Antrian dibatalkan. */
+    BATAL("Batal");
+
+    private static final Map<String, StatusAntrian> BY_LABEL = new HashMap<>();
+
+    static {
+        for (StatusAntrian status : values()) {
+            BY_LABEL.put(status.label, status);
+        }
+    }
+
+    /** Label teks status, sama seperti yang tersimpan di file. */
+    private final String label;
+
+    StatusAntrian(String label) {
+        this.label = label;
+    }
+
+    /** @return label teks status (misal: "Sedang Berlangsung") */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Mencari status berdasarkan label teksnya.
+     *
+     * @param label label status
+     * @return konstanta yang cocok, atau {@code null} jika label tidak dikenal
+     */
+    public static StatusAntrian dariLabel(String label) {
+        return label == null ? null : BY_LABEL.get(label);
+    }
+
+    /** @return label teks status */
+    @Override
+    public String toString() {
+        return label;
+    }
+}
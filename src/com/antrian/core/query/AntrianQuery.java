@@ -0,0 +1,231 @@
+package com.antrian.core.query;
+
+import com.antrian.core.model.Antrian;
+import com.antrian.core.model.Poli;
+import com.antrian.core.model.StatusAntrian;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Kelas {@code AntrianQuery} berisi kriteria pencarian antrian di memori: teks
+ * nama pasien, poli, status, rentang waktu pembuatan, NIK pembuat, urutan, dan
+ * batas jumlah hasil. Query dijalankan oleh {@link AntrianQueryEngine}, yang
+ * memilih indeks paling selektif untuk kriteria yang diisi.
+ *
+ * <p>Kriteria yang tidak diisi berarti "semua". Contoh:</p>
+ * <pre>{@code
+ * AntrianQuery query = AntrianQuery.semua()
+ *         .teks("fajar")
+ *         .poli(Poli.GIGI)
+ *         .rentangWaktu(awalBulan, awalBulanDepan)
+ *         .urutkan(Comparator.comparing(Antrian::getTimestamp).reversed())
+ *         .batas(50);
+ * HasilQuery hasil = engine.jalankan(query);
+ * }</pre>
+ *
+ * <p>Berbeda dengan {@link com.antrian.core.service.AntrianFilter}, yang
+ * diperiksa pada baris mentah file, query ini bekerja pada daftar yang sudah
+ * dimuat. Rentang waktunya setengah terbuka ({@code [dari, sampai)}), sama
+ * seperti {@link com.antrian.core.service.AntrianWaktuIndex}.</p>
+ *
+ * @author
+ *  Sulistyo Fajar Pratama,
+ *  Dinda Diyah Arifa,
+ *  Musthofa Agung Distyawan
+ * @version 1.0
+ * @since 2025
+ */
+public final class AntrianQuery {
+
+    /** Teks nama pasien dalam huruf kecil ({@link Locale#ROOT}); kosong berarti semua. */
+    private String teks = "";
+    private Poli poli;
+    private StatusAntrian status;
+    private LocalDateTime dari;
+    private LocalDateTime sampai;
+    private String nikPembuat;
+    private Comparator<? super Antrian> urutan;
+    private int batas = Integer.MAX_VALUE;
+
+    private AntrianQuery() {
+    }
+
+    /** @return query baru tanpa kriteria (semua antrian cocok) */
+    public static AntrianQuery semua() {
+        return new AntrianQuery();
+    }
+
+    /**
+     * @param teks teks yang harus terkandung di nama pasien (tanpa membedakan
+     *             huruf besar/kecil), atau kosong/{@code null} untuk semua
+     * @return query ini
+     */
+    public AntrianQuery teks(String teks) {
+        this.teks = teks == null ? "" : teks.toLowerCase(Locale.ROOT);
+        return this;
+    }
+
+    /**
+     * @param poli poli, atau {@code null} untuk semua
+     * @return query ini
+     */
+    public AntrianQuery poli(Poli poli) {
+        this.poli = poli;
+        return this;
+    }
+
+    /**
+     * @param status status antrian, atau {@code null} untuk semua
+     * @return query ini
+     */
+    public AntrianQuery status(StatusAntrian status) {
+        this.status = status;
+        return this;
+    }
+
+    /**
+     * Membatasi waktu pembuatan antrian ke rentang {@code [dari, sampai)}.
+     *
+     * @param dari batas awal (inklusif), atau {@code null} tanpa batas awal
+     * @param sampai batas akhir (eksklusif), atau {@code null} tanpa batas akhir
+     * @return query ini
+     */
+    public AntrianQuery rentangWaktu(LocalDateTime dari, LocalDateTime sampai) {
+        this.dari = dari;
+        this.sampai = sampai;
+        return this;
+    }
+
+    /**
+     * @param nikPembuat NIK pembuat antrian, atau {@code null} untuk semua
+     * @return query ini
+     */
+    public AntrianQuery nikPembuat(String nikPembuat) {
+        this.nikPembuat = nikPembuat;
+        return this;
+    }
+
+    /**
+     * @param urutan urutan hasil, atau {@code null} untuk urutan daftar asal
+     * @return query ini
+     */
+    public AntrianQuery urutkan(Comparator<? super Antrian> urutan) {
+        this.urutan = urutan;
+        return this;
+    }
+
+    /**
+     * @param batas jumlah hasil maksimum (setelah diurutkan)
+     * @return query ini
+     * @throws IllegalArgumentException jika {@code batas} negatif
+     */
+    public AntrianQuery batas(int batas) {
+        if (batas < 0) throw new IllegalArgumentException("Batas hasil tidak boleh negatif: " + batas);
+        this.batas = batas;
+        return this;
+    }
+
+    /** @return teks nama pasien dalam huruf kecil, atau kosong */
+    public String getTeks() { return teks; }
+
+    /** @return poli, atau {@code null} */
+    public Poli getPoli() { return poli; }
+
+    /** @return status, atau {@code null} */
+    public StatusAntrian getStatus() { return status; }
+
+    /** @return batas awal waktu (inklusif), atau {@code null} */
+    public LocalDateTime getDari() { return dari; }
+
+    /** @return batas akhir waktu (eksklusif), atau {@code null} */
+    public LocalDateTime getSampai() { return sampai; }
+
+    /** @return NIK pembuat, atau {@code null} */
+    public String getNikPembuat() { return nikPembuat; }
+
+    /** @return urutan hasil, atau {@code null} */
+    public Comparator<? super Antrian> getUrutan() { return urutan; }
+
+    /** @return jumlah hasil maksimum */
+    public int getBatas() { return batas; }
+
+    /**
+     * Memeriksa satu antrian terhadap seluruh kriteria (tanpa urutan dan batas).
+     * Dipakai sebagai pemeriksaan akhir, dan sebagai acuan perilaku indeks.
+     *
+     * @param antrian antrian yang diperiksa
+     * @return {@code true} jika antrian memenuhi query
+     */
+    public boolean cocok(Antrian antrian) {
+        if (poli != null && antrian.getPoliAntrian() != poli) return false;
+        if (status != null && antrian.getStatusAntrian() != status) return false;
+        if (nikPembuat != null && !nikPembuat.equals(antrian.getNikPembuat())) return false;
+        if (!cocokWaktu(antrian.getTimestamp())) return false;
+        if (teks.isEmpty()) return true;
+        String nama = antrian.getNamaPasien();
+        return nama != null && nama.toLowerCase(Locale.ROOT).contains(teks);
+    }
+
+    /**
+     * @param waktu waktu pembuatan antrian
+     * @return {@code true} jika waktu berada di rentang query
+     */
+    boolean cocokWaktu(LocalDateTime waktu) {
+        if (dari == null && sampai == null) return true;
+        if (waktu == null) return dari == null;
+        return (dari == null || !waktu.isBefore(dari)) && (sampai == null || waktu.isBefore(sampai));
+    }
+
+    /** @return {@code true} jika query mengisi rentang waktu */
+    boolean adaRentangWaktu() {
+        return dari != null || sampai != null;
+    }
+
+    /**
+     * Setiap antrian yang cocok dengan query ini pasti juga cocok dengan
+     * {@code lain} (urutan dan batas diabaikan).
+     *
+     * @param lain query pembanding
+     * @return {@code true} jika query ini mempersempit {@code lain}
+     */
+    boolean mempersempit(AntrianQuery lain) {
+        if (!teks.contains(lain.teks)) return false;
+        if (lain.poli != null && lain.poli != poli) return false;
+        if (lain.status != null && lain.status != status) return false;
+        if (lain.nikPembuat != null && !lain.nikPembuat.equals(nikPembuat)) return false;
+        if (lain.dari != null && (dari == null || dari.isBefore(lain.dari))) return false;
+        return lain.sampai == null || (sampai != null && !sampai.isAfter(lain.sampai));
+    }
+
+    /** @return salinan kriteria query ini */
+    AntrianQuery salin() {
+        AntrianQuery q = new AntrianQuery();
+        q.teks = teks;
+        q.poli = poli;
+        q.status = status;
+        q.dari = dari;
+        q.sampai = sampai;
+        q.nikPembuat = nikPembuat;
+        q.urutan = urutan;
+        q.batas = batas;
+        return q;
+    }
+
+    /**
+     * @param lain query pembanding
+     * @return {@code true} jika rentang waktu kedua query sama
+     */
+    boolean waktuSama(AntrianQuery lain) {
+        return Objects.equals(dari, lain.dari) && Objects.equals(sampai, lain.sampai);
+    }
+
+    @Override
+    public String toString() {
+        return "AntrianQuery{teks='" + teks + "', poli=" + poli + ", status=" + status
+                + ", dari=" + dari + ", sampai=" + sampai + ", nikPembuat=" + nikPembuat
+                + (batas == Integer.MAX_VALUE ? "" : ", batas=" + batas) + "}";
+    }
+}
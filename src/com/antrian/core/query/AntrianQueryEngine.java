@@ -0,0 +1,265 @@
+package com.antrian.core.query;
+
+import com.antrian.core.model.Antrian;
+import com.antrian.core.service.AntrianBitmapIndex;
+import com.antrian.core.service.AntrianNikIndex;
+import com.antrian.core.service.AntrianParalel;
+import com.antrian.core.service.AntrianTrigramIndex;
+import com.antrian.core.service.AntrianWaktuIndex;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Kelas {@code AntrianQueryEngine} menjalankan {@link AntrianQuery} di atas satu
+ * daftar antrian yang sudah dimuat, memakai indeks bitmap poli/status, trigram
+ * nama, waktu terurut, dan NIK pembuat yang dibangun sekali untuk daftar tersebut.
+ *
+ * <p>Untuk setiap query, planner memperkirakan biaya setiap jalur akses yang
+ * tersedia untuk kriteria yang diisi (lihat {@link JalurAkses}) dan memilih yang
+ * termurah sebagai sumber kandidat. Kriteria lainnya lalu diterapkan pada
+ * kandidat: lewat AND bitmap, atau dengan memeriksa kandidat satu per satu jika
+ * kandidatnya lebih sedikit dari perkiraan biaya indeks. Hasil query terakhir
+ * disimpan, sehingga query yang hanya mempersempit query sebelumnya (misal teks
+ * pencarian yang diperpanjang) cukup menyaring hasil tersebut.</p>
+ *
+ * <p>Engine tidak bergantung pada JavaFX dan dapat dipakai tanpa tampilan:</p>
+ * <pre>{@code
+ * AntrianQueryEngine engine = AntrianQueryEngine.bangun(FileService.loadAntrian());
+ * HasilQuery hasil = engine.jalankan(AntrianQuery.semua().poli(Poli.GIGI).status(StatusAntrian.BARU));
+ * System.out.println(hasil.getStatistik());
+ * }</pre>
+ *
+ * <p>Untuk daftar yang besar (lihat {@link AntrianParalel#getAmbang()}), keempat
+ * indeks dibangun paralel, dan pemeriksaan kandidat satu per satu dibagi ke
+ * beberapa thread fork/join; hasilnya tetap sama dan berurutan sesuai daftar.</p>
+ *
+ * <p>{@link #jalankan(AntrianQuery)} aman dipanggil dari beberapa thread
+ * (eksekusinya diserialkan). Seperti indeks-indeksnya, engine tidak mengikuti
+ * perubahan struktur daftar setelah dibangun.</p>
+ *
+ * @author
+ *  Sulistyo Fajar Pratama,
+ *  Dinda Diyah Arifa,
+ *  Musthofa Agung Distyawan
+ * @version 1.0
+ * @since 2025
+ */
+public final class AntrianQueryEngine {
+
+    private final List<? extends Antrian> antrianList;
+    private final AntrianBitmapIndex indeksFilter;
+    private final AntrianTrigramIndex indeksNama;
+    private final AntrianWaktuIndex indeksWaktu;
+    private final AntrianNikIndex indeksNik;
+
+    /** Query dan hasil (sebelum urutan dan batas) terakhir, atau {@code null} jika belum ada. */
+    private AntrianQuery queryTerakhir;
+    private BitSet hasilTerakhir;
+
+    private AntrianQueryEngine(List<? extends Antrian> antrianList, AntrianBitmapIndex indeksFilter,
+                               AntrianTrigramIndex indeksNama, AntrianWaktuIndex indeksWaktu,
+                               AntrianNikIndex indeksNik) {
+        this.antrianList = antrianList;
+        this.indeksFilter = indeksFilter;
+        this.indeksNama = indeksNama;
+        this.indeksWaktu = indeksWaktu;
+        this.indeksNik = indeksNik;
+    }
+
+    /**
+     * Membangun engine beserta seluruh indeksnya untuk daftar antrian. Dapat
+     * dijalankan di thread latar belakang; untuk daftar yang besar, setiap
+     * indeks dibangun di thread fork/join tersendiri.
+     *
+     * @param antrianList daftar antrian yang akan dicari
+     * @return engine baru
+     */
+    public static AntrianQueryEngine bangun(List<? extends Antrian> antrianList) {
+        AntrianBitmapIndex[] indeksFilter = new AntrianBitmapIndex[1];
+        AntrianTrigramIndex[] indeksNama = new AntrianTrigramIndex[1];
+        AntrianWaktuIndex[] indeksWaktu = new AntrianWaktuIndex[1];
+        AntrianNikIndex[] indeksNik = new AntrianNikIndex[1];
+        AntrianParalel.jalankan(antrianList.size(),
+                () -> indeksFilter[0] = AntrianBitmapIndex.bangun(antrianList),
+                () -> indeksNama[0] = AntrianTrigramIndex.bangun(antrianList),
+                () -> indeksWaktu[0] = AntrianWaktuIndex.bangun(antrianList),
+                () -> indeksNik[0] = AntrianNikIndex.bangun(antrianList));
+        return new AntrianQueryEngine(antrianList, indeksFilter[0], indeksNama[0], indeksWaktu[0], indeksNik[0]);
+    }
+
+    /**
+     * Menjalankan query.
+     *
+     * @param query kriteria pencarian
+     * @return antrian yang cocok (diurutkan dan dibatasi sesuai query) beserta statistiknya
+     */
+    public synchronized HasilQuery jalankan(AntrianQuery query) {
+        long mulai = System.nanoTime();
+        AntrianQuery q = query.salin();
+
+        // ===========================
+        // ==== PLANNER ==============
+        // ===========================
+
+        JalurAkses jalur = JalurAkses.SCAN;
+        long biaya = antrianList.size();
+        if (hasilTerakhir != null && q.mempersempit(queryTerakhir)) {
+            long b = (long) hasilTerakhir.cardinality()
+                    * (q.getTeks().equals(queryTerakhir.getTeks()) ? 1 : AntrianTrigramIndex.BIAYA_VERIFIKASI);
+            if (b <= biaya) { jalur = JalurAkses.HASIL_SEBELUMNYA; biaya = b; }
+        }
+        if (q.getNikPembuat() != null) {
+            long b = indeksNik.jumlahPembuat(q.getNikPembuat());
+            if (b < biaya) { jalur = JalurAkses.NIK_PEMBUAT; biaya = b; }
+        }
+        if (q.adaRentangWaktu()) {
+            long b = indeksWaktu.hitung(q.getDari(), q.getSampai());
+            if (b < biaya) { jalur = JalurAkses.WAKTU; biaya = b; }
+        }
+        if (!q.getTeks().isEmpty()) {
+            long b = indeksNama.perkiraanBiaya(q.getTeks());
+            if (b < biaya) { jalur = JalurAkses.TEKS; biaya = b; }
+        }
+        if (q.getPoli() != null || q.getStatus() != null) {
+            long b = indeksFilter.perkiraanJumlah(q.getPoli(), q.getStatus());
+            if (b < biaya) { jalur = JalurAkses.POLI_STATUS; biaya = b; }
+        }
+
+        // ===========================
+        // ==== EKSEKUSI =============
+        // ===========================
+
+        boolean perluPoli = q.getPoli() != null;
+        boolean perluStatus = q.getStatus() != null;
+        boolean perluNik = q.getNikPembuat() != null;
+        boolean perluWaktu = q.adaRentangWaktu();
+        boolean perluTeks = !q.getTeks().isEmpty();
+
+        BitSet kandidat;
+        switch (jalur) {
+            case HASIL_SEBELUMNYA -> {
+                kandidat = (BitSet) hasilTerakhir.clone();
+                // kriteria yang sama dengan query terakhir sudah dipenuhi hasilnya
+                perluPoli = perluPoli && q.getPoli() != queryTerakhir.getPoli();
+                perluStatus = perluStatus && q.getStatus() != queryTerakhir.getStatus();
+                perluNik = perluNik && !q.getNikPembuat().equals(queryTerakhir.getNikPembuat());
+                perluWaktu = perluWaktu && !q.waktuSama(queryTerakhir);
+                perluTeks = perluTeks && !q.getTeks().equals(queryTerakhir.getTeks());
+            }
+            case NIK_PEMBUAT -> {
+                kandidat = indeksNik.posisiPembuat(q.getNikPembuat());
+                perluNik = false;
+            }
+            case WAKTU -> {
+                kandidat = indeksWaktu.cari(q.getDari(), q.getSampai());
+                perluWaktu = false;
+            }
+            case TEKS -> {
+                kandidat = indeksNama.cari(q.getTeks());
+                perluTeks = false;
+            }
+            case POLI_STATUS -> {
+                kandidat = indeksFilter.cari(q.getPoli(), q.getStatus());
+                perluPoli = false;
+                perluStatus = false;
+            }
+            default -> {
+                kandidat = new BitSet(antrianList.size());
+                kandidat.set(0, antrianList.size());
+            }
+        }
+        int jumlahKandidat = kandidat.cardinality();
+
+        // kriteria sisa, dari yang paling murah diterapkan
+        if (perluPoli || perluStatus) {
+            indeksFilter.saring(kandidat, perluPoli ? q.getPoli() : null, perluStatus ? q.getStatus() : null);
+        }
+        if (perluNik) {
+            kandidat.and(indeksNik.posisiPembuat(q.getNikPembuat()));
+        }
+        if (perluWaktu) {
+            if (kandidat.cardinality() < indeksWaktu.hitung(q.getDari(), q.getSampai())) {
+                AntrianParalel.saring(kandidat, i -> q.cocokWaktu(antrianList.get(i).getTimestamp()));
+            } else {
+                kandidat.and(indeksWaktu.cari(q.getDari(), q.getSampai()));
+            }
+        }
+        if (perluTeks) {
+            if ((long) kandidat.cardinality() * AntrianTrigramIndex.BIAYA_VERIFIKASI <= indeksNama.perkiraanBiaya(q.getTeks())) {
+                indeksNama.saring(kandidat, q.getTeks());
+            } else {
+                kandidat.and(indeksNama.cari(q.getTeks()));
+            }
+        }
+
+        queryTerakhir = q;
+        hasilTerakhir = kandidat;
+        int jumlahCocok = kandidat.cardinality();
+
+        List<Antrian> hasil = ambil(kandidat, q);
+        StatistikQuery statistik = new StatistikQuery(jalur, biaya, jumlahKandidat, jumlahCocok,
+                hasil.size(), System.nanoTime() - mulai);
+        return new HasilQuery(hasil, statistik);
+    }
+
+    /** @return jumlah antrian yang diindeks */
+    public int size() {
+        return antrianList.size();
+    }
+
+    /**
+     * Mengubah posisi yang cocok menjadi daftar antrian, lalu menerapkan urutan
+     * dan batas. Tanpa urutan, pengambilan berhenti begitu batas tercapai; dengan
+     * urutan dan batas yang lebih kecil dari jumlah hasil, hanya {@code batas}
+     * antrian teratas yang disimpan di heap alih-alih mengurutkan seluruh hasil.
+     */
+    private List<Antrian> ambil(BitSet posisi, AntrianQuery q) {
+        Comparator<? super Antrian> urutan = q.getUrutan();
+        int batas = q.getBatas();
+        int jumlah = posisi.cardinality();
+
+        if (urutan != null && batas < jumlah) {
+            // posisi sebagai pembanding kedua, agar hasilnya sama dengan pengurutan stabil
+            Comparator<Kandidat> urutanKandidat = Comparator.<Kandidat, Antrian>comparing(k -> k.antrian, urutan)
+                    .thenComparingInt(k -> k.posisi);
+            // heap berisi batas antrian teratas, dengan yang "terbesar" di puncak
+            PriorityQueue<Kandidat> teratas = new PriorityQueue<>(Math.max(1, batas), urutanKandidat.reversed());
+            for (int i = posisi.nextSetBit(0); i >= 0 && batas > 0; i = posisi.nextSetBit(i + 1)) {
+                Kandidat k = new Kandidat(antrianList.get(i), i);
+                if (teratas.size() < batas) {
+                    teratas.add(k);
+                } else if (urutanKandidat.compare(k, teratas.peek()) < 0) {
+                    teratas.poll();
+                    teratas.add(k);
+                }
+            }
+            List<Kandidat> terurut = new ArrayList<>(teratas);
+            terurut.sort(urutanKandidat);
+            List<Antrian> hasil = new ArrayList<>(terurut.size());
+            for (Kandidat k : terurut) hasil.add(k.antrian);
+            return hasil;
+        }
+
+        List<Antrian> hasil = new ArrayList<>(Math.min(jumlah, batas));
+        for (int i = posisi.nextSetBit(0); i >= 0 && hasil.size() < batas; i = posisi.nextSetBit(i + 1)) {
+            hasil.add(antrianList.get(i));
+        }
+        if (urutan != null) hasil.sort(urutan);
+        return hasil;
+    }
+
+    /** Antrian beserta posisinya di daftar, untuk pemilihan antrian teratas. */
+    private static final class Kandidat {
+        final Antrian antrian;
+        final int posisi;
+
+        Kandidat(Antrian antrian, int posisi) {
+            this.antrian = antrian;
+            this.posisi = posisi;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.antrian.core.query;
+
+import com.antrian.core.model.Antrian;
+
+import java.util.List;
+
+/**
+ * Kelas {@code HasilQuery} berisi hasil satu query {@link AntrianQueryEngine}:
+ * antrian yang cocok (sudah diurutkan dan dibatasi) beserta statistik eksekusinya.
+ *
+ * @author
+ *  Sulistyo Fajar Pratama,
+ *  Dinda Diyah Arifa,
+ *  Musthofa Agung Distyawan
+ * @version 1.0
+ * @since 2025
+ */
+public final class HasilQuery {
+
+    private final List<Antrian> antrian;
+    private final StatistikQuery statistik;
+
+    HasilQuery(List<Antrian> antrian, StatistikQuery statistik) {
+        this.antrian = antrian;
+        this.statistik = statistik;
+    }
+
+    /** @return antrian yang cocok; daftar baru milik pemanggil */
+    public List<Antrian> getAntrian() { return antrian; }
+
+    /** @return statistik eksekusi query */
+    public StatistikQuery getStatistik() { return statistik; }
+}
@@ -0,0 +1,29 @@
+package com.antrian.core.query;
+
+/**
+ * Enum {@code JalurAkses} berisi cara {@link AntrianQueryEngine} memperoleh
+ * kandidat awal sebuah query. Planner memilih jalur dengan perkiraan biaya
+ * terkecil; kriteria lain kemudian diterapkan pada kandidat tersebut.
+ *
+ * @author
+ *  Sulistyo Fajar Pratama,
+ *  Dinda Diyah Arifa,
+ *  Musthofa Agung Distyawan
+ * @version 1.0
+ * @since 2025
+ */
+public enum JalurAkses {
+
+    /** Menyaring ulang hasil query sebelumnya, karena query baru hanya mempersempitnya. */
+    HASIL_SEBELUMNYA,
+    /** Daftar posisi per NIK pembuat ({@link com.antrian.core.service.AntrianNikIndex}). */
+    NIK_PEMBUAT,
+    /** Potongan indeks waktu terurut ({@link com.antrian.core.service.AntrianWaktuIndex}). */
+    WAKTU,
+    /** Indeks trigram nama pasien ({@link com.antrian.core.service.AntrianTrigramIndex}). */
+    TEKS,
+    /** Bitmap poli dan status ({@link com.antrian.core.service.AntrianBitmapIndex}). */
+    POLI_STATUS,
+    /** Seluruh antrian, karena tidak ada kriteria yang didukung indeks. */
+    SCAN
+}
@@ -0,0 +1,63 @@
+package com.antrian.core.query;
+
+/**
+ * Kelas {@code StatistikQuery} berisi catatan eksekusi satu query oleh
+ * {@link AntrianQueryEngine}: jalur akses yang dipilih planner beserta
+ * perkiraan biayanya, jumlah kandidat yang dihasilkan jalur tersebut, jumlah
+ * antrian yang cocok, dan lama eksekusi.
+ *
+ * <p>Contoh keluaran {@link #toString()}:</p>
+ * <pre>
+ * jalur=TEKS biaya~=412 kandidat=97 cocok=31 dikembalikan=31 waktu=0.38 ms
+ * </pre>
+ *
+ * @author
+ *  Sulistyo Fajar Pratama,
+ *  Dinda Diyah Arifa,
+ *  Musthofa Agung Distyawan
+ * @version 1.0
+ * @since 2025
+ */
+public final class StatistikQuery {
+
+    private final JalurAkses jalurAkses;
+    private final long perkiraanBiaya;
+    private final int jumlahKandidat;
+    private final int jumlahCocok;
+    private final int jumlahDikembalikan;
+    private final long durasiNanos;
+
+    StatistikQuery(JalurAkses jalurAkses, long perkiraanBiaya, int jumlahKandidat,
+                   int jumlahCocok, int jumlahDikembalikan, long durasiNanos) {
+        this.jalurAkses = jalurAkses;
+        this.perkiraanBiaya = perkiraanBiaya;
+        this.jumlahKandidat = jumlahKandidat;
+        this.jumlahCocok = jumlahCocok;
+        this.jumlahDikembalikan = jumlahDikembalikan;
+        this.durasiNanos = durasiNanos;
+    }
+
+    /** @return jalur akses yang dipilih planner */
+    public JalurAkses getJalurAkses() { return jalurAkses; }
+
+    /** @return perkiraan biaya jalur akses, dalam satuan pembacaan satu posisi */
+    public long getPerkiraanBiaya() { return perkiraanBiaya; }
+
+    /** @return jumlah kandidat yang dihasilkan jalur akses */
+    public int getJumlahKandidat() { return jumlahKandidat; }
+
+    /** @return jumlah antrian yang cocok dengan seluruh kriteria, sebelum batas diterapkan */
+    public int getJumlahCocok() { return jumlahCocok; }
+
+    /** @return jumlah antrian yang dikembalikan, setelah batas diterapkan */
+    public int getJumlahDikembalikan() { return jumlahDikembalikan; }
+
+    /** @return lama eksekusi query, dalam nanodetik */
+    public long getDurasiNanos() { return durasiNanos; }
+
+    @Override
+    public String toString() {
+        return String.format("jalur=%s biaya~=%d kandidat=%d cocok=%d dikembalikan=%d waktu=%.2f ms",
+                jalurAkses, perkiraanBiaya, jumlahKandidat, jumlahCocok, jumlahDikembalikan, durasiNanos / 1e6);
+    }
+}
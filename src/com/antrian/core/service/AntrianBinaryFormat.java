@@ -0,0 +1,360 @@
+package com.antrian.core.service;
+
+import com.antrian.core.model.Antrian;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Kelas {@code AntrianBinaryFormat} menyimpan data antrian dalam format biner
+ * kolumnar sebagai alternatif dari format teks {@code antrian.txt}.
+ *
+ * <p>Struktur file:</p>
+ * <pre>
+ * header   : magic "ANTB" (4 byte), versi (short)
+ * row group: jumlah baris n (int), lalu kolom-kolom berikut:
+ *   id        : n x int
+ *   timestamp : n x long (epoch millis, LocalDateTime dibaca sebagai UTC)
+ *   poli      : kamus (jumlah entri + string), lalu n x byte kode
+ *   status    : kamus (jumlah entri + string), lalu n x byte kode
+ *   teks      : untuk nikPembuat, nikPasien, nama, alamat, noTelepon, keluhan
+ *               masing-masing satu blok (panjang blok + n x [varint panjang, UTF-8])
+ * </pre>
+ *
+ * <p>Baris ditulis per row group (maksimal {@value #ROW_GROUP_SIZE} baris),
+ * sehingga penulisan dan konversi dari file teks dapat berjalan secara streaming
+ * tanpa menampung seluruh data di memori. Kamus poli dan status hanya berlaku
+ * di dalam satu row group.</p>
+ *
+ * <p>Catatan: timestamp disimpan dengan presisi milidetik, sehingga digit
+ * sub-milidetik pada data lama tidak ikut tersimpan.</p>
+ *
+ * @author
+ *  Sulistyo Fajar Pratama,
+ *  Dinda Diyah Arifa,
+ *  Musthofa Agung Distyawan
+ * @version 1.0
+ * @since 2025
+ */
+public final class AntrianBinaryFormat {
+
+    /** Penanda awal file biner antrian. */
+    private static final int MAGIC = 0x414E5442; // "ANTB"
+    /** Versi format file. */
+    private static final short VERSION = 1;
+    /** Jumlah baris maksimum per row group. */
+    static final int ROW_GROUP_SIZE = 4096;
+    /** Jumlah entri kamus maksimum (kode disimpan sebagai byte). */
+    private static final int MAX_DICTIONARY = 256;
+
+    private AntrianBinaryFormat() {
+    }
+
+    // ===========================
+    // ==== BACA =================
+    // ===========================
+
+    /**
+     * Membaca seluruh antrian dari file biner.
+     *
+     * @param path path file biner
+     * @return daftar antrian sesuai urutan penulisan, kosong jika file belum ada
+     * @throws IOException jika file rusak atau tidak dapat dibaca
+     */
+    public static List<Antrian> read(Path path) throws IOException {
+        List<Antrian> result = new ArrayList<>();
+        if (!Files.exists(path) || Files.size(path) == 0) return result;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Bukan file antrian biner: " + path);
+            }
+            short version = in.readShort();
+            if (version != VERSION) {
+                throw new IOException("Versi file antrian biner tidak didukung: " + version);
+            }
+
+            while (true) {
+                int n;
+                try {
+                    n = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                readRowGroup(in, n, result);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Membaca satu row group dan menambahkan hasilnya ke {@code out}.
+     */
+    private static void readRowGroup(DataInputStream in, int n, List<Antrian> out) throws IOException {
+        int[] ids = new int[n];
+        for (int i = 0; i < n; i++) ids[i] = in.readInt();
+
+        long[] millis = new long[n];
+        for (int i = 0; i < n; i++) millis[i] = in.readLong();
+
+        String[] poliDict = readDictionary(in);
+        byte[] poliCodes = new byte[n];
+        in.readFully(poliCodes);
+
+        String[] statusDict = readDictionary(in);
+        byte[] statusCodes = new byte[n];
+        in.readFully(statusCodes);
+
+        String[] nikPembuat = readStringBlock(in, n);
+        String[] nikPasien = readStringBlock(in, n);
+        String[] nama = readStringBlock(in, n);
+        String[] alamat = readStringBlock(in, n);
+        String[] noTelepon = readStringBlock(in, n);
+        String[] keluhan = readStringBlock(in, n);
+
+        for (int i = 0; i < n; i++) {
+            out.add(new Antrian(
+                    ids[i],
+                    nikPembuat[i],
+                    nikPasien[i],
+                    nama[i],
+                    alamat[i],
+                    noTelepon[i],
+                    poliDict[poliCodes[i] & 0xFF],
+                    keluhan[i],
+                    statusDict[statusCodes[i] & 0xFF],
+                    fromEpochMillis(millis[i])
+            ));
+        }
+    }
+
+    private static String[] readDictionary(DataInputStream in) throws IOException {
+        int size = in.readUnsignedShort();
+        String[] dict = new String[size];
+        for (int i = 0; i < size; i++) dict[i] = in.readUTF();
+        return dict;
+    }
+
+    private static String[] readStringBlock(DataInputStream in, int n) throws IOException {
+        byte[] block = new byte[in.readInt()];
+        in.readFully(block);
+
+        String[] values = new String[n];
+        int pos = 0;
+        for (int i = 0; i < n; i++) {
+            int len = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = block[pos++];
+                len |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            values[i] = new String(block, pos, len, StandardCharsets.UTF_8);
+            pos += len;
+        }
+        return values;
+    }
+
+    // ===========================
+    // ==== TULIS ================
+    // ===========================
+
+    /**
+     * Menulis seluruh daftar antrian ke file biner (menimpa isi lama).
+     *
+     * @param path path file biner
+     * @param antrianList daftar antrian
+     * @throws IOException jika gagal menulis file
+     */
+    public static void write(Path path, List<Antrian> antrianList) throws IOException {
+        try (Writer writer = new Writer(path)) {
+            for (Antrian a : antrianList) {
+                writer.add(a);
+            }
+        }
+    }
+
+    /**
+     * Mengonversi file teks {@code antrian.txt} menjadi file biner secara streaming.
+     * Baris yang rusak dilewati, sama seperti saat membaca file teks.
+     *
+     * @param textFile path file teks sumber
+     * @param binaryFile path file biner tujuan
+     * @return jumlah antrian yang dikonversi
+     * @throws IOException jika gagal membaca atau menulis file
+     */
+    public static long convertFromText(Path textFile, Path binaryFile) throws IOException {
+        long count = 0;
+        try (Writer writer = new Writer(binaryFile)) {
+            if (Files.exists(textFile)) {
+                try (BufferedReader reader = Files.newBufferedReader(textFile, StandardCharsets.UTF_8)) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        Antrian a = FileService.parseAntrian(line);
+                        if (a != null) {
+                            writer.add(a);
+                            count++;
+                        }
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Penulis file biner yang menampung baris per row group lalu menuliskannya
+     * secara kolumnar.
+     */
+    public static final class Writer implements Closeable {
+
+        private final Path target;
+        private final Path temp;
+        private final FileChannel channel;
+        private final DataOutputStream out;
+        private final List<Antrian> pending = new ArrayList<>(ROW_GROUP_SIZE);
+        private final Map<String, Integer> poliDict = new LinkedHashMap<>();
+        private final Map<String, Integer> statusDict = new LinkedHashMap<>();
+
+        /**
+         * Membuka file biner baru untuk ditulis. Data ditulis ke file sementara dan
+         * baru menggantikan file lama saat {@link #close()} berhasil.
+         *
+         * @param path path file biner
+         * @throws IOException jika file tidak dapat dibuat
+         */
+        public Writer(Path path) throws IOException {
+            target = path;
+            temp = AtomicFileWriter.createTemp(path);
+            channel = FileChannel.open(temp, StandardOpenOption.WRITE);
+
+            out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+        }
+
+        /**
+         * Menambahkan satu antrian. Row group ditulis otomatis saat penuh.
+         *
+         * @param antrian antrian yang ditulis
+         * @throws IOException jika gagal menulis
+         */
+        public void add(Antrian antrian) throws IOException {
+            boolean newPoli = !poliDict.containsKey(antrian.getPoli());
+            boolean newStatus = !statusDict.containsKey(antrian.getStatus());
+            if ((newPoli && poliDict.size() == MAX_DICTIONARY)
+                    || (newStatus && statusDict.size() == MAX_DICTIONARY)) {
+                flush();
+            }
+
+            poliDict.putIfAbsent(antrian.getPoli(), poliDict.size());
+            statusDict.putIfAbsent(antrian.getStatus(), statusDict.size());
+            pending.add(antrian);
+
+            if (pending.size() == ROW_GROUP_SIZE) {
+                flush();
+            }
+        }
+
+        /**
+         * Menulis row group yang sedang ditampung.
+         */
+        private void flush() throws IOException {
+            if (pending.isEmpty()) return;
+            int n = pending.size();
+
+            out.writeInt(n);
+            for (Antrian a : pending) out.writeInt(a.getId());
+            for (Antrian a : pending) out.writeLong(toEpochMillis(a.getTimestamp()));
+
+            writeDictionary(poliDict);
+            for (Antrian a : pending) out.writeByte(poliDict.get(a.getPoli()));
+            writeDictionary(statusDict);
+            for (Antrian a : pending) out.writeByte(statusDict.get(a.getStatus()));
+
+            ByteArrayOutputStream block = new ByteArrayOutputStream(n * 16);
+            writeStringBlock(block, Antrian::getNikPembuat);
+            writeStringBlock(block, Antrian::getNikPasien);
+            writeStringBlock(block, Antrian::getNamaPasien);
+            writeStringBlock(block, Antrian::getAlamatPasien);
+            writeStringBlock(block, Antrian::getNoTeleponPasien);
+            writeStringBlock(block, Antrian::getKeluhan);
+
+            pending.clear();
+            poliDict.clear();
+            statusDict.clear();
+        }
+
+        private void writeDictionary(Map<String, Integer> dict) throws IOException {
+            out.writeShort(dict.size());
+            for (String value : dict.keySet()) out.writeUTF(value);
+        }
+
+        private void writeStringBlock(ByteArrayOutputStream block,
+                                      Function<Antrian, String> column) throws IOException {
+            block.reset();
+            for (Antrian a : pending) {
+                String value = column.apply(a);
+                byte[] bytes = (value == null ? "" : value).getBytes(StandardCharsets.UTF_8);
+                int len = bytes.length;
+                while ((len & ~0x7F) != 0) {
+                    block.write((len & 0x7F) | 0x80);
+                    len >>>= 7;
+                }
+                block.write(len);
+                block.write(bytes);
+            }
+            out.writeInt(block.size());
+            block.writeTo(out);
+        }
+
+        /**
+         * Menulis row group terakhir, memaksa isi file ke disk, lalu memindahkannya
+         * menimpa file tujuan secara atomik. Jika gagal, file lama tidak berubah.
+         *
+         * @throws IOException jika gagal menulis
+         */
+        @Override
+        public void close() throws IOException {
+            try {
+                try {
+                    flush();
+                    out.flush();
+                    channel.force(true);
+                } finally {
+                    out.close();
+                }
+                AtomicFileWriter.commit(temp, target);
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(temp);
+                throw e;
+            }
+        }
+    }
+
+    // ===========================
+    // ==== UTILITIES ============
+    // ===========================
+
+    private static long toEpochMillis(LocalDateTime timestamp) {
+        return timestamp.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static LocalDateTime fromEpochMillis(long millis) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000L),
+                (int) Math.floorMod(millis, 1000L) * 1_000_000, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,139 @@
+package com.antrian.core.service;
+
+import com.antrian.core.model.Antrian;
+import com.antrian.core.model.Poli;
+import com.antrian.core.model.StatusAntrian;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Kelas {@code AntrianBitmapIndex} berisi indeks bitmap poli dan status untuk
+ * satu daftar antrian: untuk setiap {@link Poli} dan {@link StatusAntrian}
+ * terdapat satu {@link BitSet} yang bit ke-{@code i}-nya menyala jika antrian
+ * di posisi {@code i} memiliki nilai tersebut.
+ *
+ * <p>Indeks dibangun sekali setiap kali data dimuat ulang, lalu dipakai untuk
+ * setiap perubahan filter di dashboard. Gabungan filter poli dan status cukup
+ * di-AND-kan per 64 baris sekaligus, dan hanya baris yang cocok yang kemudian
+ * diperiksa dengan kriteria lain (nama, waktu).</p>
+ *
+ * <p>Contoh penggunaan:</p>
+ * <pre>{@code
+ * AntrianBitmapIndex indeks = AntrianBitmapIndex.bangun(daftar);
+ * BitSet cocok = indeks.cari(Poli.JANTUNG, StatusAntrian.BARU);
+ * cocok.stream().mapToObj(daftar::get).forEach(System.out::println);
+ * }</pre>
+ *
+ * <p>Indeks tidak mengikuti perubahan daftar setelah dibangun; antrian dengan
+ * poli/status yang tidak dikenal hanya cocok jika filter tersebut tidak diisi.</p>
+ *
+ * @author
+ *  Sulistyo Fajar Pratama,
+ *  Dinda Diyah Arifa,
+ *  Musthofa Agung Distyawan
+ * @version 1.0
+ * @since 2025
+ */
+public final class AntrianBitmapIndex {
+
+    private final int jumlah;
+    /** Bitmap per poli, berindeks {@link Poli#ordinal()}. */
+    private final BitSet[] perPoli;
+    /** Bitmap per status, berindeks {@link StatusAntrian#ordinal()}. */
+    private final BitSet[] perStatus;
+    /** Jumlah bit menyala di setiap bitmap, untuk perkiraan selektivitas. */
+    private final int[] jumlahPoli;
+    private final int[] jumlahStatus;
+
+    private AntrianBitmapIndex(int jumlah) {
+        this.jumlah = jumlah;
+        this.perPoli = bitmapKosong(Poli.values().length, jumlah);
+        this.perStatus = bitmapKosong(StatusAntrian.values().length, jumlah);
+        this.jumlahPoli = new int[perPoli.length];
+        this.jumlahStatus = new int[perStatus.length];
+    }
+
+    /**
+     * Membangun indeks untuk daftar antrian.
+     *
+     * @param antrianList daftar antrian; posisi di daftar menjadi nomor bit
+     * @return indeks baru
+     */
+    public static AntrianBitmapIndex bangun(List<? extends Antrian> antrianList) {
+        AntrianBitmapIndex indeks = new AntrianBitmapIndex(antrianList.size());
+        for (int i = 0; i < indeks.jumlah; i++) {
+            Antrian a = antrianList.get(i);
+            Poli poli = a.getPoliAntrian();
+            StatusAntrian status = a.getStatusAntrian();
+            if (poli != null) {
+                indeks.perPoli[poli.ordinal()].set(i);
+                indeks.jumlahPoli[poli.ordinal()]++;
+            }
+            if (status != null) {
+                indeks.perStatus[status.ordinal()].set(i);
+                indeks.jumlahStatus[status.ordinal()]++;
+            }
+        }
+        return indeks;
+    }
+
+    /**
+     * Mencari posisi antrian dengan poli dan status tertentu.
+     *
+     * @param poli poli yang dicari, atau {@code null} untuk semua
+     * @param status status yang dicari, atau {@code null} untuk semua
+     * @return bitmap baru berisi posisi yang cocok (boleh diubah pemanggil)
+     */
+    public BitSet cari(Poli poli, StatusAntrian status) {
+        BitSet hasil;
+        if (poli != null) {
+            hasil = (BitSet) perPoli[poli.ordinal()].clone();
+            if (status != null) hasil.and(perStatus[status.ordinal()]);
+        } else if (status != null) {
+            hasil = (BitSet) perStatus[status.ordinal()].clone();
+        } else {
+            hasil = new BitSet(jumlah);
+            hasil.set(0, jumlah);
+        }
+        return hasil;
+    }
+
+    /**
+     * Menyaring bitmap hasil sebelumnya dengan poli dan status tertentu (AND di tempat).
+     *
+     * @param hasil bitmap posisi yang akan dipersempit
+     * @param poli poli yang dicari, atau {@code null} untuk semua
+     * @param status status yang dicari, atau {@code null} untuk semua
+     */
+    public void saring(BitSet hasil, Poli poli, StatusAntrian status) {
+        if (poli != null) hasil.and(perPoli[poli.ordinal()]);
+        if (status != null) hasil.and(perStatus[status.ordinal()]);
+    }
+
+    /**
+     * Memperkirakan jumlah antrian yang cocok tanpa membuat bitmap: jumlah
+     * antrian dengan nilai yang paling jarang di antara poli dan status.
+     *
+     * @param poli poli yang dicari, atau {@code null} untuk semua
+     * @param status status yang dicari, atau {@code null} untuk semua
+     * @return batas atas jumlah antrian yang cocok
+     */
+    public int perkiraanJumlah(Poli poli, StatusAntrian status) {
+        int hasil = jumlah;
+        if (poli != null) hasil = Math.min(hasil, jumlahPoli[poli.ordinal()]);
+        if (status != null) hasil = Math.min(hasil, jumlahStatus[status.ordinal()]);
+        return hasil;
+    }
+
+    /** @return jumlah antrian yang diindeks */
+    public int size() {
+        return jumlah;
+    }
+
+    private static BitSet[] bitmapKosong(int banyak, int jumlah) {
+        BitSet[] bitmaps = new BitSet[banyak];
+        for (int i = 0; i < banyak; i++) bitmaps[i] = new BitSet(jumlah);
+        return bitmaps;
+    }
+}
@@ -0,0 +1,204 @@
+package com.antrian.core.service;
+
+import com.antrian.core.model.Antrian;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Kelas {@code AntrianCursor} membaca antrian satu per satu dari file data
+ * tanpa menampung seluruh isinya di memori.
+ *
+ * <p>Setiap baris snapshot diperiksa lebih dulu terhadap {@link AntrianFilter}
+ * dalam bentuk teks mentah; objek {@link Antrian} hanya dibuat untuk baris yang
+ * lolos. Entri log mutasi dikelompokkan per ID saat kursor dibuka, lalu
+ * diterapkan pada baris yang ID-nya tercatat di log. Antrian yang hanya ada di
+ * log (dibuat sejak checkpoint terakhir) dikeluarkan setelah snapshot habis.</p>
+ *
+ * <p>Semua file sumber sudah dibuka oleh {@link FileService} di bawah kunci
+ * baca, bersamaan dengan pembacaan log, sehingga kursor melihat satu keadaan
+ * data yang konsisten walaupun file diganti (rename atomik) selama kursor
+ * masih dibaca. Kursor wajib ditutup.</p>
+ *
+ * @author
+ *  Sulistyo Fajar Pratama,
+ *  Dinda Diyah Arifa,
+ *  Musthofa Agung Distyawan
+ * @version 1.0
+ * @since 2025
+ */
+public final class AntrianCursor implements Iterator<Antrian>, Closeable {
+
+    private final AntrianFilter filter;
+    /** Reader snapshot/segmen yang belum selesai dibaca, sesuai urutan. */
+    private final Deque<BufferedReader> sumber;
+    /** Entri log mutasi per ID. */
+    private final Map<Integer, List<String>> entriLog;
+    /** Jumlah baris log yang dibaca saat kursor dibuka. */
+    private final int jumlahEntriLog;
+    /** ID di log yang sudah ditemukan barisnya di snapshot. */
+    private final Set<Integer> idDiSnapshot = new HashSet<>();
+    /** Antrian yang sudah dimuat penuh (mode biner), atau {@code null}. */
+    private final Iterator<Antrian> daftar;
+    /** Iterator antrian yang hanya ada di log, dimulai setelah snapshot habis. */
+    private Iterator<Map.Entry<Integer, List<String>>> sisaLog;
+    private Antrian berikutnya;
+
+    /**
+     * Membuat kursor di atas baris-baris snapshot.
+     *
+     * @param sumber reader file snapshot/segmen yang sudah dibuka
+     * @param logLines isi log mutasi yang dibaca bersamaan dengan pembukaan sumber
+     * @param filter kriteria penyaringan
+     */
+    AntrianCursor(List<BufferedReader> sumber, List<String> logLines, AntrianFilter filter) {
+        this.filter = filter;
+        this.sumber = new ArrayDeque<>(sumber);
+        this.entriLog = AntrianLog.kelompokkanPerId(logLines);
+        this.jumlahEntriLog = logLines.size();
+        this.daftar = null;
+    }
+
+    /**
+     * Membuat kursor di atas daftar antrian yang sudah dimuat dan diputar ulang,
+     * untuk format penyimpanan yang tidak berbasis baris teks.
+     *
+     * @param antrianList daftar antrian lengkap
+     * @param filter kriteria penyaringan
+     */
+    AntrianCursor(List<Antrian> antrianList, AntrianFilter filter) {
+        this.filter = filter;
+        this.sumber = new ArrayDeque<>();
+        this.entriLog = Map.of();
+        this.jumlahEntriLog = 0;
+        this.daftar = antrianList.iterator();
+    }
+
+    /**
+     * @return jumlah baris log mutasi yang diterapkan kursor ini; 0 jika kursor
+     *         dibuat dari daftar yang sudah diputar ulang
+     */
+    int getJumlahEntriLog() {
+        return jumlahEntriLog;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (berikutnya == null) {
+            try {
+                berikutnya = cariBerikutnya();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return berikutnya != null;
+    }
+
+    @Override
+    public Antrian next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        Antrian a = berikutnya;
+        berikutnya = null;
+        return a;
+    }
+
+    /**
+     * Menutup semua file sumber yang masih terbuka.
+     *
+     * @throws IOException jika file gagal ditutup
+     */
+    @Override
+    public void close() throws IOException {
+        IOException error = null;
+        while (!sumber.isEmpty()) {
+            try {
+                sumber.poll().close();
+            } catch (IOException e) {
+                error = e;
+            }
+        }
+        if (error != null) throw error;
+    }
+
+    /**
+     * Mencari antrian berikutnya yang cocok dengan filter.
+     *
+     * @return antrian berikutnya, atau {@code null} jika sudah habis
+     */
+    private Antrian cariBerikutnya() throws IOException {
+        if (daftar != null) {
+            while (daftar.hasNext()) {
+                Antrian a = daftar.next();
+                if (filter.cocok(a)) return a;
+            }
+            return null;
+        }
+
+        while (!sumber.isEmpty()) {
+            String line = sumber.peek().readLine();
+            if (line == null) {
+                sumber.poll().close();
+                continue;
+            }
+            Antrian a = olahBaris(line);
+            if (a != null) return a;
+        }
+
+        // snapshot habis: keluarkan antrian yang hanya ada di log
+        if (sisaLog == null) sisaLog = entriLog.entrySet().iterator();
+        while (sisaLog.hasNext()) {
+            Map.Entry<Integer, List<String>> entry = sisaLog.next();
+            if (idDiSnapshot.contains(entry.getKey())) continue;
+            Antrian a = buat(AntrianLog.terapkanBaris(null, entry.getValue()));
+            if (a != null) return a;
+        }
+        return null;
+    }
+
+    /**
+     * Mengolah satu baris snapshot: menerapkan log jika ID-nya tercatat di log,
+     * memeriksa filter, lalu membuat objek antrian jika cocok.
+     */
+    private Antrian olahBaris(String line) {
+        if (line.isEmpty()) return null;
+        if (entriLog.isEmpty()) {
+            return filter.cocokBaris(line, null) ? FileService.parseAntrian(line) : null;
+        }
+
+        int sep = line.indexOf(';');
+        if (sep <= 0) return null;
+        int id;
+        try {
+            id = Integer.parseInt(line.substring(0, sep));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        List<String> entri = entriLog.get(id);
+        if (entri == null) {
+            return filter.cocokBaris(line, null) ? FileService.parseAntrian(line) : null;
+        }
+
+        idDiSnapshot.add(id);
+        return buat(AntrianLog.terapkanBaris(line, entri));
+    }
+
+    /**
+     * Membuat antrian dari hasil {@link AntrianLog#terapkanBaris} jika cocok dengan filter.
+     */
+    private Antrian buat(String[] hasil) {
+        if (hasil == null || !filter.cocokBaris(hasil[0], hasil[1])) return null;
+        Antrian a = FileService.parseAntrian(hasil[0]);
+        if (a != null && hasil[1] != null) a.setStatus(hasil[1]);
+        return a;
+    }
+}
@@ -0,0 +1,218 @@
+package com.antrian.core.service;
+
+import com.antrian.core.model.Antrian;
+import com.antrian.core.model.Poli;
+import com.antrian.core.model.StatusAntrian;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Kelas {@code AntrianFilter} berisi kriteria penyaringan antrian yang dapat
+ * diperiksa langsung pada baris mentah file data, sebelum objek {@link Antrian}
+ * dibuat (predicate pushdown).
+ *
+ * <p>Kriteria yang tidak diisi berarti "semua". Contoh:</p>
+ * <pre>{@code
+ * AntrianFilter filter = AntrianFilter.semua()
+ *         .nikPembuat(Main.loggedInUser.getNik())
+ *         .status("Baru");
+ * List<Antrian> milikPasien = FileService.cariAntrian(filter);
+ * }</pre>
+ *
+ * <p>Pemeriksaan baris mentah memakai posisi field sesuai format
+ * {@link Antrian#toString()} dan membandingkan teks di tempat tanpa memecah
+ * baris. Timestamp dibandingkan sebagai teks ISO-8601, yang urutan
+ * leksikografisnya sama dengan urutan waktunya.</p>
+ *
+ * @author
+ *  Sulistyo Fajar Pratama,
+ *  Dinda Diyah Arifa,
+ *  Musthofa Agung Distyawan
+ * @version 1.0
+ * @since 2025
+ */
+public final class AntrianFilter {
+
+    /** Posisi field pada baris data antrian. */
+    private static final int FIELD_NIK_PEMBUAT = 1;
+    private static final int FIELD_POLI = 6;
+    private static final int FIELD_STATUS = 8;
+    private static final int FIELD_TIMESTAMP = 9;
+
+    private String nikPembuat;
+    private String poli;
+    private String status;
+    /** Konstanta {@link #poli}/{@link #status}, atau {@code null} jika teksnya tidak dikenal. */
+    private Poli poliKode;
+    private StatusAntrian statusKode;
+    private LocalDateTime dari;
+    private LocalDateTime sampai;
+    /** Batas waktu dalam format teks yang sama dengan file data. */
+    private String dariTeks;
+    private String sampaiTeks;
+
+    private AntrianFilter() {
+    }
+
+    /** @return filter baru tanpa kriteria (semua antrian cocok) */
+    public static AntrianFilter semua() {
+        return new AntrianFilter();
+    }
+
+    /**
+     * @param nikPembuat NIK pembuat antrian, atau {@code null} untuk semua
+     * @return filter ini
+     */
+    public AntrianFilter nikPembuat(String nikPembuat) {
+        this.nikPembuat = nikPembuat;
+        return this;
+    }
+
+    /**
+     * @param poli nama poli, atau {@code null} untuk semua
+     * @return filter ini
+     */
+    public AntrianFilter poli(String poli) {
+        this.poli = poli;
+        this.poliKode = Poli.dariLabel(poli);
+        return this;
+    }
+
+    /**
+     * @param poli poli, atau {@code null} untuk semua
+     * @return filter ini
+     */
+    public AntrianFilter poli(Poli poli) {
+        return poli(poli == null ? null : poli.getLabel());
+    }
+
+    /**
+     * @param status status antrian, atau {@code null} untuk semua
+     * @return filter ini
+     */
+    public AntrianFilter status(String status) {
+        this.status = status;
+        this.statusKode = StatusAntrian.dariLabel(status);
+        return this;
+    }
+
+    /**
+     * @param status status antrian, atau {@code null} untuk semua
+     * @return filter ini
+     */
+    public AntrianFilter status(StatusAntrian status) {
+        return status(status == null ? null : status.getLabel());
+    }
+
+    /**
+     * Membatasi timestamp antrian ke rentang {@code [dari, sampai]}.
+     *
+     * @param dari batas awal (inklusif), atau {@code null} tanpa batas awal
+     * @param sampai batas akhir (inklusif), atau {@code null} tanpa batas akhir
+     * @return filter ini
+     */
+    public AntrianFilter rentangWaktu(LocalDateTime dari, LocalDateTime sampai) {
+        this.dari = dari;
+        this.sampai = sampai;
+        this.dariTeks = dari == null ? null : dari.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        this.sampaiTeks = sampai == null ? null : sampai.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        return this;
+    }
+
+    /** @return batas awal waktu, atau {@code null} */
+    public LocalDateTime getDari() { return dari; }
+
+    /** @return batas akhir waktu, atau {@code null} */
+    public LocalDateTime getSampai() { return sampai; }
+
+    /**
+     * Memeriksa satu objek antrian terhadap seluruh kriteria.
+     *
+     * @param antrian antrian yang diperiksa
+     * @return {@code true} jika antrian memenuhi filter
+     */
+    public boolean cocok(Antrian antrian) {
+        if (nikPembuat != null && !nikPembuat.equals(antrian.getNikPembuat())) return false;
+        if (poli != null && (poliKode != null ? antrian.getPoliAntrian() != poliKode
+                : !poli.equals(antrian.getPoli()))) return false;
+        if (status != null && (statusKode != null ? antrian.getStatusAntrian() != statusKode
+                : !status.equals(antrian.getStatus()))) return false;
+        if (dari != null && antrian.getTimestamp().isBefore(dari)) return false;
+        return sampai == null || !antrian.getTimestamp().isAfter(sampai);
+    }
+
+    /**
+     * Memeriksa baris data mentah tanpa membuat objek antrian.
+     *
+     * @param baris baris data berformat {@link Antrian#toString()}
+     * @param statusAkhir status hasil log mutasi, atau {@code null} jika status
+     *                    di baris masih berlaku
+     * @return {@code true} jika baris memenuhi filter
+     */
+    boolean cocokBaris(String baris, String statusAkhir) {
+        if (nikPembuat != null && !fieldSama(baris, FIELD_NIK_PEMBUAT, nikPembuat)) return false;
+        if (poli != null && !fieldSama(baris, FIELD_POLI, poli)) return false;
+        if (status != null) {
+            boolean cocok = statusAkhir != null ? status.equals(statusAkhir) : fieldSama(baris, FIELD_STATUS, status);
+            if (!cocok) return false;
+        }
+        if (dariTeks != null || sampaiTeks != null) {
+            int awal = awalField(baris, FIELD_TIMESTAMP);
+            if (awal < 0) return false;
+            int akhir = akhirField(baris, awal);
+            if (dariTeks != null && bandingkan(baris, awal, akhir, dariTeks) < 0) return false;
+            if (sampaiTeks != null && bandingkan(baris, awal, akhir, sampaiTeks) > 0) return false;
+        }
+        return true;
+    }
+
+    /** @return {@code true} jika tidak ada kriteria sama sekali */
+    boolean kosong() {
+        return nikPembuat == null && poli == null && status == null && dari == null && sampai == null;
+    }
+
+    // ===========================
+    // ==== UTILITIES ============
+    // ===========================
+
+    /**
+     * Membandingkan isi field ke-{@code index} dengan teks tertentu tanpa memotong baris.
+     */
+    private static boolean fieldSama(String baris, int index, String nilai) {
+        int awal = awalField(baris, index);
+        if (awal < 0) return false;
+        int akhir = akhirField(baris, awal);
+        return akhir - awal == nilai.length() && baris.regionMatches(awal, nilai, 0, nilai.length());
+    }
+
+    /**
+     * @return posisi karakter pertama field ke-{@code index}, atau -1 jika baris terlalu pendek
+     */
+    private static int awalField(String baris, int index) {
+        int pos = 0;
+        for (int i = 0; i < index; i++) {
+            pos = baris.indexOf(';', pos);
+            if (pos < 0) return -1;
+            pos++;
+        }
+        return pos;
+    }
+
+    private static int akhirField(String baris, int awal) {
+        int akhir = baris.indexOf(';', awal);
+        return akhir < 0 ? baris.length() : akhir;
+    }
+
+    /**
+     * Membandingkan potongan {@code baris[awal, akhir)} dengan {@code teks} secara leksikografis.
+     */
+    private static int bandingkan(String baris, int awal, int akhir, String teks) {
+        int n = Math.min(akhir - awal, teks.length());
+        for (int i = 0; i < n; i++) {
+            int beda = baris.charAt(awal + i) - teks.charAt(i);
+            if (beda != 0) return beda;
+        }
+        return (akhir - awal) - teks.length();
+    }
+}
@@ -0,0 +1,134 @@
+package com.antrian.core.service;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * Kelas {@code AntrianIdAllocator} membagikan nomor ID antrian baru tanpa
+ * harus membaca seluruh riwayat antrian.
+ *
+ * <p>ID terakhir yang pernah dibagikan disimpan di file sequence kecil
+ * (misal: {@code antrian.seq}). Setiap pemanggilan {@link #next()} membaca nilai
+ * di file, menaikkannya, dan menulisnya kembali di bawah satu kunci eksklusif
+ * {@link SharedFileLock}, sehingga beberapa thread maupun beberapa proses (misal
+ * beberapa kiosk) yang membuat antrian bersamaan tidak pernah mendapatkan ID
+ * yang sama. Allocator sengaja tidak menyimpan counter di memori: nilai di file
+ * selalu menjadi satu-satunya sumber, sehingga reset oleh proses lain langsung
+ * berlaku.</p>
+ *
+ * <p>File sequence hanya dibuat dari data antrian ketika file tersebut belum
+ * ada atau rusak (misal saat pertama kali aplikasi diperbarui).</p>
+ *
+ * <p>Urutan kunci: kunci sequence selalu diambil sebelum kunci data antrian.
+ * {@link SumberIdAwal} dan aksi pembersihan {@link #reset(SharedFileLock.Aksi)}
+ * boleh mengambil kunci data antrian, tetapi kode yang memegang kunci data
+ * antrian tidak boleh memanggil {@link #next()}.</p>
+ *
+ * @author
+ *  Sulistyo Fajar Pratama,
+ *  Dinda Diyah Arifa,
+ *  Musthofa Agung Distyawan
+ * @version 1.0
+ * @since 2025
+ */
+public class AntrianIdAllocator {
+
+    /**
+     * Sumber ID terakhir yang dipakai ketika file sequence belum ada.
+     */
+    @FunctionalInterface
+    public interface SumberIdAwal {
+        /**
+         * @return ID antrian terbesar yang sudah tersimpan, atau 0 jika belum ada
+         * @throws IOException jika data antrian tidak dapat dibaca
+         */
+        int idTerakhir() throws IOException;
+    }
+
+    /** Path file sequence. */
+    private final String seqFile;
+    /** Kunci antar-proses untuk file sequence. */
+    private final SharedFileLock kunci;
+    /** Sumber ID awal jika file sequence belum ada. */
+    private final SumberIdAwal sumberAwal;
+
+    /**
+     * Membuat allocator ID antrian.
+     *
+     * @param seqFile path file sequence (misal: "antrian.seq")
+     * @param kunci kunci antar-proses untuk file sequence
+     * @param sumberAwal sumber ID terakhir jika file sequence belum ada
+     */
+    public AntrianIdAllocator(String seqFile, SharedFileLock kunci, SumberIdAwal sumberAwal) {
+        this.seqFile = seqFile;
+        this.kunci = kunci;
+        this.sumberAwal = sumberAwal;
+    }
+
+    /**
+     * Mengambil ID antrian berikutnya dan langsung mencadangkannya.
+     * ID yang sudah dibagikan tidak akan dibagikan lagi meskipun antriannya
+     * batal disimpan.
+     *
+     * @return ID antrian baru
+     * @throws IOException jika file sequence tidak dapat dibaca atau ditulis
+     */
+    public int next() throws IOException {
+        return kunci.tulis(() -> {
+            int id = idTerakhir() + 1;
+            tulis(id);
+            return id;
+        });
+    }
+
+    /**
+     * Menjalankan pembersihan data antrian lalu mengembalikan sequence ke nol,
+     * keduanya di bawah kunci sequence yang sama dengan {@link #next()}. Tidak ada
+     * ID yang dibagikan di antara data dihapus dan sequence direset, sehingga
+     * antrian yang dibuat sesudahnya tidak bentrok dengan ID lama.
+     *
+     * @param bersihkan aksi yang menghapus data antrian
+     * @throws IOException jika pembersihan gagal atau file sequence tidak dapat ditulis
+     */
+    public void reset(SharedFileLock.Aksi<?> bersihkan) throws IOException {
+        kunci.tulis(() -> {
+            bersihkan.jalankan();
+            tulis(0);
+            return null;
+        });
+    }
+
+    /**
+     * Membaca ID terakhir dari file sequence, atau dari data antrian jika file
+     * belum ada atau rusak. Hanya dipanggil di bawah kunci sequence.
+     *
+     * @return ID terakhir yang sudah dibagikan
+     * @throws IOException jika gagal membaca sumber ID
+     */
+    private int idTerakhir() throws IOException {
+        File file = new File(seqFile);
+        if (!file.exists() || file.length() == 0) {
+            return sumberAwal.idTerakhir();
+        }
+        String isi = new String(Files.readAllBytes(Paths.get(seqFile)), StandardCharsets.UTF_8).trim();
+        try {
+            return Integer.parseInt(isi);
+        } catch (NumberFormatException e) {
+            System.err.println("[WARN] File sequence rusak, dibangun ulang dari data antrian.");
+            return sumberAwal.idTerakhir();
+        }
+    }
+
+    /**
+     * Menulis nilai terakhir ke file sequence.
+     *
+     * @param value nilai yang disimpan
+     * @throws IOException jika gagal menulis file
+     */
+    private void tulis(int value) throws IOException {
+        // atomik: setelah crash file sequence berisi nilai lama atau baru, tidak pernah kosong
+        AtomicFileWriter.write(Paths.get(seqFile), String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+    }
+}
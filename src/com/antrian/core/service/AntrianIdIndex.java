@@ -0,0 +1,395 @@
+package com.antrian.core.service;
+
+import com.antrian.core.model.Antrian;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Kelas {@code AntrianIdIndex} adalah indeks primer di disk yang memetakan
+ * ID antrian ke posisi byte barisnya di snapshot teks {@code antrian.txt}.
+ *
+ * <p>Struktur file indeks ({@code antrian.idx}) menyerupai B+tree dua tingkat:</p>
+ * <pre>
+ * header : magic "ANTI" (int), versi (short), ukuran snapshot (long),
+ *          waktu modifikasi snapshot (long), jumlah entri (int)
+ * fence  : ID pertama dari setiap halaman (int per halaman)
+ * daun   : entri (id int, offset long) terurut berdasarkan ID,
+ *          dikelompokkan per halaman berisi {@value #ENTRIES_PER_PAGE} entri
+ * </pre>
+ *
+ * <p>Fence key cukup kecil untuk disimpan di memori. Pencarian satu ID cukup
+ * melakukan binary search pada fence, membaca satu halaman daun (sekitar 4 KB),
+ * lalu membaca satu baris di snapshot. Pencarian rentang ID membaca halaman
+ * daun secara berurutan mulai dari halaman pertama yang relevan.</p>
+ *
+ * <p>Indeks dianggap basi jika ukuran atau waktu modifikasi snapshot berbeda
+ * dengan yang tercatat di header, atau jika baris pada offset yang ditunjuk
+ * ternyata bukan milik ID yang dicari. Indeks yang hilang atau basi dibangun
+ * ulang otomatis dengan satu kali pemindaian snapshot.</p>
+ *
+ * @author
+ *  Sulistyo Fajar Pratama,
+ *  Dinda Diyah Arifa,
+ *  Musthofa Agung Distyawan
+ * @version 1.0
+ * @since 2025
+ */
+public final class AntrianIdIndex {
+
+    /** Penanda awal file indeks. */
+    private static final int MAGIC = 0x414E5449; // "ANTI"
+    /** Versi format file indeks. */
+    private static final short VERSION = 1;
+    /** Ukuran header dalam byte. */
+    private static final int HEADER_SIZE = 4 + 2 + 8 + 8 + 4;
+    /** Ukuran satu entri daun: ID (int) + offset (long). */
+    private static final int ENTRY_SIZE = 4 + 8;
+    /** Jumlah entri per halaman daun (sekitar 4 KB). */
+    static final int ENTRIES_PER_PAGE = 4096 / ENTRY_SIZE;
+
+    /** Snapshot teks yang diindeks. */
+    private final Path dataFile;
+    /** File indeks. */
+    private final Path indexFile;
+
+    /** Fence key yang sedang dimuat, atau {@code null} jika belum dimuat. */
+    private int[] fence;
+    private int count;
+    private long snapshotSize;
+    private long snapshotModified;
+
+    /**
+     * Membuat indeks untuk snapshot teks tertentu.
+     *
+     * @param dataFile snapshot teks (misal: "antrian.txt")
+     * @param indexFile file indeks (misal: "antrian.idx")
+     */
+    public AntrianIdIndex(Path dataFile, Path indexFile) {
+        this.dataFile = dataFile;
+        this.indexFile = indexFile;
+    }
+
+    // ===========================
+    // ==== PENCARIAN ============
+    // ===========================
+
+    /**
+     * Mencari antrian di snapshot berdasarkan ID.
+     *
+     * @param id ID antrian
+     * @return antrian pada snapshot, atau {@code null} jika tidak ada
+     * @throws IOException jika snapshot atau indeks tidak dapat dibaca
+     */
+    public synchronized Antrian cari(int id) throws IOException {
+        for (int percobaan = 0; percobaan < 2; percobaan++) {
+            if (!siapkan()) return null;
+
+            long offset = cariOffset(id);
+            if (offset < 0) return null;
+
+            Antrian a = bacaBaris(offset);
+            if (a != null && a.getId() == id) return a;
+            // offset tidak cocok: indeks basi meskipun atribut file sama
+            bangunUlang();
+        }
+        return null;
+    }
+
+    /**
+     * Mencari antrian di snapshot dengan ID dalam rentang {@code [dari, sampai]}.
+     *
+     * @param dari ID awal (inklusif)
+     * @param sampai ID akhir (inklusif)
+     * @return daftar antrian terurut berdasarkan ID
+     * @throws IOException jika snapshot atau indeks tidak dapat dibaca
+     */
+    public synchronized List<Antrian> cariRentang(int dari, int sampai) throws IOException {
+        List<Antrian> result = new ArrayList<>();
+        if (dari > sampai || !siapkan() || count == 0) return result;
+
+        try (FileChannel idx = FileChannel.open(indexFile, StandardOpenOption.READ);
+             FileChannel data = FileChannel.open(dataFile, StandardOpenOption.READ)) {
+            int page = Math.max(0, halamanUntuk(dari));
+            for (; page < fence.length && fence[page] <= sampai; page++) {
+                ByteBuffer buf = bacaHalaman(idx, page);
+                while (buf.hasRemaining()) {
+                    int id = buf.getInt();
+                    long offset = buf.getLong();
+                    if (id < dari) continue;
+                    if (id > sampai) return result;
+                    Antrian a = bacaBaris(data, offset);
+                    if (a != null && a.getId() == id) result.add(a);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Mencari offset baris untuk satu ID lewat fence key dan satu halaman daun.
+     *
+     * @return offset baris, atau -1 jika ID tidak ada di indeks
+     */
+    private long cariOffset(int id) throws IOException {
+        int page = halamanUntuk(id);
+        if (page < 0) return -1;
+
+        try (FileChannel idx = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+            long found = cariDiHalaman(bacaHalaman(idx, page), id);
+            if (found < 0 && page + 1 < fence.length && fence[page + 1] == id) {
+                // ID tepat sama dengan kunci pertama halaman berikutnya
+                found = cariDiHalaman(bacaHalaman(idx, page + 1), id);
+            }
+            return found;
+        }
+    }
+
+    /**
+     * Binary search di dalam satu halaman daun.
+     *
+     * @return offset kemunculan pertama {@code id}, atau -1 jika tidak ada
+     */
+    private static long cariDiHalaman(ByteBuffer buf, int id) {
+        int lo = 0;
+        int hi = buf.remaining() / ENTRY_SIZE - 1;
+        long found = -1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int key = buf.getInt(mid * ENTRY_SIZE);
+            if (key < id) {
+                lo = mid + 1;
+            } else {
+                if (key == id) found = buf.getLong(mid * ENTRY_SIZE + 4);
+                hi = mid - 1; // cari kemunculan pertama
+            }
+        }
+        return found;
+    }
+
+    /**
+     * @return halaman terakhir yang fence key-nya lebih kecil dari {@code id}
+     *         (atau halaman 0 jika kuncinya sama), atau -1 jika {@code id} lebih
+     *         kecil dari semua kunci
+     */
+    private int halamanUntuk(int id) {
+        if (fence.length == 0 || fence[0] > id) return -1;
+        int lo = 0;
+        int hi = fence.length - 1;
+        int result = 0;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (fence[mid] < id) {
+                result = mid;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return result;
+    }
+
+    private ByteBuffer bacaHalaman(FileChannel idx, int page) throws IOException {
+        int first = page * ENTRIES_PER_PAGE;
+        int n = Math.min(ENTRIES_PER_PAGE, count - first);
+        ByteBuffer buf = ByteBuffer.allocate(n * ENTRY_SIZE);
+        long position = HEADER_SIZE + (long) fence.length * 4 + (long) first * ENTRY_SIZE;
+        while (buf.hasRemaining() && idx.read(buf, position + buf.position()) > 0) {
+            // baca sampai penuh
+        }
+        buf.flip();
+        return buf;
+    }
+
+    private Antrian bacaBaris(long offset) throws IOException {
+        try (FileChannel data = FileChannel.open(dataFile, StandardOpenOption.READ)) {
+            return bacaBaris(data, offset);
+        }
+    }
+
+    /**
+     * Membaca satu baris snapshot mulai dari {@code offset} sampai newline.
+     */
+    private static Antrian bacaBaris(FileChannel data, long offset) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream(256);
+        ByteBuffer buf = ByteBuffer.allocate(512);
+        long position = offset;
+        while (true) {
+            buf.clear();
+            int n = data.read(buf, position);
+            if (n <= 0) break;
+            byte[] arr = buf.array();
+            int end = -1;
+            for (int i = 0; i < n; i++) {
+                if (arr[i] == '\n') {
+                    end = i;
+                    break;
+                }
+            }
+            if (end >= 0) {
+                line.write(arr, 0, end);
+                break;
+            }
+            line.write(arr, 0, n);
+            position += n;
+        }
+        String text = line.toString(StandardCharsets.UTF_8);
+        if (text.endsWith("\r")) text = text.substring(0, text.length() - 1);
+        return FileService.parseAntrian(text);
+    }
+
+    // ===========================
+    // ==== PEMBANGUNAN ULANG ====
+    // ===========================
+
+    /**
+     * Memastikan indeks yang dimuat sesuai dengan snapshot saat ini, membangun
+     * ulang jika file indeks hilang atau basi.
+     *
+     * @return {@code false} jika snapshot belum ada
+     */
+    private boolean siapkan() throws IOException {
+        BasicFileAttributes attr;
+        try {
+            attr = Files.readAttributes(dataFile, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            fence = null;
+            return false;
+        }
+        long size = attr.size();
+        long modified = attr.lastModifiedTime().toMillis();
+
+        if (fence != null && snapshotSize == size && snapshotModified == modified) return true;
+        if (muat() && snapshotSize == size && snapshotModified == modified) return true;
+
+        bangunUlang();
+        return true;
+    }
+
+    /**
+     * Memuat header dan fence key dari file indeks.
+     *
+     * @return {@code true} jika file indeks ada dan formatnya valid
+     */
+    private boolean muat() throws IOException {
+        fence = null;
+        if (!Files.exists(indexFile)) return false;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+            if (in.readInt() != MAGIC || in.readShort() != VERSION) return false;
+            long size = in.readLong();
+            long modified = in.readLong();
+            int n = in.readInt();
+            int pages = (n + ENTRIES_PER_PAGE - 1) / ENTRIES_PER_PAGE;
+            int[] keys = new int[pages];
+            for (int i = 0; i < pages; i++) keys[i] = in.readInt();
+
+            snapshotSize = size;
+            snapshotModified = modified;
+            count = n;
+            fence = keys;
+            return true;
+        } catch (EOFException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Memindai snapshot dan menulis ulang file indeks secara atomik.
+     *
+     * @throws IOException jika snapshot tidak dapat dibaca atau indeks tidak dapat ditulis
+     */
+    public synchronized void bangunUlang() throws IOException {
+        BasicFileAttributes attr = Files.readAttributes(dataFile, BasicFileAttributes.class);
+        long size = attr.size();
+        long modified = attr.lastModifiedTime().toMillis();
+
+        // pindai snapshot: catat ID dan offset awal setiap baris
+        int[] ids = new int[1024];
+        long[] offsets = new long[1024];
+        int n = 0;
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(dataFile), 1 << 16)) {
+            long position = 0;
+            long lineStart = 0;
+            boolean awalBaris = true;
+            boolean valid = false;
+            boolean negatif = false;
+            long id = 0;
+            int b;
+            while ((b = in.read()) >= 0) {
+                if (awalBaris) {
+                    lineStart = position;
+                    awalBaris = false;
+                    valid = true;
+                    negatif = b == '-';
+                    id = 0;
+                    if (negatif) {
+                        position++;
+                        continue;
+                    }
+                }
+                if (b == '\n') {
+                    awalBaris = true;
+                    valid = false;
+                } else if (valid) {
+                    if (b == ';') {
+                        if (n == ids.length) {
+                            ids = Arrays.copyOf(ids, n * 2);
+                            offsets = Arrays.copyOf(offsets, n * 2);
+                        }
+                        ids[n] = (int) (negatif ? -id : id);
+                        offsets[n] = lineStart;
+                        n++;
+                        valid = false;
+                    } else if (b >= '0' && b <= '9' && id <= Integer.MAX_VALUE) {
+                        id = id * 10 + (b - '0');
+                    } else {
+                        valid = false; // baris rusak tidak diindeks
+                    }
+                }
+                position++;
+            }
+        }
+
+        // urutkan berdasarkan ID lalu urutan baris: ID di 32 bit atas, nomor baris di 32 bit bawah
+        long[] order = new long[n];
+        for (int i = 0; i < n; i++) order[i] = ((long) ids[i] << 32) | i;
+        Arrays.sort(order);
+
+        final int total = n;
+        final long[] keyOffsets = offsets;
+        int pages = (total + ENTRIES_PER_PAGE - 1) / ENTRIES_PER_PAGE;
+        int[] keys = new int[pages];
+        for (int p = 0; p < pages; p++) keys[p] = (int) (order[p * ENTRIES_PER_PAGE] >> 32);
+
+        AtomicFileWriter.write(indexFile, stream -> {
+            DataOutputStream out = new DataOutputStream(stream);
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeLong(size);
+            out.writeLong(modified);
+            out.writeInt(total);
+            for (int key : keys) out.writeInt(key);
+            for (int i = 0; i < total; i++) {
+                out.writeInt((int) (order[i] >> 32));
+                out.writeLong(keyOffsets[(int) order[i]]);
+            }
+            out.flush();
+        });
+
+        snapshotSize = size;
+        snapshotModified = modified;
+        count = total;
+        fence = keys;
+    }
+}
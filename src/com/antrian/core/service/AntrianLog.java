@@ -0,0 +1,733 @@
+package com.antrian.core.service;
+
+import com.antrian.core.model.Antrian;
+import com.antrian.core.model.AntrianTable;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.IntPredicate;
+
+/**
+ * Kelas {@code AntrianLog} adalah log mutasi (write-ahead log) untuk data antrian.
+ *
+ * <p>Setiap perubahan antrian dicatat sebagai satu baris yang ditambahkan di akhir
+ * file log, sehingga perubahan status atau penghapusan tidak perlu menulis ulang
+ * seluruh {@code antrian.txt}. Saat data dimuat, isi snapshot dibaca lalu log
+ * diputar ulang (replay) di atasnya untuk mendapatkan keadaan terbaru.</p>
+ *
+ * <p>Format baris log:</p>
+ * <pre>
+ * CREATE;&lt;baris antrian seperti Antrian.toString()&gt;
+ * STATUS_CHANGE;&lt;id&gt;;&lt;status baru&gt;
+ * DELETE;&lt;id&gt;
+ * </pre>
+ *
+ * <p>Replay bersifat idempoten: CREATE untuk ID yang sudah ada diabaikan, sehingga
+ * log yang belum sempat dikosongkan setelah checkpoint tidak menggandakan data.
+ * CREATE yang isinya berbeda dari antrian dengan ID tersebut (selain status, yang
+ * boleh sudah diubah log) berarti ID dibagikan dua kali; entri itu ditolak dan
+ * dilaporkan sebagai peringatan, antrian yang lebih dulu tercatat dipertahankan.</p>
+ *
+ * @author
+ *  Sulistyo Fajar Pratama,
+ *  Dinda Diyah Arifa,
+ *  Musthofa Agung Distyawan
+ * @version 1.0
+ * @since 2025
+ */
+public class AntrianLog {
+
+    /** Jenis operasi yang dicatat di log. */
+    public enum Operasi { CREATE, STATUS_CHANGE, DELETE }
+
+    /** ID terbesar yang dicatat di bitmap ID dirujuk (bitmap paling besar 8 MB). */
+    private static final int BATAS_ID_BITSET = 1 << 26;
+
+    /** Path file log. */
+    private final String logFile;
+    /** Baris-baris yang menunggu ditulis oleh group commit berikutnya. */
+    private final ConcurrentLinkedQueue<Permintaan> antrean = new ConcurrentLinkedQueue<>();
+    /** Entri bersyarat yang ditunda ke batch berikutnya; hanya diakses di bawah monitor log. */
+    private final List<Permintaan> tertunda = new ArrayList<>();
+    /**
+     * ID yang ditulis batch-batch terakhir proses ini, per versi yang dihasilkan
+     * batch tersebut; hanya diakses di bawah monitor log.
+     */
+    private final TreeMap<Long, Set<Integer>> batchLokal = new TreeMap<>();
+    /** Jumlah batch terakhir yang diingat di {@link #batchLokal}. */
+    private static final int BATAS_BATCH_LOKAL = 256;
+    /** Statistik group commit: jumlah fsync dan jumlah entri yang ditulis. */
+    private long jumlahCommit;
+    private long jumlahEntri;
+
+    /** Kunci antar-proses untuk data antrian; setiap batch log menaikkan versinya sekali. */
+    private final SharedFileLock kunci;
+
+    /**
+     * Membuat log mutasi yang ditulis ke file tertentu, dengan file kunci
+     * {@code <logFile>.lock}.
+     *
+     * @param logFile path file log (misal: "antrian.log")
+     */
+    public AntrianLog(String logFile) {
+        this(logFile, new SharedFileLock(Paths.get(logFile + ".lock")));
+    }
+
+    /**
+     * Membuat log mutasi yang ditulis ke file tertentu.
+     *
+     * @param logFile path file log (misal: "antrian.log")
+     * @param kunci kunci antar-proses yang melindungi data antrian
+     */
+    public AntrianLog(String logFile, SharedFileLock kunci) {
+        this.logFile = logFile;
+        this.kunci = kunci;
+    }
+
+    // ===========================
+    // ==== PENCATATAN ===========
+    // ===========================
+
+    /**
+     * Syarat sebuah entri log, diperiksa oleh pemegang kunci log tepat sebelum
+     * batch ditulis (di dalam kunci eksklusif {@link SharedFileLock}).
+     */
+    @FunctionalInterface
+    public interface Syarat {
+        /**
+         * @param versi versi data antrian saat batch ditulis
+         * @return {@code true} jika entri boleh ditulis
+         * @throws IOException jika pemeriksaan gagal membaca file; hanya entri ini yang gagal
+         */
+        boolean terpenuhi(long versi) throws IOException;
+    }
+
+    /**
+     * Membuat syarat optimistic concurrency untuk entri yang menyangkut satu ID:
+     * terpenuhi jika versi data antrian masih {@code versiTerbaca}, atau jika
+     * seluruh kenaikan versi sejak itu berasal dari batch log proses ini yang
+     * tidak menyentuh ID tersebut. Dengan begitu perubahan bersamaan dari satu
+     * proses untuk antrian yang berbeda tidak saling membatalkan, sedangkan
+     * penulisan lain (proses lain, snapshot, checkpoint) tetap dianggap konflik.
+     *
+     * @param versiTerbaca versi data antrian saat antrian divalidasi
+     * @param id ID antrian yang diubah
+     * @return syarat untuk {@link #catatStatus(int, String, Syarat)} atau {@link #catatHapus(int, Syarat)}
+     */
+    public Syarat tanpaKonflik(long versiTerbaca, int id) {
+        return versi -> {
+            if (versi == versiTerbaca) return true;
+            // dipanggil leader di bawah monitor log
+            for (long v = versiTerbaca + 1; v <= versi; v++) {
+                Set<Integer> ids = batchLokal.get(v);
+                if (ids == null || ids.contains(id)) return false;
+            }
+            return true;
+        };
+    }
+
+    /**
+     * Mencatat pembuatan antrian baru.
+     *
+     * @param antrian antrian yang dibuat
+     * @throws IOException jika gagal menulis ke log
+     */
+    public void catatCreate(Antrian antrian) throws IOException {
+        tulis(Operasi.CREATE + ";" + antrian.toString(), antrian.getId(), null);
+    }
+
+    /**
+     * Mencatat perubahan status sebuah antrian.
+     *
+     * @param id ID antrian
+     * @param status status baru
+     * @throws IOException jika gagal menulis ke log
+     */
+    public void catatStatus(int id, String status) throws IOException {
+        catatStatus(id, status, null);
+    }
+
+    /**
+     * Mencatat perubahan status sebuah antrian jika syaratnya terpenuhi saat ditulis.
+     *
+     * @param id ID antrian
+     * @param status status baru
+     * @param syarat syarat entri, atau {@code null} jika selalu ditulis
+     * @return {@code true} jika entri ditulis, {@code false} jika syarat tidak terpenuhi
+     * @throws IOException jika gagal menulis ke log
+     */
+    public boolean catatStatus(int id, String status, Syarat syarat) throws IOException {
+        return tulis(Operasi.STATUS_CHANGE + ";" + id + ";" + status, id, syarat);
+    }
+
+    /**
+     * Mencatat penghapusan sebuah antrian.
+     *
+     * @param id ID antrian yang dihapus
+     * @throws IOException jika gagal menulis ke log
+     */
+    public void catatHapus(int id) throws IOException {
+        catatHapus(id, null);
+    }
+
+    /**
+     * Mencatat penghapusan sebuah antrian jika syaratnya terpenuhi saat ditulis.
+     *
+     * @param id ID antrian yang dihapus
+     * @param syarat syarat entri, atau {@code null} jika selalu ditulis
+     * @return {@code true} jika entri ditulis, {@code false} jika syarat tidak terpenuhi
+     * @throws IOException jika gagal menulis ke log
+     */
+    public boolean catatHapus(int id, Syarat syarat) throws IOException {
+        return tulis(Operasi.DELETE + ";" + id, id, syarat);
+    }
+
+    /**
+     * Menambahkan satu baris ke akhir file log dan menunggu sampai baris tersebut
+     * tersimpan di disk ({@code fsync}).
+     *
+     * <p>Penulisan memakai group commit: setiap pemanggil memasukkan barisnya ke
+     * antrean tanpa memegang kunci apa pun, lalu menunggu giliran memegang monitor
+     * log. Hanya pemegang monitor yang barisnya belum tertulis (leader) yang
+     * mengambil kunci eksklusif {@link SharedFileLock}; leader menulis
+     * <em>seluruh</em> isi antrean sekaligus, melakukan satu {@code fsync}, dan
+     * menaikkan versi data antrian satu kali untuk seluruh batch. Pemanggil lain
+     * yang barisnya sudah ikut tertulis langsung kembali tanpa {@code fsync} dan
+     * tanpa mengambil kunci. N perubahan status yang datang bersamaan cukup dibayar
+     * dengan satu {@code fsync} log dan satu {@code fsync} versi.</p>
+     *
+     * <p>Syarat setiap entri diperiksa leader di dalam kunci eksklusif, sebelum
+     * batch ditulis. Jika beberapa entri bersyarat dalam satu batch menyangkut ID
+     * yang sama, hanya yang pertama diperiksa; sisanya ditunda ke batch berikutnya
+     * sehingga syaratnya melihat hasil entri sebelumnya.</p>
+     *
+     * <p>Jika batch gagal sebelum selesai ditulis (kunci tidak dapat diambil atau
+     * pemeriksaan syarat gagal tak terduga), seluruh entri batch yang belum selesai
+     * ditandai gagal, sehingga setiap pemanggilnya menerima {@link IOException}.</p>
+     *
+     * <p>Urutan kunci: monitor log selalu diambil sebelum kunci {@link SharedFileLock}.
+     * Karena itu method ini tidak boleh dipanggil sambil memegang kunci data antrian.</p>
+     *
+     * @param baris isi baris log
+     * @param id ID antrian yang diubah entri ini
+     * @param syarat syarat entri, atau {@code null}
+     * @return {@code true} jika entri ditulis, {@code false} jika syarat tidak terpenuhi
+     * @throws IOException jika gagal menulis ke log
+     */
+    private boolean tulis(String baris, int id, Syarat syarat) throws IOException {
+        Permintaan permintaan = new Permintaan(baris, id, syarat);
+        antrean.add(permintaan);
+
+        synchronized (this) {
+            while (!permintaan.selesai) {
+                commitAntrean();
+            }
+        }
+        if (permintaan.gagal != null) {
+            throw new IOException("Gagal menulis log antrian", permintaan.gagal);
+        }
+        return !permintaan.ditolak;
+    }
+
+    /**
+     * Menulis seluruh baris yang sedang menunggu di antrean dengan satu {@code fsync},
+     * lalu menaikkan versi data antrian satu kali. Hanya dipanggil oleh pemegang
+     * monitor log.
+     */
+    private void commitAntrean() throws IOException {
+        List<Permintaan> batch = new ArrayList<>(tertunda);
+        tertunda.clear();
+        Permintaan p;
+        while ((p = antrean.poll()) != null) {
+            batch.add(p);
+        }
+        if (batch.isEmpty()) return;
+
+        try {
+            tulisBatch(batch);
+        } catch (IOException e) {
+            gagalkan(batch, e);
+            throw e;
+        } catch (RuntimeException | Error e) {
+            gagalkan(batch, new IOException("Gagal menulis log antrian", e));
+            throw e;
+        }
+    }
+
+    /**
+     * Menandai setiap entri batch yang belum selesai sebagai gagal, termasuk yang
+     * sudah dipindah ke {@link #tertunda}. Tanpa ini pemanggil lain yang entrinya
+     * ikut diambil leader akan menunggu selamanya.
+     */
+    private void gagalkan(List<Permintaan> batch, IOException error) {
+        tertunda.clear();
+        for (Permintaan x : batch) {
+            if (!x.selesai) {
+                x.gagal = error;
+                x.selesai = true;
+            }
+        }
+    }
+
+    /**
+     * Memeriksa syarat, menulis, dan mencatat satu batch di dalam kunci eksklusif
+     * {@link SharedFileLock}. Entri bersyarat yang ditunda dimasukkan ke {@link #tertunda}.
+     */
+    private void tulisBatch(List<Permintaan> batch) throws IOException {
+        kunci.tulisBerversi(versi -> {
+            List<Permintaan> ditulis = new ArrayList<>(batch.size());
+            Set<Integer> idBersyarat = new HashSet<>();
+            for (Permintaan x : batch) {
+                if (x.syarat == null) {
+                    ditulis.add(x);
+                } else if (!idBersyarat.add(x.id)) {
+                    tertunda.add(x);
+                } else {
+                    try {
+                        if (x.syarat.terpenuhi(versi)) {
+                            ditulis.add(x);
+                        } else {
+                            x.ditolak = true;
+                            x.selesai = true;
+                        }
+                    } catch (IOException e) {
+                        x.gagal = e;
+                        x.selesai = true;
+                    } catch (RuntimeException e) {
+                        x.gagal = new IOException("Syarat entri log gagal diperiksa", e);
+                        x.selesai = true;
+                    }
+                }
+            }
+            if (ditulis.isEmpty()) return false;
+
+            IOException error = null;
+            try {
+                tulisBaris(ditulis);
+            } catch (IOException e) {
+                error = e;
+            }
+
+            Set<Integer> ids = new HashSet<>();
+            for (Permintaan x : ditulis) ids.add(x.id);
+            batchLokal.put(versi + 1, ids);
+            if (batchLokal.size() > BATAS_BATCH_LOKAL) batchLokal.pollFirstEntry();
+
+            jumlahCommit++;
+            jumlahEntri += ditulis.size();
+            for (Permintaan x : ditulis) {
+                x.gagal = error;
+                x.selesai = true;
+            }
+            // versi tetap dinaikkan meskipun gagal: sebagian baris mungkin sudah tertulis
+            return true;
+        });
+    }
+
+    /**
+     * Menambahkan baris-baris batch ke akhir file log dengan satu {@code fsync}.
+     */
+    private void tulisBaris(List<Permintaan> batch) throws IOException {
+        File file = new File(logFile);
+        File parentDir = file.getParentFile();
+        if (parentDir != null && !parentDir.exists()) parentDir.mkdirs();
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            StringBuilder sb = new StringBuilder();
+            for (Permintaan x : batch) {
+                sb.append(x.baris).append(System.lineSeparator());
+            }
+            ByteBuffer buf = ByteBuffer.wrap(sb.toString().getBytes(StandardCharsets.UTF_8));
+            while (buf.hasRemaining()) {
+                channel.write(buf);
+            }
+            channel.force(false);
+        }
+    }
+
+    /** @return jumlah {@code fsync} log yang sudah dilakukan sejak aplikasi berjalan */
+    public synchronized long getJumlahCommit() { return jumlahCommit; }
+
+    /** @return jumlah entri log yang sudah ditulis sejak aplikasi berjalan */
+    public synchronized long getJumlahEntri() { return jumlahEntri; }
+
+    /**
+     * Satu baris log yang menunggu ditulis oleh group commit.
+     * Field {@code selesai}, {@code ditolak}, dan {@code gagal} hanya diakses di bawah monitor log.
+     */
+    private static final class Permintaan {
+        final String baris;
+        final int id;
+        final Syarat syarat;
+        boolean selesai;
+        boolean ditolak;
+        IOException gagal;
+
+        Permintaan(String baris, int id, Syarat syarat) {
+            this.baris = baris;
+            this.id = id;
+            this.syarat = syarat;
+        }
+    }
+
+    // ===========================
+    // ==== REPLAY ===============
+    // ===========================
+
+    /**
+     * Hasil pembacaan log: baris-baris lengkap beserta jumlah byte yang dicakupnya.
+     */
+    public static final class BacaanLog {
+        /** Baris log lengkap sesuai urutan penulisan. */
+        public final List<String> baris;
+        /** Jumlah byte di awal file yang sudah tercakup oleh {@link #baris}. */
+        public final long panjangByte;
+
+        BacaanLog(List<String> baris, long panjangByte) {
+            this.baris = baris;
+            this.panjangByte = panjangByte;
+        }
+    }
+
+    /**
+     * Membaca seluruh baris lengkap di log. Baris terakhir yang belum diakhiri
+     * newline (sedang ditulis) tidak ikut dibaca.
+     *
+     * @return isi log beserta panjang byte yang dibaca
+     * @throws IOException jika file log tidak dapat dibaca
+     */
+    public BacaanLog baca() throws IOException {
+        return kunci.baca(this::bacaTanpaKunci);
+    }
+
+    private BacaanLog bacaTanpaKunci() throws IOException {
+        File file = new File(logFile);
+        List<String> lines = new ArrayList<>();
+        if (!file.exists() || file.length() == 0) return new BacaanLog(lines, 0);
+
+        byte[] data = Files.readAllBytes(Paths.get(logFile));
+        int lineStart = 0;
+        for (int i = 0; i < data.length; i++) {
+            if (data[i] == '\n') {
+                int end = (i > lineStart && data[i - 1] == '\r') ? i - 1 : i;
+                lines.add(new String(data, lineStart, end - lineStart, StandardCharsets.UTF_8));
+                lineStart = i + 1;
+            }
+        }
+        return new BacaanLog(lines, lineStart);
+    }
+
+    /**
+     * Memutar ulang seluruh isi log di atas daftar antrian hasil snapshot.
+     * Daftar diubah langsung (in-place).
+     *
+     * @param antrianList daftar antrian dari snapshot
+     * @return jumlah entri log yang diputar ulang
+     * @throws IOException jika file log tidak dapat dibaca
+     */
+    public int replay(List<Antrian> antrianList) throws IOException {
+        return terapkan(antrianList, baca().baris);
+    }
+
+    /**
+     * Menyaring baris log yang menyangkut ID tertentu saja. Semua jenis entri
+     * menyimpan ID sebagai field pertama setelah nama operasi.
+     *
+     * @param lines baris-baris log
+     * @param idCocok penentu ID yang dipertahankan
+     * @return baris log untuk ID yang cocok, urutannya tetap
+     */
+    static List<String> saring(List<String> lines, IntPredicate idCocok) {
+        List<String> result = new ArrayList<>();
+        for (String line : lines) {
+            int sep = line.indexOf(';');
+            if (sep < 0) continue;
+            int end = line.indexOf(';', sep + 1);
+            try {
+                int id = Integer.parseInt(line.substring(sep + 1, end < 0 ? line.length() : end).trim());
+                if (idCocok.test(id)) result.add(line);
+            } catch (NumberFormatException e) {
+                // entri rusak diabaikan, sama seperti saat replay
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Menerapkan sekumpulan baris log ke daftar antrian.
+     *
+     * @param antrianList daftar antrian yang akan diubah
+     * @param lines baris-baris log sesuai urutan penulisan
+     * @return jumlah entri yang valid
+     */
+    static int terapkan(List<Antrian> antrianList, List<String> lines) {
+        return terapkan(antrianList, lines, null);
+    }
+
+    /**
+     * Menerapkan sekumpulan baris log ke daftar antrian sambil memperbarui
+     * indeks NIK daftar tersebut: antrian baru dicatat langsung, dan indeks
+     * diisi ulang jika ada antrian yang dihapus.
+     *
+     * @param antrianList daftar antrian yang akan diubah
+     * @param lines baris-baris log sesuai urutan penulisan
+     * @param indeksNik indeks NIK untuk {@code antrianList}, atau {@code null}
+     * @return jumlah entri yang valid
+     */
+    static int terapkan(List<Antrian> antrianList, List<String> lines, AntrianNikIndex indeksNik) {
+        Map<Integer, Antrian> byId = petakanIdDirujuk(antrianList, lines);
+        Set<Integer> deleted = new HashSet<>();
+        boolean adaDihapus = false;
+        int count = 0;
+
+        for (String line : lines) {
+            if (line.trim().isEmpty()) continue;
+            int sep = line.indexOf(';');
+            if (sep < 0) continue;
+
+            Operasi op;
+            try {
+                op = Operasi.valueOf(line.substring(0, sep));
+            } catch (IllegalArgumentException e) {
+                System.err.println("[WARN] Entri log tidak dikenal: " + line);
+                continue;
+            }
+            String isi = line.substring(sep + 1);
+
+            try {
+                switch (op) {
+                    case CREATE -> {
+                        Antrian a = FileService.parseAntrian(isi);
+                        if (a == null) continue;
+                        if (deleted.remove(a.getId())) {
+                            // ID dipakai ulang setelah dihapus: buang versi lama lebih dulu
+                            antrianList.removeIf(x -> x.getId() == a.getId());
+                            byId.remove(a.getId());
+                            adaDihapus = true;
+                        }
+                        Antrian lama = byId.get(a.getId());
+                        if (lama != null) {
+                            if (!samaKecualiStatus(lama, a)) laporkanIdGanda(line);
+                        } else {
+                            antrianList.add(a);
+                            // yang disimpan adalah elemen di daftar: AntrianTable menyalin isi antrian
+                            byId.put(a.getId(), antrianList.get(antrianList.size() - 1));
+                            if (indeksNik != null && !adaDihapus) indeksNik.tambah(a, antrianList.size() - 1);
+                        }
+                    }
+                    case STATUS_CHANGE -> {
+                        int sep2 = isi.indexOf(';');
+                        int id = Integer.parseInt(isi.substring(0, sep2));
+                        Antrian a = byId.get(id);
+                        if (a != null) a.setStatus(isi.substring(sep2 + 1));
+                    }
+                    case DELETE -> {
+                        int id = Integer.parseInt(isi.trim());
+                        if (byId.remove(id) != null) deleted.add(id);
+                    }
+                }
+                count++;
+            } catch (RuntimeException e) {
+                System.err.println("[WARN] Gagal memutar ulang entri log: " + line);
+            }
+        }
+
+        if (!deleted.isEmpty()) {
+            antrianList.removeIf(a -> deleted.contains(a.getId()));
+            adaDihapus = true;
+        }
+        // penghapusan menggeser posisi: indeks dicatat ulang sekali di akhir
+        if (indeksNik != null && adaDihapus) indeksNik.isiUlang(antrianList);
+        return count;
+    }
+
+    /**
+     * Memetakan ID ke antrian hanya untuk ID yang disebut di baris log, sehingga
+     * menerapkan beberapa entri baru (refresh inkremental) tidak membangun peta
+     * untuk seluruh riwayat. Pada {@link AntrianTable} ID dibaca langsung dari
+     * kolomnya tanpa membuat tampilan untuk setiap baris.
+     *
+     * @param antrianList daftar antrian
+     * @param lines baris-baris log
+     * @return antrian pertama untuk setiap ID yang disebut log
+     */
+    private static Map<Integer, Antrian> petakanIdDirujuk(List<Antrian> antrianList, List<String> lines) {
+        BitSet dirujuk = new BitSet();
+        boolean semua = false;
+        for (String line : saring(lines, id -> true)) {
+            int sep = line.indexOf(';');
+            int end = line.indexOf(';', sep + 1);
+            int id = Integer.parseInt(line.substring(sep + 1, end < 0 ? line.length() : end).trim());
+            // ID di luar rentang wajar (entri rusak): petakan seluruh daftar seperti biasa
+            if (id < 0 || id > BATAS_ID_BITSET) semua = true;
+            else dirujuk.set(id);
+        }
+
+        Map<Integer, Antrian> byId = new HashMap<>();
+        if (dirujuk.isEmpty() && !semua) return byId;
+        if (antrianList instanceof AntrianTable && !semua) {
+            AntrianTable tabel = (AntrianTable) antrianList;
+            for (int i = 0; i < tabel.size(); i++) {
+                int id = tabel.getId(i);
+                if (id >= 0 && dirujuk.get(id)) byId.putIfAbsent(id, tabel.get(i));
+            }
+            return byId;
+        }
+        for (Antrian a : antrianList) {
+            int id = a.getId();
+            if (semua || (id >= 0 && dirujuk.get(id))) byId.putIfAbsent(id, a);
+        }
+        return byId;
+    }
+
+    /**
+     * Mengelompokkan baris log berdasarkan ID antrian. Urutan entri untuk setiap
+     * ID tetap, dan ID diurutkan sesuai kemunculan pertamanya di log.
+     *
+     * @param lines baris-baris log sesuai urutan penulisan
+     * @return entri log per ID
+     */
+    static Map<Integer, List<String>> kelompokkanPerId(List<String> lines) {
+        Map<Integer, List<String>> result = new LinkedHashMap<>();
+        for (String line : saring(lines, id -> true)) {
+            int sep = line.indexOf(';');
+            int end = line.indexOf(';', sep + 1);
+            int id = Integer.parseInt(line.substring(sep + 1, end < 0 ? line.length() : end).trim());
+            result.computeIfAbsent(id, k -> new ArrayList<>()).add(line);
+        }
+        return result;
+    }
+
+    /**
+     * Menerapkan entri log untuk satu ID pada satu baris snapshot tanpa membuat
+     * objek {@link Antrian}, dengan aturan yang sama seperti {@link #terapkan}.
+     *
+     * @param baris baris snapshot untuk ID tersebut, atau {@code null} jika ID tidak ada di snapshot
+     * @param entri entri log untuk ID tersebut sesuai urutan penulisan
+     * @return {@code {baris akhir, status akhir}} (status {@code null} jika tidak
+     *         diubah log), atau {@code null} jika antrian tidak ada setelah log diterapkan
+     */
+    static String[] terapkanBaris(String baris, List<String> entri) {
+        boolean ada = baris != null;
+        boolean dihapus = false;
+        String status = null;
+
+        for (String line : entri) {
+            int sep = line.indexOf(';');
+            String isi = line.substring(sep + 1);
+            try {
+                switch (Operasi.valueOf(line.substring(0, sep))) {
+                    case CREATE -> {
+                        if (dihapus || !ada) {
+                            baris = isi;
+                            status = null;
+                            ada = true;
+                            dihapus = false;
+                        } else {
+                            Antrian lama = FileService.parseAntrian(baris);
+                            Antrian baru = FileService.parseAntrian(isi);
+                            if (lama != null && baru != null && !samaKecualiStatus(lama, baru)) {
+                                laporkanIdGanda(line);
+                            }
+                        }
+                    }
+                    case STATUS_CHANGE -> {
+                        if (ada) status = isi.substring(isi.indexOf(';') + 1);
+                    }
+                    case DELETE -> {
+                        if (ada) {
+                            ada = false;
+                            dihapus = true;
+                        }
+                    }
+                }
+            } catch (IllegalArgumentException e) {
+                // entri tidak dikenal diabaikan, sama seperti saat replay
+            }
+        }
+        return ada ? new String[] { baris, status } : null;
+    }
+
+    /**
+     * Membandingkan dua antrian dengan ID yang sama tanpa field status, yang
+     * boleh sudah diubah log setelah antrian dibuat.
+     *
+     * @return {@code true} jika keduanya berisi antrian yang sama
+     */
+    private static boolean samaKecualiStatus(Antrian a, Antrian b) {
+        return Objects.equals(a.getNikPembuat(), b.getNikPembuat())
+                && Objects.equals(a.getNikPasien(), b.getNikPasien())
+                && Objects.equals(a.getNamaPasien(), b.getNamaPasien())
+                && Objects.equals(a.getAlamatPasien(), b.getAlamatPasien())
+                && Objects.equals(a.getNoTeleponPasien(), b.getNoTeleponPasien())
+                && Objects.equals(a.getPoli(), b.getPoli())
+                && Objects.equals(a.getKeluhan(), b.getKeluhan())
+                && Objects.equals(a.getTimestamp(), b.getTimestamp());
+    }
+
+    private static void laporkanIdGanda(String line) {
+        System.err.println("[WARN] CREATE ditolak, ID sudah dipakai antrian lain: " + line);
+    }
+
+    /**
+     * Mengosongkan file log, biasanya setelah snapshot baru ditulis (checkpoint).
+     *
+     * @throws IOException jika gagal mengosongkan file
+     */
+    public void kosongkan() throws IOException {
+        // kunci eksklusif saja sudah menyingkirkan leader group commit; monitor log
+        // tidak diambil di sini karena leader mengambilnya sebelum kunci
+        kunci.tulis(() -> {
+            File file = new File(logFile);
+            if (file.exists()) {
+                new FileWriter(file, false).close();
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Membuang sejumlah byte di awal log yang isinya sudah tercakup di snapshot,
+     * sambil mempertahankan entri yang ditambahkan setelah log dibaca. Karena
+     * penulisan entri juga memegang kunci yang sama, tidak ada entri yang hilang.
+     *
+     * @param panjangByte jumlah byte awal yang dibuang (dari {@link BacaanLog#panjangByte})
+     * @throws IOException jika gagal menulis ulang log
+     */
+    public void buangAwal(long panjangByte) throws IOException {
+        Path path = Paths.get(logFile);
+        if (panjangByte <= 0 || !Files.exists(path)) return;
+
+        kunci.tulis(() -> {
+            byte[] data = Files.readAllBytes(path);
+            if (panjangByte >= data.length) {
+                new FileWriter(path.toFile(), false).close();
+            } else {
+                AtomicFileWriter.write(path, Arrays.copyOfRange(data, (int) panjangByte, data.length));
+            }
+            return null;
+        });
+    }
+
+    /** @return path file log */
+    public String getLogFile() { return logFile; }
+}
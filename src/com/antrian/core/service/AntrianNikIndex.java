@@ -0,0 +1,155 @@
+package com.antrian.core.service;
+
+import com.antrian.core.model.Antrian;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Kelas {@code AntrianNikIndex} berisi multimap dari NIK pembuat dan NIK pasien
+ * ke posisi antrian di satu daftar, sehingga antrian milik satu pasien dapat
+ * diambil dengan biaya sebanding dengan jumlah antrian pasien tersebut, bukan
+ * panjang seluruh riwayat.
+ *
+ * <p>Yang disimpan adalah posisi ({@code int}), bukan objek {@link Antrian},
+ * agar indeks tetap kecil untuk riwayat yang panjang. Antrian baru di akhir
+ * daftar cukup ditambahkan dengan {@link #tambah(Antrian, int)}; karena
+ * penghapusan menggeser posisi, setelah penghapusan indeks diisi ulang dengan
+ * {@link #isiUlang(List)}. Penghapusan jauh lebih jarang daripada antrian baru.</p>
+ *
+ * <p>Contoh penggunaan:</p>
+ * <pre>{@code
+ * AntrianNikIndex indeks = AntrianNikIndex.bangun(daftar);
+ * List<Antrian> milikSaya = indeks.cariPembuat(daftar, Main.loggedInUser.getNik());
+ * }</pre>
+ *
+ * <p>Tidak thread-safe; di {@link AntrianRepository} hanya diakses di bawah kunci repository.</p>
+ *
+ * @author
+ *  Sulistyo Fajar Pratama,
+ *  Dinda Diyah Arifa,
+ *  Musthofa Agung Distyawan
+ * @version 1.0
+ * @since 2025
+ */
+public final class AntrianNikIndex {
+
+    /** Posisi antrian (terurut naik) per NIK pembuat. */
+    private final Map<String, DaftarPosisi> perPembuat = new HashMap<>();
+    /** Posisi antrian (terurut naik) per NIK pasien. */
+    private final Map<String, DaftarPosisi> perPasien = new HashMap<>();
+
+    private AntrianNikIndex() {
+    }
+
+    /**
+     * Membangun indeks untuk daftar antrian.
+     *
+     * @param antrianList daftar antrian
+     * @return indeks baru
+     */
+    public static AntrianNikIndex bangun(List<? extends Antrian> antrianList) {
+        AntrianNikIndex indeks = new AntrianNikIndex();
+        indeks.isiUlang(antrianList);
+        return indeks;
+    }
+
+    /**
+     * Mencatat antrian yang baru ditambahkan di posisi {@code posisi}. Posisi
+     * harus lebih besar dari semua posisi yang sudah dicatat.
+     *
+     * @param antrian antrian yang ditambahkan
+     * @param posisi posisi antrian di daftar
+     */
+    void tambah(Antrian antrian, int posisi) {
+        String pembuat = antrian.getNikPembuat();
+        String pasien = antrian.getNikPasien();
+        if (pembuat != null) perPembuat.computeIfAbsent(pembuat, k -> new DaftarPosisi()).tambah(posisi);
+        if (pasien != null) perPasien.computeIfAbsent(pasien, k -> new DaftarPosisi()).tambah(posisi);
+    }
+
+    /**
+     * Mengosongkan indeks lalu mencatat ulang seluruh daftar, misal setelah
+     * penghapusan menggeser posisi antrian.
+     *
+     * @param antrianList daftar antrian
+     */
+    void isiUlang(List<? extends Antrian> antrianList) {
+        perPembuat.clear();
+        perPasien.clear();
+        for (int i = 0; i < antrianList.size(); i++) {
+            tambah(antrianList.get(i), i);
+        }
+    }
+
+    /**
+     * Mengambil antrian yang dibuat oleh pengguna dengan NIK tertentu.
+     *
+     * @param antrianList daftar yang diindeks
+     * @param nik NIK pembuat
+     * @return daftar baru berisi antrian yang cocok, sesuai urutan di daftar
+     */
+    public List<Antrian> cariPembuat(List<? extends Antrian> antrianList, String nik) {
+        return ambil(antrianList, perPembuat.get(nik));
+    }
+
+    /**
+     * Mengambil antrian untuk pasien dengan NIK tertentu.
+     *
+     * @param antrianList daftar yang diindeks
+     * @param nik NIK pasien
+     * @return daftar baru berisi antrian yang cocok, sesuai urutan di daftar
+     */
+    public List<Antrian> cariPasien(List<? extends Antrian> antrianList, String nik) {
+        return ambil(antrianList, perPasien.get(nik));
+    }
+
+    /**
+     * @param nik NIK pembuat
+     * @return jumlah antrian yang dibuat oleh pengguna tersebut
+     */
+    public int jumlahPembuat(String nik) {
+        DaftarPosisi posisi = perPembuat.get(nik);
+        return posisi == null ? 0 : posisi.jumlah;
+    }
+
+    /**
+     * @param nik NIK pembuat
+     * @return bitmap baru berisi posisi antrian yang dibuat oleh pengguna tersebut
+     */
+    public BitSet posisiPembuat(String nik) {
+        BitSet hasil = new BitSet();
+        DaftarPosisi posisi = perPembuat.get(nik);
+        if (posisi != null) {
+            for (int i = 0; i < posisi.jumlah; i++) hasil.set(posisi.isi[i]);
+        }
+        return hasil;
+    }
+
+    private static List<Antrian> ambil(List<? extends Antrian> antrianList, DaftarPosisi posisi) {
+        if (posisi == null) return new ArrayList<>();
+        List<Antrian> hasil = new ArrayList<>(posisi.jumlah);
+        for (int i = 0; i < posisi.jumlah; i++) {
+            hasil.add(antrianList.get(posisi.isi[i]));
+        }
+        return hasil;
+    }
+
+    /**
+     * Daftar posisi terurut naik. Kapasitas awalnya kecil karena satu pasien
+     * umumnya hanya memiliki sedikit antrian.
+     */
+    private static final class DaftarPosisi {
+        private int[] isi = new int[2];
+        private int jumlah;
+
+        void tambah(int posisi) {
+            if (jumlah == isi.length) isi = Arrays.copyOf(isi, jumlah * 2);
+            isi[jumlah++] = posisi;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.antrian.core.service;
+
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntPredicate;
+
+/**
+ * Kelas {@code AntrianParalel} menjalankan penyaringan per antrian secara
+ * paralel dengan fork/join, jika jumlah antrian yang diperiksa mencapai ambang
+ * tertentu. Di bawah ambang, penyaringan berjalan berurutan di thread pemanggil
+ * karena biaya membagi pekerjaan lebih besar daripada hasilnya.
+ *
+ * <p>Bitmap kandidat dibagi menjadi potongan sepanjang kelipatan 64 posisi (satu
+ * {@code long}), sehingga setiap tugas hanya menulis ke bagian array miliknya
+ * sendiri. Hasil akhirnya selalu sama dengan penyaringan berurutan, tidak
+ * bergantung pada jumlah thread atau urutan tugas selesai.</p>
+ *
+ * <p>Ambang dibaca dari system property {@code antrian.paralel.ambang} (jumlah
+ * kandidat, bawaan {@value #AMBANG_BAWAAN}), dan dapat diubah dengan
+ * {@link #setAmbang(int)}. Nilai {@link Integer#MAX_VALUE} mematikan paralelisme.</p>
+ *
+ * <p>Contoh penggunaan:</p>
+ * <pre>{@code
+ * AntrianParalel.saring(kandidat, i -> namaNormal[i].contains(q));
+ * }</pre>
+ *
+ * @author
+ *  Sulistyo Fajar Pratama,
+ *  Dinda Diyah Arifa,
+ *  Musthofa Agung Distyawan
+ * @version 1.0
+ * @since 2025
+ */
+public final class AntrianParalel {
+
+    /**
+     * Ambang bawaan, dalam jumlah kandidat. Nilai ini sementara: baru diukur pada
+     * mesin satu CPU, tempat overhead fork/join hilang di antara 10 ribu dan 50
+     * ribu kandidat. Karena titik impas di mesin multi-core belum diukur, nilainya
+     * sengaja dibuat tinggi sehingga ukuran data biasa tetap berjalan berurutan.
+     * Ukur ulang dengan {@code com.antrian.benchmark.BenchmarkParalel} dan atur
+     * {@code -Dantrian.paralel.ambang} sesuai hasilnya.
+     */
+    public static final int AMBANG_BAWAAN = 200_000;
+
+    /** Ukuran potongan terkecil untuk satu tugas, dalam jumlah {@code long} (64 posisi per {@code long}). */
+    private static final int POTONGAN_KATA = 256;
+
+    private static volatile int ambang = Integer.getInteger("antrian.paralel.ambang", AMBANG_BAWAAN);
+
+    private AntrianParalel() {
+    }
+
+    /** @return ambang jumlah kandidat untuk eksekusi paralel */
+    public static int getAmbang() {
+        return ambang;
+    }
+
+    /**
+     * @param ambangBaru jumlah kandidat minimum untuk eksekusi paralel;
+     *                   {@link Integer#MAX_VALUE} untuk selalu berurutan
+     */
+    public static void setAmbang(int ambangBaru) {
+        ambang = Math.max(0, ambangBaru);
+    }
+
+    /**
+     * @param jumlah jumlah antrian/kandidat yang akan diproses
+     * @return {@code true} jika pekerjaan sebesar itu dijalankan paralel
+     */
+    public static boolean paralel(int jumlah) {
+        return jumlah >= ambang && ForkJoinPool.getCommonPoolParallelism() > 1;
+    }
+
+    /**
+     * Menyaring bitmap kandidat di tempat: posisi yang tidak memenuhi
+     * {@code cocok} dimatikan. {@code cocok} dapat dipanggil dari beberapa
+     * thread sekaligus, sehingga hanya boleh membaca data bersama.
+     *
+     * @param kandidat bitmap posisi yang diperiksa
+     * @param cocok syarat untuk setiap posisi
+     */
+    public static void saring(BitSet kandidat, IntPredicate cocok) {
+        if (!paralel(kandidat.cardinality())) {
+            for (int i = kandidat.nextSetBit(0); i >= 0; i = kandidat.nextSetBit(i + 1)) {
+                if (!cocok.test(i)) kandidat.clear(i);
+            }
+            return;
+        }
+
+        long[] kata = kandidat.toLongArray();
+        ForkJoinPool.commonPool().invoke(new SaringPotongan(kata, 0, kata.length, cocok));
+        kandidat.clear();
+        kandidat.or(BitSet.valueOf(kata));
+    }
+
+    /**
+     * Menjalankan beberapa pekerjaan independen (misal pembangunan indeks yang
+     * berbeda) secara paralel jika {@code jumlah} mencapai ambang, atau
+     * berurutan jika tidak.
+     *
+     * @param jumlah ukuran data yang diproses setiap pekerjaan
+     * @param pekerjaan pekerjaan yang dijalankan
+     */
+    public static void jalankan(int jumlah, Runnable... pekerjaan) {
+        if (!paralel(jumlah)) {
+            for (Runnable p : pekerjaan) p.run();
+            return;
+        }
+        ForkJoinTask<?>[] tugas = new ForkJoinTask<?>[pekerjaan.length];
+        for (int i = 0; i < pekerjaan.length; i++) tugas[i] = ForkJoinTask.adapt(pekerjaan[i]);
+        ForkJoinTask.invokeAll(tugas);
+    }
+
+    /**
+     * Tugas fork/join untuk rentang {@code [dari, sampai)} dari array kata bitmap.
+     * Setiap tugas hanya mengubah kata di rentangnya sendiri.
+     */
+    private static final class SaringPotongan extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        // Tugas hanya hidup selama satu invoke di common pool dan tidak pernah
+        // diserialisasi; array kata dan predikat tidak ikut diserialisasi.
+        private final transient long[] kata;
+        private final int dari;
+        private final int sampai;
+        private final transient IntPredicate cocok;
+
+        SaringPotongan(long[] kata, int dari, int sampai, IntPredicate cocok) {
+            this.kata = kata;
+            this.dari = dari;
+            this.sampai = sampai;
+            this.cocok = cocok;
+        }
+
+        @Override
+        protected void compute() {
+            if (sampai - dari > POTONGAN_KATA) {
+                int tengah = (dari + sampai) >>> 1;
+                invokeAll(new SaringPotongan(kata, dari, tengah, cocok),
+                        new SaringPotongan(kata, tengah, sampai, cocok));
+                return;
+            }
+            for (int k = dari; k < sampai; k++) {
+                long w = kata[k];
+                while (w != 0) {
+                    long bit = w & -w;
+                    if (!cocok.test(k * 64 + Long.numberOfTrailingZeros(w))) kata[k] &= ~bit;
+                    w ^= bit;
+                }
+            }
+        }
+    }
+}
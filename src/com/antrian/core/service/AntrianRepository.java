@@ -0,0 +1,316 @@
+package com.antrian.core.service;
+
+import com.antrian.core.model.Antrian;
+import com.antrian.core.model.AntrianTable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Kelas {@code AntrianRepository} menyimpan hasil parse data antrian di memori
+ * dan hanya memuat ulang file jika isinya benar-benar berubah.
+ *
+ * <p>Setiap kali {@link #refresh()} dipanggil (misal dari auto-refresh dashboard
+ * setiap 5 detik), repository hanya membaca atribut file (ukuran dan waktu
+ * modifikasi) dari snapshot dan log mutasi. Jika keduanya sama seperti saat
+ * terakhir dimuat, data di cache langsung dipakai tanpa parse ulang.</p>
+ *
+ * <p>Antrian baru, perubahan status, dan penghapusan ditambahkan di akhir log
+ * mutasi. Jika hanya log yang bertambah, {@link FileTailReader} membaca byte
+ * barunya saja dan entri tersebut diterapkan langsung ke cache, sehingga biaya
+ * refresh sebanding dengan jumlah perubahan baru, bukan panjang riwayat. Setelah
+ * {@code FileService.CHECKPOINT_THRESHOLD} entri, cache dimuat ulang penuh dan
+ * snapshot ditulis ulang dari hasilnya (checkpoint), sehingga log tidak tumbuh
+ * terus.</p>
+ *
+ * <p>Jika atribut snapshot berubah, sidik jari isi file (CRC32) dihitung lebih dulu;
+ * file yang hanya "disentuh" tanpa perubahan isi tidak memicu parse ulang.
+ * Karena resolusi waktu modifikasi di beberapa sistem file cukup kasar, file
+ * yang berubah kurang dari {@value #RACY_WINDOW_MILLIS} ms sebelum atributnya
+ * dicatat selalu diverifikasi ulang dengan sidik jari.</p>
+ *
+ * <p>Cache disimpan sebagai {@link AntrianTable} (kolom array primitif dan string
+ * yang dipakai bersama), bukan satu objek {@link Antrian} per baris, sehingga data
+ * yang menetap di memori di antara refresh jauh lebih kecil. Saat dimuat ulang,
+ * antrian dibaca satu per satu lewat {@link AntrianCursor} dan langsung disalin
+ * ke tabel.</p>
+ *
+ * <p>Repository juga menjaga {@link AntrianNikIndex} untuk cache, diperbarui
+ * bersamaan dengan penerapan log, sehingga dashboard pasien cukup mengambil
+ * antrian miliknya lewat {@link #getByNikPembuat(String)} tanpa menyaring
+ * seluruh riwayat.</p>
+ *
+ * @author
+ *  Sulistyo Fajar Pratama,
+ *  Dinda Diyah Arifa,
+ *  Musthofa Agung Distyawan
+ * @version 1.0
+ * @since 2025
+ */
+public final class AntrianRepository {
+
+    /** Rentang waktu di mana waktu modifikasi file belum bisa dipercaya sepenuhnya. */
+    private static final long RACY_WINDOW_MILLIS = 2000;
+
+    private static final AntrianRepository INSTANCE = new AntrianRepository();
+
+    /** Data antrian hasil parse terakhir. */
+    private AntrianTable cache;
+    /** Indeks NIK pembuat/pasien untuk {@link #cache}. */
+    private AntrianNikIndex indeksNik;
+    /** Keadaan snapshot pada saat cache dimuat. */
+    private FileState snapshotState;
+    /** Keadaan log mutasi pada saat terakhir diperiksa. */
+    private FileState logState;
+    /** Pembaca entri log yang ditambahkan sejak cache dimuat. */
+    private FileTailReader logTail;
+    /** Jumlah entri log yang diterapkan lewat tail sejak pemuatan penuh terakhir. */
+    private int tailedEntries;
+    /** Naik setiap kali isi cache berubah. */
+    private volatile long version;
+
+    private AntrianRepository() {
+    }
+
+    /** @return instance tunggal repository antrian */
+    public static AntrianRepository getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Memeriksa apakah file data berubah dan memperbarui cache jika perlu.
+     * <ul>
+     * <li>Tidak ada perubahan: biayanya hanya pembacaan atribut file.</li>
+     * <li>Hanya log mutasi yang bertambah: hanya byte baru yang dibaca dan diterapkan.</li>
+     * <li>Snapshot berubah atau log terpotong/ditulis ulang: seluruh data dimuat ulang.</li>
+     * </ul>
+     *
+     * @return {@code true} jika isi cache berubah
+     * @throws IOException jika file tidak dapat dibaca
+     */
+    public synchronized boolean refresh() throws IOException {
+        Path snapshot = FileService.antrianSnapshotFile();
+        Path log = FileService.antrianLogFile();
+        if (cache == null || !snapshot.equals(snapshotState.path) || !log.equals(logState.path)
+                || isSnapshotChanged(snapshot)) {
+            return reload(snapshot, log);
+        }
+
+        FileState currentLog = FileState.of(log, false);
+        if (currentLog.sameStat(logState) && !logState.isRacy()) {
+            return false;
+        }
+
+        // hanya log yang berubah: baca entri barunya saja
+        List<String> lines = logTail.readNewLines();
+        if (lines == null || tailedEntries + lines.size() >= FileService.CHECKPOINT_THRESHOLD) {
+            // log dikosongkan/ditulis ulang, atau sudah waktunya checkpoint
+            return reload(snapshot, log);
+        }
+        logState = currentLog;
+        if (lines.isEmpty()) {
+            return false;
+        }
+
+        tailedEntries += AntrianLog.terapkan(cache, lines, indeksNik);
+        version++;
+        return true;
+    }
+
+    /**
+     * Memuat ulang seluruh data antrian dari snapshot dan log mutasi.
+     */
+    private boolean reload(Path snapshot, Path log) throws IOException {
+        // keadaan file dicatat sebelum dibaca: perubahan selama parse akan terdeteksi berikutnya
+        FileState snapshotBefore = FileState.of(snapshot, true);
+        FileState logBefore = FileState.of(log, false);
+        long versi = FileService.getVersiAntrian();
+
+        AntrianTable loaded = new AntrianTable();
+        int entriLog;
+        try (AntrianCursor cursor = FileService.bukaCursor(AntrianFilter.semua())) {
+            cursor.forEachRemaining(loaded::add);
+            entriLog = cursor.getJumlahEntriLog();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        loaded.padatkan();
+
+        // entri log yang ditambahkan selama parse bisa terbaca dua kali; replay bersifat idempoten
+        FileTailReader tail = new FileTailReader(log);
+        tail.reset(logBefore.size);
+
+        // log sudah panjang: snapshot ditulis ulang dari tabel ini dan log dikosongkan.
+        // Keadaan file dicatat di dalam kunci checkpoint, sebelum proses lain sempat menulis.
+        FileState[] setelahCheckpoint = new FileState[2];
+        if (FileService.checkpointJikaPerlu(versi, loaded, entriLog, () -> {
+            setelahCheckpoint[0] = FileState.of(snapshot, true);
+            setelahCheckpoint[1] = FileState.of(log, false);
+            tail.reset(0);
+            return null;
+        })) {
+            snapshotBefore = setelahCheckpoint[0];
+            logBefore = setelahCheckpoint[1];
+        }
+
+        cache = loaded;
+        indeksNik = AntrianNikIndex.bangun(loaded);
+        snapshotState = snapshotBefore;
+        logState = logBefore;
+        logTail = tail;
+        tailedEntries = 0;
+        version++;
+        return true;
+    }
+
+    /**
+     * Mengambil seluruh antrian, memuat ulang dari file hanya jika berubah.
+     *
+     * @return salinan daftar antrian; elemennya tampilan {@link AntrianTable}
+     *         yang dipakai bersama dengan cache
+     * @throws IOException jika file tidak dapat dibaca
+     */
+    public synchronized List<Antrian> getAll() throws IOException {
+        refresh();
+        return new ArrayList<>(cache);
+    }
+
+    /**
+     * Mengambil antrian yang dibuat oleh pengguna dengan NIK tertentu, memuat
+     * ulang dari file hanya jika berubah. Biayanya sebanding dengan jumlah
+     * antrian pengguna tersebut.
+     *
+     * @param nik NIK pembuat
+     * @return daftar baru berisi antrian yang cocok, urut sesuai file data
+     * @throws IOException jika file tidak dapat dibaca
+     */
+    public synchronized List<Antrian> getByNikPembuat(String nik) throws IOException {
+        refresh();
+        return indeksNik.cariPembuat(cache, nik);
+    }
+
+    /**
+     * Mengambil antrian untuk pasien dengan NIK tertentu, memuat ulang dari
+     * file hanya jika berubah.
+     *
+     * @param nik NIK pasien
+     * @return daftar baru berisi antrian yang cocok, urut sesuai file data
+     * @throws IOException jika file tidak dapat dibaca
+     */
+    public synchronized List<Antrian> getByNikPasien(String nik) throws IOException {
+        refresh();
+        return indeksNik.cariPasien(cache, nik);
+    }
+
+    /**
+     * Memeriksa apakah antrian dengan ID tertentu ada, memuat ulang dari file
+     * hanya jika berubah. ID dicari dari baris terakhir karena antrian yang
+     * sedang diubah biasanya antrian terbaru.
+     *
+     * @param id ID antrian
+     * @return {@code true} jika antrian ada
+     * @throws IOException jika file tidak dapat dibaca
+     */
+    public synchronized boolean ada(int id) throws IOException {
+        refresh();
+        for (int i = cache.size() - 1; i >= 0; i--) {
+            if (cache.getId(i) == id) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Menandai cache sudah tidak berlaku sehingga pemanggilan berikutnya memuat ulang file.
+     */
+    public synchronized void invalidate() {
+        cache = null;
+    }
+
+    /** @return nomor versi cache, naik setiap kali isi cache berubah */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Membandingkan keadaan snapshot saat ini dengan keadaan ketika cache dimuat.
+     */
+    private boolean isSnapshotChanged(Path snapshot) throws IOException {
+        FileState current = FileState.of(snapshot, false);
+        if (current.sameStat(snapshotState) && !snapshotState.isRacy()) return false;
+
+        // atribut berubah atau belum bisa dipercaya: bandingkan isi
+        if (current.size != snapshotState.size) return true;
+        current = FileState.of(snapshot, true);
+        if (current.checksum != snapshotState.checksum) return true;
+
+        snapshotState = current;
+        return false;
+    }
+
+    /**
+     * Atribut satu file data pada satu titik waktu.
+     */
+    private static final class FileState {
+        private final Path path;
+        private final boolean exists;
+        private final long size;
+        private final long modified;
+        /** Waktu saat atribut dibaca. */
+        private final long statTime;
+        /** CRC32 isi file, atau -1 jika tidak dihitung. */
+        private final long checksum;
+
+        private FileState(Path path, boolean exists, long size, long modified, long checksum) {
+            this.path = path;
+            this.exists = exists;
+            this.size = size;
+            this.modified = modified;
+            this.statTime = System.currentTimeMillis();
+            this.checksum = checksum;
+        }
+
+        static FileState of(Path path, boolean withChecksum) throws IOException {
+            try {
+                BasicFileAttributes attr = Files.readAttributes(path, BasicFileAttributes.class);
+                return new FileState(path, true, attr.size(), attr.lastModifiedTime().toMillis(),
+                        withChecksum ? checksum(path) : -1);
+            } catch (NoSuchFileException e) {
+                return new FileState(path, false, 0, 0, 0);
+            }
+        }
+
+        /**
+         * File dianggap "racy" jika diubah terlalu dekat dengan saat atributnya dibaca,
+         * sehingga perubahan berikutnya bisa saja memiliki waktu modifikasi yang sama.
+         */
+        boolean isRacy() {
+            return exists && modified >= statTime - RACY_WINDOW_MILLIS;
+        }
+
+        boolean sameStat(FileState other) {
+            return exists == other.exists && size == other.size && modified == other.modified;
+        }
+
+        static long checksum(Path path) throws IOException {
+            CRC32 crc = new CRC32();
+            try (InputStream in = Files.newInputStream(path)) {
+                byte[] buf = new byte[1 << 16];
+                int n;
+                while ((n = in.read(buf)) > 0) {
+                    crc.update(buf, 0, n);
+                }
+            } catch (NoSuchFileException e) {
+                return 0;
+            }
+            return crc.getValue();
+        }
+    }
+}
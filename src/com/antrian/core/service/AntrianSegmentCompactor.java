@@ -0,0 +1,123 @@
+package com.antrian.core.service;
+
+import java.io.IOException;
+import java.time.YearMonth;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kelas {@code AntrianSegmentCompactor} menjalankan pemeliharaan segmen antrian
+ * di thread latar belakang, sehingga thread UI tidak pernah menunggu penulisan
+ * ulang data lama.
+ *
+ * <p>Setiap putaran pemadatan melakukan tiga hal:</p>
+ * <ol>
+ * <li>Menerapkan isi log mutasi ke segmen yang terdampak saja, lalu membuang
+ *     bagian log yang sudah tercakup ({@link AntrianLog#buangAwal(long)}).</li>
+ * <li>Menggabungkan segmen harian dari bulan yang sudah lewat menjadi segmen
+ *     bulanan ({@link AntrianSegmentStore#compact(YearMonth)}).</li>
+ * <li>Mengompresi segmen bulanan yang sudah lama menjadi arsip GZIP
+ *     ({@link AntrianSegmentStore#archive(YearMonth)}).</li>
+ * </ol>
+ *
+ * <p>Selama satu putaran berjalan, kunci eksklusif data antrian ({@link SharedFileLock})
+ * dipegang agar pembaca, termasuk proses lain, tidak melihat entri yang sudah
+ * pindah ke segmen tetapi belum dibuang dari log (atau sebaliknya).</p>
+ *
+ * @author
+ *  Sulistyo Fajar Pratama,
+ *  Dinda Diyah Arifa,
+ *  Musthofa Agung Distyawan
+ * @version 1.0
+ * @since 2025
+ */
+public final class AntrianSegmentCompactor {
+
+    /** Jeda antar pemadatan terjadwal (menit). */
+    private static final long INTERVAL_MINUTES = 10;
+
+    private final AntrianSegmentStore store;
+    private final AntrianLog log;
+    private final SharedFileLock kunci;
+    private ScheduledExecutorService executor;
+    private ScheduledFuture<?> pending;
+
+    /**
+     * Membuat pemadat untuk penyimpanan segmen dan log mutasi tertentu.
+     *
+     * @param store penyimpanan segmen
+     * @param log log mutasi antrian
+     * @param kunci kunci antar-proses yang melindungi segmen dan log
+     */
+    public AntrianSegmentCompactor(AntrianSegmentStore store, AntrianLog log, SharedFileLock kunci) {
+        this.store = store;
+        this.log = log;
+        this.kunci = kunci;
+    }
+
+    /**
+     * Menjalankan pemadatan berkala di thread daemon. Aman dipanggil berulang kali.
+     */
+    public synchronized void start() {
+        if (executor != null) return;
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "antrian-compactor");
+            t.setDaemon(true);
+            return t;
+        });
+        executor.scheduleWithFixedDelay(this::runSafely, INTERVAL_MINUTES, INTERVAL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Menghentikan pemadatan berkala. Putaran yang sedang berjalan dibiarkan selesai.
+     */
+    public synchronized void stop() {
+        if (executor == null) return;
+        executor.shutdown();
+        executor = null;
+        pending = null;
+    }
+
+    /**
+     * Meminta satu putaran pemadatan secepatnya di thread latar belakang.
+     * Permintaan yang datang saat putaran sebelumnya belum dimulai digabungkan.
+     */
+    public synchronized void request() {
+        start();
+        if (pending != null && !pending.isDone()) return;
+        pending = executor.schedule(this::runSafely, 0, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Menjalankan satu putaran pemadatan di thread pemanggil.
+     *
+     * @throws IOException jika gagal membaca atau menulis segmen maupun log
+     */
+    public void runOnce() throws IOException {
+        kunci.tulis(() -> {
+            AntrianLog.BacaanLog bacaan = log.baca();
+            store.applyLog(bacaan.baris);
+            log.buangAwal(bacaan.panjangByte);
+
+            int merged = store.compact(YearMonth.now());
+            if (merged > 0) {
+                System.out.println("[INFO] " + merged + " segmen harian antrian digabung ke segmen bulanan.");
+            }
+            int archived = store.archive(YearMonth.now());
+            if (archived > 0) {
+                System.out.println("[INFO] " + archived + " segmen bulanan antrian dipindahkan ke arsip terkompresi.");
+            }
+            return null;
+        });
+    }
+
+    private void runSafely() {
+        try {
+            runOnce();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("[WARN] Pemadatan segmen antrian gagal: " + e.getMessage());
+        }
+    }
+}
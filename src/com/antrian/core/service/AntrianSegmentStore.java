@@ -0,0 +1,588 @@
+package com.antrian.core.service;
+
+import com.antrian.core.model.Antrian;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Kelas {@code AntrianSegmentStore} menyimpan snapshot antrian dalam beberapa
+ * file segmen yang dipartisi berdasarkan tanggal {@link Antrian#getTimestamp()}.
+ *
+ * <p>Setiap segmen adalah file teks dengan format baris yang sama seperti
+ * {@code antrian.txt}. Nama file menentukan rentang waktunya:</p>
+ * <ul>
+ * <li>{@code yyyy-MM-dd.txt}: segmen harian, dipakai untuk data baru.</li>
+ * <li>{@code yyyy-MM.txt}: segmen bulanan, hasil penggabungan segmen harian
+ *     dari bulan yang sudah lewat oleh {@link #compact(YearMonth)}.</li>
+ * <li>{@code yyyy-MM.txt.gz}: arsip, yaitu segmen bulanan yang sudah lebih dari
+ *     {@value #ARSIP_SETELAH_BULAN} bulan berlalu dan dikompresi GZIP oleh
+ *     {@link #archive(YearMonth)}. Data lama beserta keluhannya jarang dibaca, sehingga
+ *     ruang disk lebih penting daripada biaya dekompresi saat dibaca.</li>
+ * </ul>
+ *
+ * <p>Arsip dibaca dan ditulis dengan cara yang sama seperti segmen biasa;
+ * isinya didekompresi sambil dibaca ({@link #openReader(Path)}) tanpa file sementara.</p>
+ *
+ * <p>Query dengan rentang waktu ({@link #read(LocalDate, LocalDate)}) hanya membuka
+ * segmen yang rentangnya beririsan, sehingga filter "Minggu Ini" atau
+ * "Bulan Ini" tidak perlu membaca riwayat bertahun-tahun.</p>
+ *
+ * <p>Setiap perubahan isi segmen menaikkan angka di file penanda {@code .versi},
+ * sehingga {@link AntrianRepository} cukup memantau satu file untuk mendeteksi
+ * perubahan.</p>
+ *
+ * <p>Kelas ini tidak mengunci apa pun sendiri; pemanggil ({@link FileService} dan
+ * {@link AntrianSegmentCompactor}) mengoordinasikan akses lewat {@link SharedFileLock}.</p>
+ *
+ * @author
+ *  Sulistyo Fajar Pratama,
+ *  Dinda Diyah Arifa,
+ *  Musthofa Agung Distyawan
+ * @version 1.0
+ * @since 2025
+ */
+public final class AntrianSegmentStore {
+
+    /** Nama file penanda versi di dalam direktori segmen. */
+    private static final String VERSION_FILE = ".versi";
+    /** Ekstensi file segmen. */
+    private static final String EXTENSION = ".txt";
+    /** Ekstensi file arsip (segmen bulanan terkompresi). */
+    private static final String ARCHIVE_EXTENSION = EXTENSION + ".gz";
+    /** Segmen bulanan diarsipkan setelah sekian bulan berlalu dari bulan berjalan. */
+    static final int ARSIP_SETELAH_BULAN = 3;
+
+    /** Direktori tempat semua file segmen disimpan. */
+    private final Path directory;
+    /** Cache rentang ID per segmen, berlaku selama ukuran dan waktu modifikasi file sama. */
+    private final Map<Path, IdRange> idRanges = new HashMap<>();
+
+    /**
+     * Membuat penyimpanan segmen pada direktori tertentu.
+     *
+     * @param directory direktori segmen (misal: "antrian-segmen")
+     */
+    public AntrianSegmentStore(Path directory) {
+        this.directory = directory;
+    }
+
+    /** @return path file penanda versi yang berubah setiap kali isi segmen berubah */
+    public Path versionFile() {
+        return directory.resolve(VERSION_FILE);
+    }
+
+    // ===========================
+    // ==== BACA =================
+    // ===========================
+
+    /**
+     * Membaca semua antrian dari seluruh segmen, urut dari segmen terlama.
+     *
+     * @return daftar antrian
+     * @throws IOException jika segmen tidak dapat dibaca
+     */
+    public List<Antrian> readAll() throws IOException {
+        List<Antrian> result = new ArrayList<>();
+        for (Segment segment : listSegments()) {
+            readInto(segment.path, result);
+        }
+        return result;
+    }
+
+    /**
+     * Membaca antrian yang tanggalnya berada di rentang {@code [dari, sampai]}.
+     * Hanya segmen yang rentangnya beririsan yang dibuka.
+     *
+     * @param dari tanggal awal (inklusif)
+     * @param sampai tanggal akhir (inklusif)
+     * @return daftar antrian dalam rentang tersebut
+     * @throws IOException jika segmen tidak dapat dibaca
+     */
+    public List<Antrian> read(LocalDate dari, LocalDate sampai) throws IOException {
+        List<Antrian> result = new ArrayList<>();
+        for (Segment segment : listSegments()) {
+            if (segment.end.isBefore(dari) || segment.start.isAfter(sampai)) continue;
+            readInto(segment.path, result);
+        }
+        result.removeIf(a -> {
+            LocalDate tanggal = a.getTimestamp().toLocalDate();
+            return tanggal.isBefore(dari) || tanggal.isAfter(sampai);
+        });
+        return result;
+    }
+
+    /**
+     * Mendaftar file segmen yang rentang tanggalnya beririsan dengan
+     * {@code [dari, sampai]}, urut seperti {@link #readAll()}.
+     *
+     * @param dari tanggal awal (inklusif), atau {@code null} tanpa batas awal
+     * @param sampai tanggal akhir (inklusif), atau {@code null} tanpa batas akhir
+     * @return path file segmen
+     * @throws IOException jika direktori segmen tidak dapat dibaca
+     */
+    List<Path> segmentFiles(LocalDate dari, LocalDate sampai) throws IOException {
+        List<Path> result = new ArrayList<>();
+        for (Segment segment : listSegments()) {
+            if (dari != null && segment.end.isBefore(dari)) continue;
+            if (sampai != null && segment.start.isAfter(sampai)) continue;
+            result.add(segment.path);
+        }
+        return result;
+    }
+
+    // ===========================
+    // ==== TULIS ================
+    // ===========================
+
+    /**
+     * Menulis ulang seluruh segmen dari daftar antrian. Data bulan berjalan ditulis
+     * ke segmen harian, data bulan sebelumnya langsung ke segmen bulanan, dan data
+     * yang sudah cukup lama langsung ke arsip.
+     *
+     * @param antrianList daftar antrian lengkap
+     * @throws IOException jika gagal menulis segmen
+     */
+    public void writeAll(List<Antrian> antrianList) throws IOException {
+        YearMonth bulanIni = YearMonth.now();
+        YearMonth batasArsip = bulanIni.minusMonths(ARSIP_SETELAH_BULAN);
+        Map<String, List<Antrian>> grouped = new TreeMap<>();
+        for (Antrian a : antrianList) {
+            LocalDate tanggal = a.getTimestamp().toLocalDate();
+            YearMonth bulan = YearMonth.from(tanggal);
+            String key;
+            if (bulan.isBefore(batasArsip)) {
+                key = bulan + ARCHIVE_EXTENSION;
+            } else if (bulan.isBefore(bulanIni)) {
+                key = bulan + EXTENSION;
+            } else {
+                key = tanggal + EXTENSION;
+            }
+            grouped.computeIfAbsent(key, k -> new ArrayList<>()).add(a);
+        }
+
+        Set<Path> written = new HashSet<>();
+        for (Map.Entry<String, List<Antrian>> entry : grouped.entrySet()) {
+            Path path = directory.resolve(entry.getKey());
+            writeSegment(path, entry.getValue());
+            written.add(path);
+        }
+        for (Segment segment : listSegments()) {
+            if (!written.contains(segment.path)) {
+                Files.deleteIfExists(segment.path);
+                idRanges.remove(segment.path);
+            }
+        }
+        bumpVersion();
+    }
+
+    /**
+     * Menerapkan entri log mutasi ke segmen yang terdampak saja (checkpoint).
+     * Antrian baru masuk ke segmen harian sesuai tanggalnya, sedangkan perubahan
+     * status dan penghapusan diarahkan ke segmen yang memuat ID tersebut.
+     * Antrian yang dihapus langsung dibuang dari segmennya.
+     *
+     * @param lines baris log mutasi sesuai urutan penulisan
+     * @throws IOException jika gagal membaca atau menulis segmen
+     */
+    public void applyLog(List<String> lines) throws IOException {
+        if (lines.isEmpty()) return;
+
+        List<Segment> segments = listSegments();
+        Map<Path, List<Antrian>> loaded = new LinkedHashMap<>();
+        Map<Path, List<String>> routed = new LinkedHashMap<>();
+        Map<Integer, Path> createdIn = new HashMap<>();
+
+        for (String line : lines) {
+            int sep = line.indexOf(';');
+            if (sep < 0) continue;
+            String op = line.substring(0, sep);
+            String isi = line.substring(sep + 1);
+
+            Path target = null;
+            try {
+                if (op.equals(AntrianLog.Operasi.CREATE.name())) {
+                    Antrian a = FileService.parseAntrian(isi);
+                    if (a == null) continue;
+                    target = segmentFor(segments, a.getTimestamp().toLocalDate());
+                    createdIn.put(a.getId(), target);
+                } else {
+                    int end = isi.indexOf(';');
+                    int id = Integer.parseInt(end < 0 ? isi.trim() : isi.substring(0, end));
+                    target = createdIn.get(id);
+                    if (target == null) target = findSegmentWithId(segments, loaded, id);
+                }
+            } catch (RuntimeException e) {
+                System.err.println("[WARN] Entri log dilewati saat checkpoint segmen: " + line);
+            }
+            if (target == null) continue;
+
+            routed.computeIfAbsent(target, k -> new ArrayList<>()).add(line);
+        }
+
+        for (Map.Entry<Path, List<String>> entry : routed.entrySet()) {
+            Path path = entry.getKey();
+            List<Antrian> isi = loaded.containsKey(path) ? loaded.get(path) : readSegment(path);
+            AntrianLog.terapkan(isi, entry.getValue());
+            writeSegment(path, isi);
+        }
+        if (!routed.isEmpty()) bumpVersion();
+    }
+
+    /**
+     * Menggabungkan segmen harian dari bulan-bulan sebelum {@code bulanBerjalan}
+     * menjadi satu segmen bulanan, lalu menghapus segmen harian tersebut.
+     *
+     * @param bulanBerjalan bulan yang segmen hariannya tidak disentuh
+     * @return jumlah segmen harian yang digabungkan
+     * @throws IOException jika gagal membaca atau menulis segmen
+     */
+    public int compact(YearMonth bulanBerjalan) throws IOException {
+        Map<YearMonth, List<Segment>> perBulan = new TreeMap<>();
+        for (Segment segment : listSegments()) {
+            YearMonth bulan = YearMonth.from(segment.start);
+            if (bulan.isBefore(bulanBerjalan)) {
+                perBulan.computeIfAbsent(bulan, k -> new ArrayList<>()).add(segment);
+            }
+        }
+
+        int merged = 0;
+        for (Map.Entry<YearMonth, List<Segment>> entry : perBulan.entrySet()) {
+            List<Segment> parts = entry.getValue();
+            boolean adaHarian = parts.stream().anyMatch(s -> s.daily);
+            if (!adaHarian) continue;
+
+            List<Antrian> isi = new ArrayList<>();
+            for (Segment segment : parts) {
+                readInto(segment.path, isi); // segmen bulanan selalu terurut lebih dulu
+            }
+            Path monthly = parts.stream().filter(s -> !s.daily).map(s -> s.path).findFirst()
+                    .orElse(directory.resolve(entry.getKey() + EXTENSION));
+            writeSegment(monthly, isi);
+            for (Segment segment : parts) {
+                if (segment.daily) {
+                    Files.deleteIfExists(segment.path);
+                    idRanges.remove(segment.path);
+                    merged++;
+                }
+            }
+        }
+        if (merged > 0) bumpVersion();
+        return merged;
+    }
+
+    /**
+     * Mengompresi segmen bulanan yang sudah lebih dari {@value #ARSIP_SETELAH_BULAN}
+     * bulan berlalu dari {@code bulanBerjalan} menjadi arsip {@code yyyy-MM.txt.gz}.
+     * Segmen bulanan aslinya dihapus setelah arsip tertulis utuh.
+     *
+     * @param bulanBerjalan bulan acuan
+     * @return jumlah segmen yang diarsipkan
+     * @throws IOException jika gagal membaca atau menulis segmen
+     */
+    public int archive(YearMonth bulanBerjalan) throws IOException {
+        YearMonth batas = bulanBerjalan.minusMonths(ARSIP_SETELAH_BULAN);
+        int archived = 0;
+        for (Segment segment : listSegments()) {
+            if (segment.daily || segment.archived || !YearMonth.from(segment.start).isBefore(batas)) continue;
+
+            Path arsip = directory.resolve(YearMonth.from(segment.start) + ARCHIVE_EXTENSION);
+            writeSegment(arsip, readSegment(segment.path));
+            Files.deleteIfExists(segment.path);
+            idRanges.remove(segment.path);
+            archived++;
+        }
+        if (archived > 0) bumpVersion();
+        return archived;
+    }
+
+    /**
+     * Menghapus semua segmen.
+     *
+     * @throws IOException jika gagal menghapus file
+     */
+    public void clear() throws IOException {
+        for (Segment segment : listSegments()) {
+            Files.deleteIfExists(segment.path);
+        }
+        idRanges.clear();
+        bumpVersion();
+    }
+
+    // ===========================
+    // ==== UTILITIES ============
+    // ===========================
+
+    /**
+     * Mencari segmen yang seharusnya menampung antrian bertanggal tertentu.
+     * Jika bulannya sudah memiliki segmen bulanan (atau arsip), segmen itu dipakai.
+     */
+    private Path segmentFor(List<Segment> segments, LocalDate tanggal) {
+        YearMonth bulan = YearMonth.from(tanggal);
+        for (Segment segment : segments) {
+            if (!segment.daily && YearMonth.from(segment.start).equals(bulan)) {
+                return segment.path;
+            }
+        }
+        return directory.resolve(tanggal + EXTENSION);
+    }
+
+    /**
+     * Mencari segmen yang memuat ID tertentu, memakai cache rentang ID
+     * agar hanya segmen kandidat yang dibaca penuh.
+     */
+    private Path findSegmentWithId(List<Segment> segments, Map<Path, List<Antrian>> loaded, int id)
+            throws IOException {
+        for (Segment segment : segments) {
+            IdRange range = idRange(segment.path);
+            if (range == null || id < range.min || id > range.max) continue;
+
+            List<Antrian> isi = loaded.get(segment.path);
+            if (isi == null) {
+                isi = readSegment(segment.path);
+                loaded.put(segment.path, isi);
+            }
+            for (Antrian a : isi) {
+                if (a.getId() == id) return segment.path;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Mengambil rentang ID sebuah segmen dari cache, atau memindai kolom ID-nya.
+     */
+    private IdRange idRange(Path path) throws IOException {
+        if (!Files.exists(path)) return null;
+        long size = Files.size(path);
+        long modified = Files.getLastModifiedTime(path).toMillis();
+
+        IdRange cached = idRanges.get(path);
+        if (cached != null && cached.size == size && cached.modified == modified) return cached;
+
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        try (BufferedReader reader = openReader(path)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int sep = line.indexOf(';');
+                if (sep <= 0) continue;
+                try {
+                    int id = Integer.parseInt(line.substring(0, sep));
+                    min = Math.min(min, id);
+                    max = Math.max(max, id);
+                } catch (NumberFormatException e) {
+                    // baris rusak dilewati
+                }
+            }
+        }
+        IdRange range = new IdRange(min, max, size, modified);
+        idRanges.put(path, range);
+        return range;
+    }
+
+    /**
+     * Mendaftar semua segmen, urut berdasarkan tanggal awal; segmen bulanan
+     * diletakkan sebelum segmen harian di bulan yang sama.
+     */
+    private List<Segment> listSegments() throws IOException {
+        List<Segment> segments = new ArrayList<>();
+        if (!Files.isDirectory(directory)) return segments;
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory,
+                "*{" + EXTENSION + "," + ARCHIVE_EXTENSION + "}")) {
+            for (Path path : stream) {
+                Segment segment = Segment.parse(path);
+                if (segment != null) segments.add(segment);
+            }
+        }
+        segments.sort(Comparator.comparing((Segment s) -> s.start).thenComparing(s -> s.daily));
+
+        // segmen bulanan dan arsipnya hanya bisa ada bersamaan jika pengarsipan terhenti
+        // sebelum segmen asli dihapus; segmen asli yang dipakai, archive() akan mengulanginya
+        Set<LocalDate> bulanTeks = new HashSet<>();
+        for (Segment segment : segments) {
+            if (!segment.daily && !segment.archived) bulanTeks.add(segment.start);
+        }
+        segments.removeIf(segment -> segment.archived && bulanTeks.contains(segment.start));
+        return segments;
+    }
+
+    private List<Antrian> readSegment(Path path) throws IOException {
+        List<Antrian> result = new ArrayList<>();
+        readInto(path, result);
+        return result;
+    }
+
+    private void readInto(Path path, List<Antrian> out) throws IOException {
+        if (!Files.exists(path)) return;
+        try (BufferedReader reader = openReader(path)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Antrian a = FileService.parseAntrian(line);
+                if (a != null) out.add(a);
+            }
+        }
+    }
+
+    /**
+     * Menulis satu segmen secara atomik ({@link AtomicFileWriter}), sehingga
+     * pembaca tidak pernah melihat segmen yang setengah tertulis.
+     * Segmen kosong dihapus.
+     */
+    private void writeSegment(Path path, List<Antrian> isi) throws IOException {
+        idRanges.remove(path);
+        if (isi.isEmpty()) {
+            Files.deleteIfExists(path);
+            return;
+        }
+        AtomicFileWriter.write(path, out -> {
+            if (isArchive(path)) {
+                try (ArsipOutputStream gzip = new ArsipOutputStream(out)) {
+                    writeLines(gzip, isi);
+                }
+            } else {
+                writeLines(out, isi);
+            }
+        });
+    }
+
+    private static void writeLines(OutputStream out, List<Antrian> isi) throws IOException {
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        for (Antrian a : isi) {
+            writer.write(a.toString());
+            writer.newLine();
+        }
+        writer.flush();
+    }
+
+    /**
+     * Membuka reader baris untuk satu file segmen; arsip didekompresi sambil dibaca.
+     *
+     * @param path file segmen atau arsip
+     * @return reader yang wajib ditutup pemanggil
+     * @throws IOException jika file tidak dapat dibuka
+     */
+    static BufferedReader openReader(Path path) throws IOException {
+        if (!isArchive(path)) {
+            return Files.newBufferedReader(path, StandardCharsets.UTF_8);
+        }
+        InputStream in = Files.newInputStream(path);
+        try {
+            return new BufferedReader(new InputStreamReader(new GZIPInputStream(in, 1 << 16), StandardCharsets.UTF_8));
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    private static boolean isArchive(Path path) {
+        return path.getFileName().toString().endsWith(ARCHIVE_EXTENSION);
+    }
+
+    /**
+     * Menaikkan angka di file penanda versi.
+     */
+    private void bumpVersion() throws IOException {
+        Files.createDirectories(directory);
+        Path file = versionFile();
+        long current = 0;
+        if (Files.exists(file)) {
+            try {
+                current = Long.parseLong(new String(Files.readAllBytes(file), StandardCharsets.UTF_8).trim());
+            } catch (NumberFormatException e) {
+                current = 0;
+            }
+        }
+        AtomicFileWriter.write(file, String.valueOf(current + 1).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Informasi satu file segmen yang diambil dari namanya.
+     */
+    private static final class Segment {
+        final Path path;
+        final LocalDate start;
+        final LocalDate end;
+        final boolean daily;
+        final boolean archived;
+
+        private Segment(Path path, LocalDate start, LocalDate end, boolean daily, boolean archived) {
+            this.path = path;
+            this.start = start;
+            this.end = end;
+            this.daily = daily;
+            this.archived = archived;
+        }
+
+        static Segment parse(Path path) {
+            String name = path.getFileName().toString();
+            boolean archived = name.endsWith(ARCHIVE_EXTENSION);
+            String key = name.substring(0, name.length()
+                    - (archived ? ARCHIVE_EXTENSION : EXTENSION).length());
+            try {
+                if (key.length() == 10 && !archived) {
+                    LocalDate day = LocalDate.parse(key);
+                    return new Segment(path, day, day, true, false);
+                }
+                if (key.length() == 7) {
+                    YearMonth month = YearMonth.parse(key);
+                    return new Segment(path, month.atDay(1), month.atEndOfMonth(), false, archived);
+                }
+            } catch (DateTimeParseException e) {
+                // bukan file segmen
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Rentang ID di dalam satu segmen beserta atribut file saat dipindai.
+     */
+    private static final class IdRange {
+        final int min;
+        final int max;
+        final long size;
+        final long modified;
+
+        IdRange(int min, int max, long size, long modified) {
+            this.min = min;
+            this.max = max;
+            this.size = size;
+            this.modified = modified;
+        }
+    }
+
+    /**
+     * Stream GZIP dengan tingkat kompresi maksimum untuk arsip. Arsip ditulis jarang
+     * tetapi disimpan lama, sehingga waktu kompresi ekstra sepadan dengan ruang disk
+     * yang dihemat. {@link #close()} hanya menyelesaikan data GZIP tanpa menutup
+     * stream tujuan, yang dikelola oleh {@link AtomicFileWriter}.
+     */
+    private static final class ArsipOutputStream extends GZIPOutputStream {
+        ArsipOutputStream(OutputStream out) throws IOException {
+            super(out, 1 << 16);
+            def.setLevel(Deflater.BEST_COMPRESSION);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                finish();
+            } finally {
+                def.end();
+            }
+        }
+    }
+}
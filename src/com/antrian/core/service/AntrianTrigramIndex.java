@@ -0,0 +1,317 @@
+package com.antrian.core.service;
+
+import com.antrian.core.model.Antrian;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Kelas {@code AntrianTrigramIndex} berisi indeks trigram (potongan 3 karakter)
+ * atas nama pasien untuk pencarian substring di dashboard.
+ *
+ * <p>Nama dinormalisasi sekali saat indeks dibangun (huruf kecil,
+ * {@link Locale#ROOT}). Untuk setiap trigram disimpan daftar posisi antrian
+ * yang namanya mengandung trigram tersebut, terurut naik. Teks pencarian dipecah
+ * menjadi trigram, daftar posisinya diiriskan mulai dari yang terpendek, lalu
+ * hanya kandidat hasil irisan yang diperiksa dengan {@link String#contains}.
+ * Teks yang lebih pendek dari 3 karakter dicari lewat gabungan daftar posisi
+ * semua trigram yang mengandungnya, ditambah nama yang lebih pendek dari 3 karakter.</p>
+ *
+ * <p>Contoh penggunaan:</p>
+ * <pre>{@code
+ * AntrianTrigramIndex indeks = AntrianTrigramIndex.bangun(daftar);
+ * BitSet cocok = indeks.cari("fajar");
+ * }</pre>
+ *
+ * <p>Seperti {@link AntrianBitmapIndex}, indeks tidak mengikuti perubahan daftar
+ * setelah dibangun.</p>
+ *
+ * @author
+ *  Sulistyo Fajar Pratama,
+ *  Dinda Diyah Arifa,
+ *  Musthofa Agung Distyawan
+ * @version 1.0
+ * @since 2025
+ */
+public final class AntrianTrigramIndex {
+
+    /**
+     * Perkiraan biaya memverifikasi satu kandidat dengan {@code contains},
+     * dalam satuan biaya membaca satu posisi dari daftar posisi.
+     */
+    public static final int BIAYA_VERIFIKASI = 4;
+
+    /** Nama pasien yang sudah dinormalisasi, per posisi. */
+    private final String[] namaNormal;
+    /** Daftar posisi (terurut naik) per trigram. */
+    private final TabelTrigram posting;
+    /** Posisi antrian yang namanya lebih pendek dari 3 karakter (tidak punya trigram). */
+    private final int[] namaPendek;
+
+    private AntrianTrigramIndex(String[] namaNormal, TabelTrigram posting, int[] namaPendek) {
+        this.namaNormal = namaNormal;
+        this.posting = posting;
+        this.namaPendek = namaPendek;
+    }
+
+    /**
+     * Membangun indeks untuk daftar antrian.
+     *
+     * @param antrianList daftar antrian; posisi di daftar menjadi nomor bit hasil pencarian
+     * @return indeks baru
+     */
+    public static AntrianTrigramIndex bangun(List<? extends Antrian> antrianList) {
+        int jumlah = antrianList.size();
+        String[] namaNormal = new String[jumlah];
+        Map<String, String> pool = new HashMap<>();
+        TabelTrigram posting = new TabelTrigram();
+        DaftarPosisi namaPendek = new DaftarPosisi();
+
+        for (int i = 0; i < jumlah; i++) {
+            String nama = normalisasi(antrianList.get(i).getNamaPasien());
+            String ada = pool.putIfAbsent(nama, nama);
+            namaNormal[i] = ada != null ? ada : nama;
+
+            if (nama.length() < 3) namaPendek.tambah(i);
+            for (int j = 0; j + 3 <= nama.length(); j++) {
+                posting.ambilAtauBuat(trigram(nama, j)).tambah(i);
+            }
+        }
+        posting.padatkan();
+        return new AntrianTrigramIndex(namaNormal, posting, namaPendek.toArray());
+    }
+
+    /**
+     * Mencari antrian yang nama pasiennya mengandung {@code teks}, tanpa
+     * membedakan huruf besar/kecil.
+     *
+     * @param teks teks pencarian
+     * @return bitmap baru berisi posisi yang cocok
+     */
+    public BitSet cari(String teks) {
+        String q = normalisasi(teks);
+        BitSet hasil = new BitSet(namaNormal.length);
+        if (q.isEmpty()) {
+            hasil.set(0, namaNormal.length);
+            return hasil;
+        }
+        if (q.length() < 3) {
+            // setiap kemunculan teks pendek di nama >= 3 karakter tercakup salah satu trigramnya
+            for (int t = 0; t < posting.kunci.length; t++) {
+                if (posting.isi[t] != null && mengandung(posting.kunci[t], q)) {
+                    for (int posisi : posting.isi[t].toArray()) hasil.set(posisi);
+                }
+            }
+            for (int posisi : namaPendek) {
+                if (namaNormal[posisi].contains(q)) hasil.set(posisi);
+            }
+            return hasil;
+        }
+
+        // daftar posisi setiap trigram di teks pencarian, terpendek lebih dulu
+        List<int[]> daftar = new ArrayList<>();
+        for (int j = 0; j + 3 <= q.length(); j++) {
+            DaftarPosisi p = posting.cari(trigram(q, j));
+            if (p == null) return hasil;
+            daftar.add(p.toArray());
+        }
+        daftar.sort((a, b) -> Integer.compare(a.length, b.length));
+
+        int[] terpendek = daftar.get(0);
+        if (q.length() == 3) {
+            // teks pencarian adalah trigram itu sendiri: tidak perlu diverifikasi
+            for (int posisi : terpendek) hasil.set(posisi);
+            return hasil;
+        }
+        int[] kursor = new int[daftar.size()];
+        kandidat:
+        for (int posisi : terpendek) {
+            for (int d = 1; d < daftar.size(); d++) {
+                int[] p = daftar.get(d);
+                if (p == terpendek) continue;
+                int k = cariMulai(p, kursor[d], posisi);
+                kursor[d] = k;
+                if (k >= p.length) break kandidat; // daftar lain habis: tidak ada kandidat lagi
+                if (p[k] != posisi) continue kandidat;
+            }
+            // trigram cocok belum tentu berurutan: pastikan dengan pencocokan substring
+            if (namaNormal[posisi].contains(q)) hasil.set(posisi);
+        }
+        return hasil;
+    }
+
+    /**
+     * Menyaring bitmap hasil sebelumnya: hanya posisi yang nama pasiennya
+     * mengandung {@code teks} yang dipertahankan. Biayanya sebanding dengan
+     * jumlah posisi di {@code hasil}, bukan jumlah antrian; untuk hasil yang
+     * besar, pemeriksaannya dibagi ke beberapa thread ({@link AntrianParalel}).
+     *
+     * @param hasil bitmap posisi yang akan dipersempit (diubah di tempat)
+     * @param teks teks pencarian
+     */
+    public void saring(BitSet hasil, String teks) {
+        String q = normalisasi(teks);
+        if (q.isEmpty()) return;
+        AntrianParalel.saring(hasil, i -> namaNormal[i].contains(q));
+    }
+
+    /**
+     * Memperkirakan biaya {@link #cari(String)} dalam satuan pembacaan satu posisi:
+     * total panjang daftar yang digabungkan untuk teks pendek, panjang daftar
+     * untuk teks 3 karakter, atau untuk teks yang lebih panjang, setiap kandidat
+     * dari daftar terpendek dicari di daftar lain lalu diverifikasi.
+     *
+     * @param teks teks pencarian
+     * @return perkiraan biaya pencarian lewat indeks
+     */
+    public long perkiraanBiaya(String teks) {
+        String q = normalisasi(teks);
+        if (q.isEmpty()) return namaNormal.length;
+        if (q.length() < 3) {
+            long total = namaPendek.length;
+            for (int t = 0; t < posting.kunci.length; t++) {
+                if (posting.isi[t] != null && mengandung(posting.kunci[t], q)) total += posting.isi[t].jumlah;
+            }
+            return total;
+        }
+        int terpendek = Integer.MAX_VALUE;
+        for (int j = 0; j + 3 <= q.length(); j++) {
+            DaftarPosisi p = posting.cari(trigram(q, j));
+            if (p == null) return 0;
+            terpendek = Math.min(terpendek, p.jumlah);
+        }
+        if (q.length() == 3) return terpendek;
+        return (long) terpendek * (q.length() - 2 + BIAYA_VERIFIKASI);
+    }
+
+    /** @return jumlah antrian yang diindeks */
+    public int size() {
+        return namaNormal.length;
+    }
+
+    // ===========================
+    // ==== UTILITIES ============
+    // ===========================
+
+    private static String normalisasi(String teks) {
+        return teks == null ? "" : teks.toLowerCase(Locale.ROOT);
+    }
+
+    private static long trigram(String s, int i) {
+        return ((long) s.charAt(i) << 32) | ((long) s.charAt(i + 1) << 16) | s.charAt(i + 2);
+    }
+
+    /** @return {@code true} jika trigram mengandung teks {@code q} (1-2 karakter) */
+    private static boolean mengandung(long trigram, String q) {
+        char a = (char) (trigram >>> 32);
+        char b = (char) (trigram >>> 16);
+        char c = (char) trigram;
+        if (q.length() == 1) {
+            char x = q.charAt(0);
+            return a == x || b == x || c == x;
+        }
+        char x = q.charAt(0);
+        char y = q.charAt(1);
+        return (a == x && b == y) || (b == x && c == y);
+    }
+
+    /**
+     * Galloping search: posisi pertama di {@code p} (mulai dari {@code dari})
+     * yang nilainya {@code >= target}, atau {@code p.length} jika tidak ada.
+     */
+    private static int cariMulai(int[] p, int dari, int target) {
+        int langkah = 1;
+        int batas = dari;
+        while (batas < p.length && p[batas] < target) {
+            dari = batas + 1;
+            batas += langkah;
+            langkah <<= 1;
+        }
+        int hasil = Arrays.binarySearch(p, dari, Math.min(batas + 1, p.length), target);
+        return hasil >= 0 ? hasil : -hasil - 1;
+    }
+
+    /**
+     * Daftar posisi terurut naik; posisi yang sama berturut-turut diabaikan.
+     * Setelah {@link #padatkan()}, {@link #toArray()} mengembalikan array internal
+     * tanpa menyalin.
+     */
+    private static final class DaftarPosisi {
+        private int[] isi = new int[4];
+        private int jumlah;
+
+        void tambah(int posisi) {
+            if (jumlah > 0 && isi[jumlah - 1] == posisi) return;
+            if (jumlah == isi.length) isi = Arrays.copyOf(isi, jumlah * 2);
+            isi[jumlah++] = posisi;
+        }
+
+        void padatkan() {
+            if (isi.length != jumlah) isi = Arrays.copyOf(isi, jumlah);
+        }
+
+        int[] toArray() {
+            return isi.length == jumlah ? isi : Arrays.copyOf(isi, jumlah);
+        }
+    }
+
+    /**
+     * Tabel hash open addressing dari trigram ({@code long}) ke {@link DaftarPosisi},
+     * agar pembangunan indeks tidak membuat objek {@code Long} untuk setiap trigram.
+     */
+    private static final class TabelTrigram {
+        private long[] kunci = new long[1024];
+        private DaftarPosisi[] isi = new DaftarPosisi[1024];
+        private int jumlah;
+
+        DaftarPosisi ambilAtauBuat(long trigram) {
+            int i = slot(kunci, isi, trigram);
+            if (isi[i] == null) {
+                if ((jumlah + 1) * 2 > kunci.length) {
+                    perbesar();
+                    i = slot(kunci, isi, trigram);
+                }
+                kunci[i] = trigram;
+                isi[i] = new DaftarPosisi();
+                jumlah++;
+            }
+            return isi[i];
+        }
+
+        DaftarPosisi cari(long trigram) {
+            return isi[slot(kunci, isi, trigram)];
+        }
+
+        void padatkan() {
+            for (DaftarPosisi d : isi) {
+                if (d != null) d.padatkan();
+            }
+        }
+
+        private void perbesar() {
+            long[] kunciLama = kunci;
+            DaftarPosisi[] isiLama = isi;
+            kunci = new long[kunciLama.length * 2];
+            isi = new DaftarPosisi[isiLama.length * 2];
+            for (int j = 0; j < kunciLama.length; j++) {
+                if (isiLama[j] == null) continue;
+                int i = slot(kunci, isi, kunciLama[j]);
+                kunci[i] = kunciLama[j];
+                isi[i] = isiLama[j];
+            }
+        }
+
+        /** @return slot berisi {@code trigram}, atau slot kosong tempat ia seharusnya disimpan */
+        private static int slot(long[] kunci, DaftarPosisi[] isi, long trigram) {
+            int mask = kunci.length - 1;
+            int i = (int) ((trigram * 0x9E3779B97F4A7C15L) >>> 40) & mask;
+            while (isi[i] != null && kunci[i] != trigram) i = (i + 1) & mask;
+            return i;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.antrian.core.service;
+
+import com.antrian.core.model.Antrian;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.TemporalAdjusters;
+import java.time.temporal.WeekFields;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Kelas {@code AntrianWaktuIndex} berisi indeks waktu pembuatan antrian: posisi
+ * antrian diurutkan berdasarkan timestamp, sehingga satu rentang waktu cukup
+ * dicari dengan dua binary search dan menghasilkan satu potongan berurutan.
+ *
+ * <p>Rentang memakai batas setengah terbuka {@code [dari, sampai)}, sehingga
+ * rentang per hari, minggu, bulan, atau tahun dapat ditulis sebagai awal periode
+ * dan awal periode berikutnya. Method {@code mingguIni}, {@code bulanIni}, dan
+ * {@code tahunIni} menghitung batas periode tersebut satu kali per pencarian.</p>
+ *
+ * <p>Contoh penggunaan:</p>
+ * <pre>{@code
+ * AntrianWaktuIndex indeks = AntrianWaktuIndex.bangun(daftar);
+ * LocalDate[] minggu = AntrianWaktuIndex.mingguIni(LocalDate.now());
+ * BitSet cocok = indeks.cari(minggu[0].atStartOfDay(), minggu[1].atStartOfDay());
+ * }</pre>
+ *
+ * @author
+ *  Sulistyo Fajar Pratama,
+ *  Dinda Diyah Arifa,
+ *  Musthofa Agung Distyawan
+ * @version 1.0
+ * @since 2025
+ */
+public final class AntrianWaktuIndex {
+
+    /** Timestamp (lihat {@link #kunci(LocalDateTime)}) terurut naik. */
+    private final long[] waktu;
+    /** Posisi antrian di daftar untuk setiap elemen {@link #waktu}. */
+    private final int[] posisi;
+
+    private AntrianWaktuIndex(long[] waktu, int[] posisi) {
+        this.waktu = waktu;
+        this.posisi = posisi;
+    }
+
+    /**
+     * Membangun indeks untuk daftar antrian. Data yang sudah terurut waktu
+     * (kasus umum, karena antrian ditambahkan di akhir) cukup disalin; selain
+     * itu posisi diurutkan secara stabil.
+     *
+     * @param antrianList daftar antrian; posisi di daftar menjadi nomor bit hasil pencarian
+     * @return indeks baru
+     */
+    public static AntrianWaktuIndex bangun(List<? extends Antrian> antrianList) {
+        int n = antrianList.size();
+        long[] kunciPerPosisi = new long[n];
+        boolean terurut = true;
+        for (int i = 0; i < n; i++) {
+            kunciPerPosisi[i] = kunci(antrianList.get(i).getTimestamp());
+            if (i > 0 && kunciPerPosisi[i] < kunciPerPosisi[i - 1]) terurut = false;
+        }
+
+        int[] posisi = new int[n];
+        if (terurut) {
+            for (int i = 0; i < n; i++) posisi[i] = i;
+            return new AntrianWaktuIndex(kunciPerPosisi, posisi);
+        }
+
+        // counting sort berdasarkan peringkat kunci: stabil, tanpa boxing
+        long[] waktu = kunciPerPosisi.clone();
+        Arrays.sort(waktu);
+        int[] rank = new int[n];
+        int[] awal = new int[n + 1];
+        for (int i = 0; i < n; i++) awal[(rank[i] = peringkat(waktu, kunciPerPosisi[i])) + 1]++;
+        for (int r = 0; r < n; r++) awal[r + 1] += awal[r];
+        for (int i = 0; i < n; i++) posisi[awal[rank[i]]++] = i;
+        return new AntrianWaktuIndex(waktu, posisi);
+    }
+
+    /**
+     * Mencari posisi antrian yang dibuat dalam rentang {@code [dari, sampai)}.
+     *
+     * @param dari batas awal (inklusif), atau {@code null} tanpa batas awal
+     * @param sampai batas akhir (eksklusif), atau {@code null} tanpa batas akhir
+     * @return bitmap baru berisi posisi yang cocok
+     */
+    public BitSet cari(LocalDateTime dari, LocalDateTime sampai) {
+        int awal = dari == null ? 0 : batasBawah(kunci(dari));
+        int akhir = sampai == null ? waktu.length : batasBawah(kunci(sampai));
+        BitSet hasil = new BitSet(waktu.length);
+        for (int i = awal; i < akhir; i++) hasil.set(posisi[i]);
+        return hasil;
+    }
+
+    /**
+     * Menghitung jumlah antrian dalam rentang {@code [dari, sampai)} tanpa membuat bitmap.
+     *
+     * @param dari batas awal (inklusif), atau {@code null} tanpa batas awal
+     * @param sampai batas akhir (eksklusif), atau {@code null} tanpa batas akhir
+     * @return jumlah antrian dalam rentang
+     */
+    public int hitung(LocalDateTime dari, LocalDateTime sampai) {
+        int awal = dari == null ? 0 : batasBawah(kunci(dari));
+        int akhir = sampai == null ? waktu.length : batasBawah(kunci(sampai));
+        return Math.max(0, akhir - awal);
+    }
+
+    /** @return jumlah antrian yang diindeks */
+    public int size() {
+        return waktu.length;
+    }
+
+    // ===========================
+    // ==== BATAS PERIODE ========
+    // ===========================
+
+    /**
+     * Batas minggu ini sesuai {@link WeekFields#ISO} (Senin sampai Minggu), dipotong
+     * pada batas tahun kalender seperti perbandingan minggu dan tahun sebelumnya.
+     *
+     * @param hariIni tanggal hari ini
+     * @return {@code [awal, awalPeriodeBerikutnya)}
+     */
+    public static LocalDate[] mingguIni(LocalDate hariIni) {
+        LocalDate senin = hariIni.with(TemporalAdjusters.previousOrSame(WeekFields.ISO.getFirstDayOfWeek()));
+        LocalDate[] tahun = tahunIni(hariIni);
+        LocalDate awal = senin.isBefore(tahun[0]) ? tahun[0] : senin;
+        LocalDate akhir = senin.plusWeeks(1).isAfter(tahun[1]) ? tahun[1] : senin.plusWeeks(1);
+        return new LocalDate[]{awal, akhir};
+    }
+
+    /**
+     * @param hariIni tanggal hari ini
+     * @return {@code [tanggal 1 bulan ini, tanggal 1 bulan berikutnya)}
+     */
+    public static LocalDate[] bulanIni(LocalDate hariIni) {
+        LocalDate awal = hariIni.withDayOfMonth(1);
+        return new LocalDate[]{awal, awal.plusMonths(1)};
+    }
+
+    /**
+     * @param hariIni tanggal hari ini
+     * @return {@code [1 Januari tahun ini, 1 Januari tahun berikutnya)}
+     */
+    public static LocalDate[] tahunIni(LocalDate hariIni) {
+        LocalDate awal = hariIni.withDayOfYear(1);
+        return new LocalDate[]{awal, awal.plusYears(1)};
+    }
+
+    // ===========================
+    // ==== UTILITIES ============
+    // ===========================
+
+    /** @return posisi pertama di {@link #waktu} yang nilainya {@code >= kunci} */
+    private int batasBawah(long kunci) {
+        int lo = 0;
+        int hi = waktu.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (waktu[mid] < kunci) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    /** @return peringkat (indeks kemunculan pertama) kunci di array terurut */
+    private static int peringkat(long[] terurut, long kunci) {
+        int lo = 0;
+        int hi = terurut.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (terurut[mid] < kunci) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+     * Mengubah timestamp menjadi epoch nanodetik (UTC), sama seperti di
+     * {@link com.antrian.core.model.AntrianTable}. Nilai di luar rentang
+     * {@code long} dibatasi ke nilai minimum/maksimum; {@code null} dianggap
+     * paling awal.
+     */
+    private static long kunci(LocalDateTime waktu) {
+        if (waktu == null) return Long.MIN_VALUE;
+        long detik = waktu.toEpochSecond(ZoneOffset.UTC);
+        try {
+            return Math.addExact(Math.multiplyExact(detik, 1_000_000_000L), waktu.getNano());
+        } catch (ArithmeticException e) {
+            return detik < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.antrian.core.service;
+
+import com.antrian.core.model.Antrian;
+import com.antrian.core.model.User;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Kelas {@code AsyncFileService} menyediakan versi non-blocking dari operasi
+ * {@link FileService}. Setiap operasi dijalankan di thread latar belakang dan
+ * langsung mengembalikan {@link CompletableFuture}, sehingga thread UI (JavaFX
+ * Application Thread) tidak pernah menunggu disk.
+ *
+ * <p>Di Java 21 ke atas setiap tugas berjalan di virtual thread tersendiri;
+ * di Java 17 dipakai pool thread daemon biasa. Method sinkron di
+ * {@link FileService} tetap tersedia dan menjadi implementasi sebenarnya,
+ * kelas ini hanya membungkusnya.</p>
+ *
+ * <p>Future diselesaikan di thread latar belakang. Controller JavaFX
+ * memindahkan hasilnya ke thread UI dengan
+ * {@code future.whenCompleteAsync(..., Platform::runLater)}.
+ * {@link IOException} dari {@link FileService} dibungkus dalam
+ * {@link CompletionException}.</p>
+ *
+ * @author
+ *  Sulistyo Fajar Pratama,
+ *  Dinda Diyah Arifa,
+ *  Musthofa Agung Distyawan
+ * @version 1.0
+ * @since 2025
+ */
+public final class AsyncFileService {
+
+    /**
+     * Operasi file yang dijalankan di latar belakang.
+     *
+     * @param <T> tipe hasil operasi
+     */
+    @FunctionalInterface
+    public interface Tugas<T> {
+        /**
+         * @return hasil operasi
+         * @throws IOException jika operasi file gagal
+         */
+        T jalankan() throws IOException;
+    }
+
+    /** Executor untuk seluruh operasi file asinkron. */
+    private static final ExecutorService EXECUTOR = buatExecutor();
+
+    private AsyncFileService() {
+    }
+
+    /**
+     * Menjalankan operasi file di thread latar belakang.
+     *
+     * @param tugas operasi yang dijalankan
+     * @param <T> tipe hasil operasi
+     * @return future yang selesai dengan hasil operasi, atau gagal dengan
+     *         {@link CompletionException} yang membungkus {@link IOException}
+     */
+    public static <T> CompletableFuture<T> jalankan(Tugas<T> tugas) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return tugas.jalankan();
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, EXECUTOR);
+    }
+
+    // ===========================
+    // ==== USER HANDLER ========
+    // ===========================
+
+    /** @see FileService#loadUsers() */
+    public static CompletableFuture<List<User>> loadUsers() {
+        return jalankan(FileService::loadUsers);
+    }
+
+    /** @see UserDirectory#login(String, String) */
+    public static CompletableFuture<User> login(String emailAtauNama, String password) {
+        return jalankan(() -> UserDirectory.getInstance().login(emailAtauNama, password));
+    }
+
+    /** @see FileService#registerUser(User) */
+    public static CompletableFuture<Boolean> registerUser(User user) {
+        return jalankan(() -> FileService.registerUser(user));
+    }
+
+    // ===========================
+    // ==== ANTRIAN HANDLER ======
+    // ===========================
+
+    /** @see FileService#loadAndProcessAntrianStatus() */
+    public static CompletableFuture<List<Antrian>> loadAndProcessAntrianStatus() {
+        return jalankan(FileService::loadAndProcessAntrianStatus);
+    }
+
+    /** @see FileService#findAntrianById(int) */
+    public static CompletableFuture<Antrian> findAntrianById(int id) {
+        return jalankan(() -> FileService.findAntrianById(id));
+    }
+
+    /** @see FileService#getNextAntrianId() */
+    public static CompletableFuture<Integer> getNextAntrianId() {
+        return jalankan(FileService::getNextAntrianId);
+    }
+
+    /** @see FileService#appendAntrian(Antrian) */
+    public static CompletableFuture<Void> appendAntrian(Antrian antrian) {
+        return jalankan(() -> {
+            FileService.appendAntrian(antrian);
+            return null;
+        });
+    }
+
+    /** @see FileService#updateStatusAntrian(int, String) */
+    public static CompletableFuture<Boolean> updateStatusAntrian(int id, String status) {
+        return jalankan(() -> FileService.updateStatusAntrian(id, status));
+    }
+
+    /** @see FileService#hapusAntrian(int) */
+    public static CompletableFuture<Boolean> hapusAntrian(int id) {
+        return jalankan(() -> FileService.hapusAntrian(id));
+    }
+
+    /** @see FileService#clearAntrianFile() */
+    public static CompletableFuture<Void> clearAntrianFile() {
+        return jalankan(() -> {
+            FileService.clearAntrianFile();
+            return null;
+        });
+    }
+
+    // ===========================
+    // ==== UTILITIES ============
+    // ===========================
+
+    /**
+     * Mengambil penyebab asli dari kegagalan future (membuka {@link CompletionException}).
+     *
+     * @param error exception dari future
+     * @return penyebab aslinya
+     */
+    public static Throwable penyebab(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * Membuat executor virtual thread jika tersedia (Java 21+), atau pool thread
+     * daemon jika aplikasi berjalan di Java 17. Method dipanggil lewat refleksi
+     * agar kode tetap dapat dikompilasi dengan target Java 17.
+     */
+    private static ExecutorService buatExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger nomor = new AtomicInteger();
+            return Executors.newCachedThreadPool(r -> {
+                Thread t = new Thread(r, "antrian-io-" + nomor.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.antrian.core.service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+
+/**
+ * Kelas {@code AtomicFileWriter} menulis ulang file data secara aman terhadap crash.
+ *
+ * <p>Isi baru selalu ditulis ke file sementara di direktori yang sama, dipaksa ke
+ * disk ({@code fsync}), lalu dipindahkan menimpa file tujuan dengan satu operasi
+ * rename atomik. Akibatnya pembaca (maupun aplikasi setelah crash) hanya pernah
+ * melihat isi lama yang utuh atau isi baru yang utuh, tidak pernah file yang
+ * terpotong di tengah penulisan.</p>
+ *
+ * <p>Setiap penulisan memakai file sementara dengan nama unik, sehingga dua
+ * penyimpanan yang berjalan bersamaan tidak saling menimpa isi yang setengah
+ * jadi; penyimpanan yang terakhir di-rename yang berlaku.</p>
+ *
+ * @author
+ *  Sulistyo Fajar Pratama,
+ *  Dinda Diyah Arifa,
+ *  Musthofa Agung Distyawan
+ * @version 1.0
+ * @since 2025
+ */
+public final class AtomicFileWriter {
+
+    /**
+     * Penulis isi file yang dipanggil dengan stream menuju file sementara.
+     */
+    @FunctionalInterface
+    public interface Isi {
+        /**
+         * @param out stream tujuan (tidak perlu ditutup oleh pemanggil)
+         * @throws IOException jika gagal menulis
+         */
+        void tulis(OutputStream out) throws IOException;
+    }
+
+    private AtomicFileWriter() {
+    }
+
+    /**
+     * Menulis ulang file secara atomik dengan isi yang dihasilkan {@code isi}.
+     *
+     * @param target file tujuan
+     * @param isi penulis isi file
+     * @throws IOException jika gagal menulis, menyinkronkan, atau memindahkan file
+     */
+    public static void write(Path target, Isi isi) throws IOException {
+        Path temp = createTemp(target);
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16);
+                isi.tulis(out);
+                out.flush();
+                channel.force(true);
+            }
+            commit(temp, target);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    /**
+     * Menulis ulang file secara atomik dengan isi berupa array byte.
+     *
+     * @param target file tujuan
+     * @param data isi file baru
+     * @throws IOException jika gagal menulis file
+     */
+    public static void write(Path target, byte[] data) throws IOException {
+        write(target, out -> out.write(data));
+    }
+
+    /**
+     * Membuat file sementara dengan nama unik di direktori file tujuan.
+     *
+     * @param target file tujuan
+     * @return path file sementara yang kosong
+     * @throws IOException jika file tidak dapat dibuat
+     */
+    static Path createTemp(Path target) throws IOException {
+        Path dir = directoryOf(target);
+        Files.createDirectories(dir);
+        // bukan Files.createTempFile: file itu dibuat dengan izin 0600, sedangkan
+        // file data harus tetap bisa dibaca pengguna lain di folder bersama
+        while (true) {
+            Path temp = dir.resolve(target.getFileName() + "." + UUID.randomUUID() + ".tmp");
+            try {
+                return Files.createFile(temp);
+            } catch (FileAlreadyExistsException e) {
+                // sangat jarang: coba nama lain
+            }
+        }
+    }
+
+    /**
+     * Memindahkan file sementara yang sudah di-{@code fsync} menimpa file tujuan,
+     * lalu menyinkronkan direktorinya agar rename ikut tercatat di disk.
+     *
+     * @param temp file sementara
+     * @param target file tujuan
+     * @throws IOException jika file tidak dapat dipindahkan
+     */
+    static void commit(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        syncDirectory(directoryOf(target));
+    }
+
+    /**
+     * Menyinkronkan isi direktori ke disk. Tidak semua sistem operasi mengizinkan
+     * direktori dibuka sebagai channel (misal Windows), sehingga kegagalan diabaikan.
+     */
+    private static void syncDirectory(Path dir) {
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // tidak didukung di platform ini
+        }
+    }
+
+    private static Path directoryOf(Path target) {
+        Path parent = target.toAbsolutePath().getParent();
+        return parent != null ? parent : target.toAbsolutePath();
+    }
+}
@@ -0,0 +1,102 @@
+package com.antrian.core.service;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Kelas {@code BloomFilter} adalah himpunan probabilistik untuk string: jawaban
+ * "tidak ada" selalu benar, sedangkan jawaban "mungkin ada" perlu dipastikan
+ * dengan struktur data yang tepat.
+ *
+ * <p>Dipakai {@link UserDirectory} agar pemeriksaan NIK/email baru saat registrasi,
+ * yang hampir selalu belum terdaftar, cukup menghitung beberapa hash tanpa
+ * menyentuh indeks utama. Ukuran bit dihitung untuk peluang positif palsu
+ * sekitar 1% pada kapasitas yang ditentukan.</p>
+ *
+ * @author
+ *  Sulistyo Fajar Pratama,
+ *  Dinda Diyah Arifa,
+ *  Musthofa Agung Distyawan
+ * @version 1.0
+ * @since 2025
+ */
+final class BloomFilter {
+
+    /** Jumlah bit per elemen untuk peluang positif palsu ~1%. */
+    private static final int BITS_PER_ELEMEN = 10;
+    /** Jumlah fungsi hash yang optimal untuk {@link #BITS_PER_ELEMEN}. */
+    private static final int JUMLAH_HASH = 7;
+
+    private final long[] bits;
+    private final int jumlahBit;
+    private final int kapasitas;
+    private int jumlah;
+
+    /**
+     * @param kapasitas jumlah elemen yang direncanakan
+     */
+    BloomFilter(int kapasitas) {
+        this.kapasitas = Math.max(kapasitas, 64);
+        long n = (long) this.kapasitas * BITS_PER_ELEMEN;
+        this.jumlahBit = (int) Math.min(n, Integer.MAX_VALUE - 63L);
+        this.bits = new long[(jumlahBit + 63) >>> 6];
+    }
+
+    /**
+     * Menambahkan satu elemen.
+     *
+     * @param nilai elemen
+     */
+    void tambah(String nilai) {
+        long hash = hash64(nilai);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < JUMLAH_HASH; i++) {
+            int bit = Math.floorMod(h1 + i * h2, jumlahBit);
+            bits[bit >>> 6] |= 1L << bit;
+        }
+        jumlah++;
+    }
+
+    /**
+     * @param nilai elemen yang diperiksa
+     * @return {@code false} jika elemen pasti belum pernah ditambahkan
+     */
+    boolean mungkinAda(String nilai) {
+        long hash = hash64(nilai);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < JUMLAH_HASH; i++) {
+            int bit = Math.floorMod(h1 + i * h2, jumlahBit);
+            if ((bits[bit >>> 6] & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+
+    /** @return {@code true} jika jumlah elemen sudah melebihi kapasitas rencana */
+    boolean penuh() {
+        return jumlah > kapasitas;
+    }
+
+    /** @return kapasitas rencana filter ini */
+    int getKapasitas() {
+        return kapasitas;
+    }
+
+    /**
+     * Hash 64-bit (FNV-1a atas byte UTF-8, lalu dicampur seperti finalizer MurmurHash3),
+     * dipecah menjadi dua hash 32-bit untuk double hashing.
+     */
+    private static long hash64(String nilai) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : nilai.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
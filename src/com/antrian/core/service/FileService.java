@@ -4,14 +4,22 @@ import com.antrian.core.model.Admin;
 import com.antrian.core.model.Pasien;
 import com.antrian.core.model.User;
 import com.antrian.core.model.Antrian;
+import com.antrian.core.model.AntrianTable;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Kelas {@code FileService} bertanggung jawab untuk membaca dan menulis
@@ -26,6 +34,59 @@ public class FileService {
 
     private static final String USER_FILE = "users.txt";
     private static final String ANTRIAN_FILE = "antrian.txt";
+    private static final String ANTRIAN_BIN_FILE = "antrian.bin";
+    private static final String ANTRIAN_LOG_FILE = "antrian.log";
+    private static final String ANTRIAN_SEQ_FILE = "antrian.seq";
+    private static final String ANTRIAN_IDX_FILE = "antrian.idx";
+    private static final String ANTRIAN_SEGMENT_DIR = "antrian-segmen";
+    private static final String USER_LOCK_FILE = "users.lock";
+    private static final String ANTRIAN_LOCK_FILE = "antrian.lock";
+    private static final String ANTRIAN_SEQ_LOCK_FILE = "antrian.seq.lock";
+
+    /** Jumlah percobaan optimistik sebelum perubahan dijalankan di bawah kunci penuh. */
+    private static final int MAX_PERCOBAAN = 5;
+
+    /** Kunci antar-proses dan nomor versi untuk users.txt. */
+    private static final SharedFileLock USER_LOCK = new SharedFileLock(Paths.get(USER_LOCK_FILE));
+
+    /** Kunci antar-proses dan nomor versi untuk seluruh file data antrian (snapshot, segmen, log). */
+    private static final SharedFileLock ANTRIAN_LOCK = new SharedFileLock(Paths.get(ANTRIAN_LOCK_FILE));
+
+    /** Jumlah entri log maksimum sebelum snapshot ditulis ulang (checkpoint). */
+    public static final int CHECKPOINT_THRESHOLD = 1000;
+
+    /** Log mutasi antrian; perubahan kecil ditambahkan di sini, bukan menulis ulang snapshot. */
+    private static final AntrianLog ANTRIAN_LOG = new AntrianLog(ANTRIAN_LOG_FILE, ANTRIAN_LOCK);
+
+    /** Indeks primer ID antrian ke posisi baris di Antrian.txt, dipakai pada mode {@code TEXT}. */
+    private static final AntrianIdIndex ID_INDEX = new AntrianIdIndex(Paths.get(ANTRIAN_FILE), Paths.get(ANTRIAN_IDX_FILE));
+
+    /** Penyimpanan snapshot yang dipartisi per tanggal, dipakai pada mode {@code SEGMENTED}. */
+    private static final AntrianSegmentStore SEGMENT_STORE = new AntrianSegmentStore(Paths.get(ANTRIAN_SEGMENT_DIR));
+
+    /** Pemadat segmen yang berjalan di latar belakang pada mode {@code SEGMENTED}. */
+    private static final AntrianSegmentCompactor SEGMENT_COMPACTOR = new AntrianSegmentCompactor(SEGMENT_STORE, ANTRIAN_LOG, ANTRIAN_LOCK);
+
+    /**
+     * Format penyimpanan snapshot antrian.
+     * <ul>
+     * <li>{@code TEXT}: satu baris teks per antrian di {@code antrian.txt} (bawaan).</li>
+     * <li>{@code BINARY}: format biner kolumnar di {@code antrian.bin} ({@link AntrianBinaryFormat}).</li>
+     * <li>{@code SEGMENTED}: file teks per hari/bulan di {@code antrian-segmen/} ({@link AntrianSegmentStore}).</li>
+     * </ul>
+     */
+    public enum StorageMode { TEXT, BINARY, SEGMENTED }
+
+    /**
+     * Mode penyimpanan aktif; bisa diatur lewat system property
+     * {@code antrian.storage=binary} atau {@code antrian.storage=segmented}.
+     */
+    private static volatile StorageMode storageMode = storageModeDariProperty();
+
+    /** Pembagi ID antrian; hanya membaca data antrian jika file sequence belum ada. */
+    private static final AntrianIdAllocator ID_ALLOCATOR = new AntrianIdAllocator(ANTRIAN_SEQ_FILE,
+            new SharedFileLock(Paths.get(ANTRIAN_SEQ_LOCK_FILE)),
+            () -> loadAntrian().stream().mapToInt(Antrian::getId).max().orElse(0));
 
     // ===========================
     // ==== USER HANDLER ========
@@ -39,6 +100,10 @@ public class FileService {
      * @throws IOException jika file tidak ditemukan atau rusak
      */
     public static List<User> loadUsers() throws IOException {
+        return USER_LOCK.baca(FileService::loadUsersTanpaKunci);
+    }
+
+    private static List<User> loadUsersTanpaKunci() throws IOException {
         List<User> users = new ArrayList<>();
 
         File file = new File(USER_FILE);
@@ -59,77 +124,111 @@ public class FileService {
         List<String> lines = Files.readAllLines(Paths.get(USER_FILE));
 
         for (String line : lines) {
-            if (line.trim().isEmpty()) continue;
-
-            String[] parts = line.split(";");
-            if (parts.length < 8) continue; // format rusak
-
-            String role = parts[parts.length - 1].trim().toLowerCase();
-
-            if (role.equals("role=admin")) {
-                // Format: nik;nama;alamat;noTelp;email;lahir;pass;jabatan;role=admin
-                users.add(new Admin(
-                        parts[0],
-                        parts[1],
-                        parts[2],
-                        parts[3],
-                        parts[4],
-                        parts[5],
-                        parts[6],
-                        parts[7]
-                ));
-            } else if (role.equals("role=pasien")) {
-                // Format: nik;nama;alamat;noTelp;email;lahir;pass;rekamMedis;role=pasien
-                users.add(new Pasien(
-                        parts[0],
-                        parts[1],
-                        parts[2],
-                        parts[3],
-                        parts[4],
-                        parts[5],
-                        parts[6],
-                        parts[7]
-                ));
-            } else {
-                // fallback (jaga-jaga)
-                users.add(new User(
-                        parts[0],
-                        parts[1],
-                        parts[2],
-                        parts[3],
-                        parts[4],
-                        parts[5],
-                        parts[6]
-                ));
-            }
+            User user = parseUser(line);
+            if (user != null) users.add(user);
         }
 
         return users;
     }
 
+    /**
+     * Mengubah satu baris users.txt menjadi objek Admin, Pasien, atau User sesuai role.
+     *
+     * @param line baris data user
+     * @return objek user, atau {@code null} jika baris kosong atau rusak
+     */
+    static User parseUser(String line) {
+        if (line.trim().isEmpty()) return null;
+
+        String[] parts = line.split(";");
+        if (parts.length < 8) return null; // format rusak
+
+        String role = parts[parts.length - 1].trim().toLowerCase();
+
+        if (role.equals("role=admin")) {
+            // Format: nik;nama;alamat;noTelp;email;lahir;pass;jabatan;role=admin
+            return new Admin(
+                    parts[0],
+                    parts[1],
+                    parts[2],
+                    parts[3],
+                    parts[4],
+                    parts[5],
+                    parts[6],
+                    parts[7]
+            );
+        } else if (role.equals("role=pasien")) {
+            // Format: nik;nama;alamat;noTelp;email;lahir;pass;rekamMedis;role=pasien
+            return new Pasien(
+                    parts[0],
+                    parts[1],
+                    parts[2],
+                    parts[3],
+                    parts[4],
+                    parts[5],
+                    parts[6],
+                    parts[7]
+            );
+        } else {
+            // fallback (jaga-jaga)
+            return new User(
+                    parts[0],
+                    parts[1],
+                    parts[2],
+                    parts[3],
+                    parts[4],
+                    parts[5],
+                    parts[6]
+            );
+        }
+    }
+
     /**
      * Menyimpan daftar pengguna ke file User.txt.
      * Setiap objek akan dikonversi ke format string sesuai role-nya.
+     * File lama baru diganti setelah isi baru selesai ditulis ke disk.
      *
      * @param users daftar user yang akan disimpan
      * @throws IOException jika terjadi kesalahan saat menulis file
      */
     public static void saveUsers(List<User> users) throws IOException {
-        File file = new File(USER_FILE);
-        
-        // === PERBAIKAN DI SINI (Ini adalah error Anda: line 122) ===
-        File parentDir = file.getParentFile();
-        if (parentDir != null && !parentDir.exists()) {
-            parentDir.mkdirs();
-        }
-        // =========================================================
+        // ditulis ke file sementara lalu di-rename, sehingga crash tidak mengosongkan User.txt
+        USER_LOCK.tulis(() -> {
+            AtomicFileWriter.write(Paths.get(USER_FILE), out -> {
+                BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                for (User user : users) {
+                    writer.write(user.toString());
+                    writer.newLine();
+                }
+                writer.flush();
+            });
+            return null;
+        });
+    }
 
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
-            for (User user : users) {
-                writer.write(user.toString());
-                writer.newLine();
-            }
-        }
+    /**
+     * Mendaftarkan user baru jika NIK dan email-nya belum dipakai.
+     *
+     * <p>Pemeriksaan duplikat memakai {@link UserDirectory} (Bloom filter di depan
+     * indeks hash NIK/email), lalu user ditambahkan sebagai satu baris di akhir
+     * users.txt. Keduanya dilakukan di bawah kunci eksklusif users.txt, sehingga
+     * dua kiosk yang mendaftarkan NIK yang sama tidak bisa sama-sama berhasil,
+     * dan file tidak pernah ditulis ulang.</p>
+     *
+     * <p>NIK dan email dibandingkan tanpa membedakan huruf besar/kecil. Login juga
+     * mencocokkan email tanpa membedakan huruf besar/kecil, sehingga dua akun yang
+     * emailnya hanya berbeda huruf besar/kecil tidak bisa dibedakan saat login.</p>
+     *
+     * @param user user baru
+     * @return {@code true} jika tersimpan, {@code false} jika NIK atau email sudah terdaftar
+     * @throws IOException jika gagal membaca atau menulis file
+     */
+    public static boolean registerUser(User user) throws IOException {
+        return USER_LOCK.tulis(() -> {
+            if (UserDirectory.getInstance().isTerdaftar(user.getNik(), user.getEmail())) return false;
+            appendUser(user);
+            return true;
+        });
     }
 
     // ===========================
@@ -137,12 +236,209 @@ public class FileService {
     // ===========================
 
     /**
-     * Membaca semua data antrian dari file Antrian.txt.
+     * Membaca semua data antrian dari file Antrian.txt, lalu memutar ulang
+     * log mutasi di atasnya sehingga hasilnya mencerminkan perubahan terbaru.
+     * Jika log sudah terlalu panjang, snapshot ditulis ulang (checkpoint).
      *
      * @return List berisi semua data antrian
      * @throws IOException jika file tidak ditemukan atau rusak
      */
     public static List<Antrian> loadAntrian() throws IOException {
+        if (storageMode == StorageMode.SEGMENTED) {
+            return loadAntrianSegmented(null, null);
+        }
+
+        long[] versi = new long[1];
+        int[] replayed = new int[1];
+        List<Antrian> antrianList = ANTRIAN_LOCK.baca(() -> {
+            versi[0] = ANTRIAN_LOCK.versi();
+            List<Antrian> list = loadAntrianSnapshot();
+            replayed[0] = ANTRIAN_LOG.replay(list);
+            return list;
+        });
+
+        checkpointJikaPerlu(versi[0], antrianList, replayed[0], null);
+        return antrianList;
+    }
+
+    /**
+     * Checkpoint: jika log mutasi sudah berisi setidaknya {@value #CHECKPOINT_THRESHOLD}
+     * entri, snapshot ditulis ulang dari data yang sudah dibaca pemanggil lalu
+     * log dikosongkan. Dipakai {@link #loadAntrian()} dan pemuatan penuh
+     * {@link AntrianRepository}, sehingga panjang log tetap terbatas apa pun
+     * jalur bacanya. Pada mode {@code SEGMENTED} log dipadatkan oleh
+     * {@link AntrianSegmentCompactor}, sehingga method ini tidak melakukan apa pun.
+     *
+     * @param versiTerbaca versi data antrian sebelum {@code antrianList} dibaca
+     * @param antrianList hasil baca lengkap (snapshot dengan log diterapkan)
+     * @param jumlahEntriLog jumlah entri log yang ikut dibaca
+     * @param setelahDitulis aksi yang dijalankan di dalam kunci eksklusif setelah
+     *                       checkpoint selesai, atau {@code null}
+     * @return {@code true} jika checkpoint dijalankan
+     * @throws IOException jika snapshot atau log gagal ditulis
+     */
+    static boolean checkpointJikaPerlu(long versiTerbaca, List<Antrian> antrianList, int jumlahEntriLog,
+                                       SharedFileLock.Aksi<?> setelahDitulis) throws IOException {
+        if (storageMode == StorageMode.SEGMENTED || jumlahEntriLog < CHECKPOINT_THRESHOLD) return false;
+
+        // checkpoint hanya jika tidak ada proses lain yang menulis sejak data dibaca
+        return ANTRIAN_LOCK.tulisJikaVersi(versiTerbaca, () -> {
+            writeAntrianSnapshot(antrianList);
+            ANTRIAN_LOG.kosongkan();
+            if (setelahDitulis != null) setelahDitulis.jalankan();
+            return null;
+        });
+    }
+
+    /**
+     * Membaca antrian yang timestamp-nya berada di rentang {@code [dari, sampai]}.
+     * Pada mode {@code SEGMENTED} hanya segmen yang beririsan dengan rentang
+     * tersebut yang dibuka; pada mode lain data lengkap dimuat lalu disaring.
+     *
+     * @param dari batas awal (inklusif)
+     * @param sampai batas akhir (inklusif)
+     * @return List berisi antrian dalam rentang waktu tersebut
+     * @throws IOException jika file tidak dapat dibaca
+     */
+    public static List<Antrian> loadAntrian(LocalDateTime dari, LocalDateTime sampai) throws IOException {
+        if (storageMode == StorageMode.SEGMENTED) {
+            return loadAntrianSegmented(dari, sampai);
+        }
+        List<Antrian> antrianList = loadAntrian();
+        antrianList.removeIf(a -> a.getTimestamp().isBefore(dari) || a.getTimestamp().isAfter(sampai));
+        return antrianList;
+    }
+
+    /**
+     * Membaca antrian dari segmen (seluruhnya atau sesuai rentang waktu), lalu
+     * memutar ulang log mutasi. Segmen dan log dibaca di bawah kunci bersama agar
+     * tidak bertabrakan dengan pemadat latar belakang maupun proses lain. Jika log sudah terlalu
+     * panjang, pemadat diminta menerapkannya ke segmen.
+     */
+    private static List<Antrian> loadAntrianSegmented(LocalDateTime dari, LocalDateTime sampai) throws IOException {
+        if (!Files.exists(SEGMENT_STORE.versionFile())) {
+            // pertama kali memakai mode segmen: pecah snapshot teks menjadi segmen
+            migrasiKeSegmen();
+        }
+
+        int[] replayed = new int[1];
+        List<Antrian> antrianList = ANTRIAN_LOCK.baca(() -> {
+            List<Antrian> list = dari == null
+                    ? SEGMENT_STORE.readAll()
+                    : SEGMENT_STORE.read(dari.toLocalDate(), sampai.toLocalDate());
+            replayed[0] = ANTRIAN_LOG.replay(list);
+            return list;
+        });
+
+        if (dari != null) {
+            // log bisa berisi antrian di luar rentang, dan segmen dibaca per hari penuh
+            antrianList.removeIf(a -> a.getTimestamp().isBefore(dari) || a.getTimestamp().isAfter(sampai));
+        }
+        if (replayed[0] >= CHECKPOINT_THRESHOLD) {
+            SEGMENT_COMPACTOR.request();
+        }
+        return antrianList;
+    }
+
+    /** @return mode penyimpanan snapshot antrian yang sedang aktif */
+    public static StorageMode getStorageMode() {
+        return storageMode;
+    }
+
+    /**
+     * Memecah snapshot teks Antrian.txt menjadi segmen per tanggal.
+     */
+    private static void migrasiKeSegmen() throws IOException {
+        ANTRIAN_LOCK.tulis(() -> {
+            if (Files.exists(SEGMENT_STORE.versionFile())) return null;
+            List<Antrian> antrianList = new ArrayList<>();
+            if (new File(ANTRIAN_FILE).exists()) {
+                for (String line : Files.readAllLines(Paths.get(ANTRIAN_FILE))) {
+                    Antrian a = parseAntrian(line);
+                    if (a != null) antrianList.add(a);
+                }
+            }
+            SEGMENT_STORE.writeAll(antrianList);
+            System.out.println("[INFO] " + antrianList.size() + " antrian dipindahkan ke " + ANTRIAN_SEGMENT_DIR);
+            return null;
+        });
+    }
+
+    /**
+     * Mengganti mode penyimpanan snapshot antrian. Isi snapshot mode sebelumnya
+     * dikonversi ke format mode tujuan sehingga data tidak hilang saat berpindah.
+     *
+     * @param mode mode penyimpanan baru
+     * @throws IOException jika konversi gagal
+     */
+    public static synchronized void setStorageMode(StorageMode mode) throws IOException {
+        if (mode == storageMode) return;
+
+        ANTRIAN_LOCK.tulis(() -> {
+            if (storageMode == StorageMode.TEXT && mode == StorageMode.BINARY) {
+                // konversi streaming tanpa menampung seluruh data di memori
+                long count = AntrianBinaryFormat.convertFromText(Paths.get(ANTRIAN_FILE), Paths.get(ANTRIAN_BIN_FILE));
+                System.out.println("[INFO] " + count + " antrian dikonversi ke " + ANTRIAN_BIN_FILE);
+                storageMode = mode;
+                return null;
+            }
+
+            if (storageMode == StorageMode.SEGMENTED) {
+                // pastikan log sudah tercakup di segmen sebelum dibaca sebagai snapshot
+                SEGMENT_COMPACTOR.runOnce();
+            }
+            List<Antrian> antrianList = loadAntrianSnapshot();
+            storageMode = mode;
+            writeAntrianSnapshot(antrianList);
+            return null;
+        });
+
+        if (mode == StorageMode.SEGMENTED) {
+            SEGMENT_COMPACTOR.start();
+        } else {
+            SEGMENT_COMPACTOR.stop();
+        }
+    }
+
+    /**
+     * Jalur baca alternatif untuk {@link #loadAntrian()} yang memetakan snapshot
+     * Antrian.txt ke memori ({@link MappedAntrianReader}) alih-alih memuat
+     * seluruh baris sebagai {@code List<String>}. Cocok untuk riwayat yang besar.
+     * Log mutasi tetap diputar ulang seperti biasa.
+     *
+     * @return List berisi semua data antrian
+     * @throws IOException jika file tidak dapat dipetakan atau dibaca
+     */
+    public static List<Antrian> loadAntrianMapped() throws IOException {
+        if (storageMode != StorageMode.TEXT) {
+            return loadAntrian();
+        }
+        return ANTRIAN_LOCK.baca(() -> {
+            List<Antrian> antrianList = MappedAntrianReader.read(Paths.get(ANTRIAN_FILE));
+            ANTRIAN_LOG.replay(antrianList);
+            return antrianList;
+        });
+    }
+
+    /**
+     * Membaca isi snapshot saja (Antrian.txt atau antrian.bin sesuai mode),
+     * tanpa memutar ulang log.
+     *
+     * @return List berisi data antrian pada snapshot
+     * @throws IOException jika file tidak dapat dibaca
+     */
+    private static List<Antrian> loadAntrianSnapshot() throws IOException {
+        if (storageMode == StorageMode.SEGMENTED) {
+            return SEGMENT_STORE.readAll();
+        }
+        if (storageMode == StorageMode.BINARY) {
+            if (!new File(ANTRIAN_BIN_FILE).exists()) {
+                // pertama kali memakai mode biner: konversi dari snapshot teks
+                AntrianBinaryFormat.convertFromText(Paths.get(ANTRIAN_FILE), Paths.get(ANTRIAN_BIN_FILE));
+            }
+            return AntrianBinaryFormat.read(Paths.get(ANTRIAN_BIN_FILE));
+        }
+
         List<Antrian> antrianList = new ArrayList<>();
         File file = new File(ANTRIAN_FILE);
 
@@ -154,51 +450,354 @@ public class FileService {
         }
 
         List<String> lines = Files.readAllLines(Paths.get(ANTRIAN_FILE));
-        DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
 
         for (String line : lines) {
-            if (line.trim().isEmpty()) continue;
-            String[] parts = line.split(";");
-            if (parts.length < 10) continue;
-
-            try {
-                Antrian a = new Antrian(
-                        Integer.parseInt(parts[0]),
-                        parts[1],
-                        parts[2],
-                        parts[3],
-                        parts[4],
-                        parts[5],
-                        parts[6],
-                        parts[7].replace("\\n", "\n"),
-                        parts[8],
-                        LocalDateTime.parse(parts[9], formatter)
-                );
-                antrianList.add(a);
-            } catch (Exception e) {
-                System.err.println("[WARN] Gagal parse antrian: " + line);
-            }
+            Antrian a = parseAntrian(line);
+            if (a != null) antrianList.add(a);
         }
 
         return antrianList;
     }
 
     /**
-     * Menyimpan daftar antrian ke file Antrian.txt.
+     * Mengubah satu baris teks berformat {@link Antrian#toString()} menjadi objek antrian.
+     *
+     * @param line baris data antrian
+     * @return objek antrian, atau {@code null} jika baris kosong atau rusak
+     */
+    static Antrian parseAntrian(String line) {
+        if (line.trim().isEmpty()) return null;
+        String[] parts = line.split(";");
+        if (parts.length < 10) return null;
+
+        try {
+            return new Antrian(
+                    Integer.parseInt(parts[0]),
+                    parts[1],
+                    parts[2],
+                    parts[3],
+                    parts[4],
+                    parts[5],
+                    parts[6],
+                    parts[7].replace("\\n", "\n"),
+                    parts[8],
+                    LocalDateTime.parse(parts[9], DateTimeFormatter.ISO_LOCAL_DATE_TIME)
+            );
+        } catch (Exception e) {
+            System.err.println("[WARN] Gagal parse antrian: " + line);
+            return null;
+        }
+    }
+
+    /**
+     * Menyimpan daftar antrian sebagai snapshot baru (Antrian.txt, antrian.bin, atau
+     * segmen sesuai mode), lalu mengosongkan log mutasi karena seluruh perubahan sudah tercakup.
      *
      * @param antrianList daftar antrian yang akan disimpan
      * @throws IOException jika terjadi kesalahan saat menulis file
      */
     public static void saveAntrian(List<Antrian> antrianList) throws IOException {
-        File file = new File(ANTRIAN_FILE);
-        File parentDir = file.getParentFile(); // Kode ini sudah benar
-        if (parentDir != null && !parentDir.exists()) parentDir.mkdirs();
+        ANTRIAN_LOCK.tulis(() -> {
+            writeAntrianSnapshot(antrianList);
+            ANTRIAN_LOG.kosongkan();
+            return null;
+        });
+    }
 
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
+    /**
+     * Menulis snapshot antrian sesuai mode penyimpanan aktif.
+     * Penulisan bersifat atomik ({@link AtomicFileWriter}): snapshot lama tetap utuh
+     * sampai snapshot baru selesai ditulis dan di-{@code fsync}.
+     *
+     * @param antrianList daftar antrian yang akan disimpan
+     * @throws IOException jika terjadi kesalahan saat menulis file
+     */
+    private static void writeAntrianSnapshot(List<Antrian> antrianList) throws IOException {
+        if (storageMode == StorageMode.SEGMENTED) {
+            SEGMENT_STORE.writeAll(antrianList);
+            return;
+        }
+        if (storageMode == StorageMode.BINARY) {
+            AntrianBinaryFormat.write(Paths.get(ANTRIAN_BIN_FILE), antrianList);
+            return;
+        }
+
+        AtomicFileWriter.write(Paths.get(ANTRIAN_FILE), out -> {
+            BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
             for (Antrian a : antrianList) {
                 writer.write(a.toString());
                 writer.newLine();
             }
+            writer.flush();
+        });
+    }
+
+    /**
+     * Mengubah status satu antrian dengan mencatatnya ke log mutasi,
+     * tanpa membaca ataupun menulis ulang seluruh file antrian.
+     *
+     * <p>Keberadaan antrian diperiksa di cache {@link AntrianRepository} tanpa
+     * memegang kunci eksklusif, lalu entri log hanya ditulis jika versi data
+     * antrian belum berubah sejak diperiksa. Jika proses lain sempat menulis,
+     * pemeriksaan dan penulisan entri ini saja yang diulang. Entri ikut group
+     * commit log, sehingga perubahan yang datang bersamaan ditulis dengan satu
+     * {@code fsync}.</p>
+     *
+     * @param id ID antrian
+     * @param status status baru
+     * @return {@code true} jika tersimpan, {@code false} jika antrian sudah tidak ada
+     *         (misal sudah dihapus dari workstation lain)
+     * @throws IOException jika gagal menulis ke log
+     */
+    public static boolean updateStatusAntrian(int id, String status) throws IOException {
+        return ubahAntrianOptimistik(id, syarat -> ANTRIAN_LOG.catatStatus(id, status, syarat));
+    }
+
+    /**
+     * Menghapus satu antrian dengan mencatatnya ke log mutasi.
+     * Konflik dengan proses lain ditangani sama seperti {@link #updateStatusAntrian(int, String)}.
+     *
+     * @param id ID antrian yang dihapus
+     * @return {@code true} jika terhapus, {@code false} jika antrian sudah tidak ada
+     * @throws IOException jika gagal menulis ke log
+     */
+    public static boolean hapusAntrian(int id) throws IOException {
+        return ubahAntrianOptimistik(id, syarat -> ANTRIAN_LOG.catatHapus(id, syarat));
+    }
+
+    /**
+     * Mencari satu antrian berdasarkan ID.
+     *
+     * <p>Pada mode {@code TEXT}, baris di Antrian.txt ditemukan lewat indeks primer
+     * {@code antrian.idx} ({@link AntrianIdIndex}) tanpa mem-parse seluruh file, lalu
+     * hanya entri log untuk ID tersebut yang diterapkan. Indeks dibangun ulang
+     * otomatis jika hilang atau basi. Pada mode lain data dimuat lalu disaring.</p>
+     *
+     * @param id ID antrian
+     * @return antrian dengan ID tersebut, atau {@code null} jika tidak ada
+     * @throws IOException jika file tidak dapat dibaca
+     */
+    public static Antrian findAntrianById(int id) throws IOException {
+        List<Antrian> hasil = findAntrianByIdRange(id, id);
+        return hasil.isEmpty() ? null : hasil.get(0);
+    }
+
+    /**
+     * Mencari antrian dengan ID dalam rentang {@code [dari, sampai]}, memakai
+     * indeks primer seperti {@link #findAntrianById(int)}.
+     *
+     * @param dari ID awal (inklusif)
+     * @param sampai ID akhir (inklusif)
+     * @return daftar antrian terurut berdasarkan ID
+     * @throws IOException jika file tidak dapat dibaca
+     */
+    public static List<Antrian> findAntrianByIdRange(int dari, int sampai) throws IOException {
+        List<Antrian> hasil;
+        if (storageMode == StorageMode.TEXT) {
+            hasil = ANTRIAN_LOCK.baca(() -> {
+                List<Antrian> list = ID_INDEX.cariRentang(dari, sampai);
+                AntrianLog.terapkan(list, AntrianLog.saring(ANTRIAN_LOG.baca().baris,
+                        id -> id >= dari && id <= sampai));
+                return list;
+            });
+        } else {
+            hasil = loadAntrian();
+            hasil.removeIf(a -> a.getId() < dari || a.getId() > sampai);
+        }
+        hasil.sort(Comparator.comparingInt(Antrian::getId));
+        return hasil;
+    }
+
+    /**
+     * Membuka kursor yang membaca antrian satu per satu sesuai filter, tanpa
+     * memuat seluruh data ke memori. Kriteria filter diperiksa pada baris mentah
+     * sebelum objek antrian dibuat, sehingga hanya antrian yang cocok yang
+     * dialokasikan. Pada mode {@code SEGMENTED} hanya segmen yang beririsan dengan
+     * rentang waktu filter yang dibuka, dan arsip terkompresi didekompresi sambil dibaca. Mode {@code BINARY} tidak menyimpan baris
+     * teks, sehingga datanya dimuat lebih dulu lalu disaring.
+     *
+     * <p>File sumber dan log dibaca di bawah kunci baca saat kursor dibuka;
+     * pembacaan baris berikutnya tidak menahan kunci.</p>
+     *
+     * @param filter kriteria penyaringan
+     * @return kursor yang wajib ditutup setelah dipakai
+     * @throws IOException jika file tidak dapat dibuka
+     */
+    public static AntrianCursor bukaCursor(AntrianFilter filter) throws IOException {
+        if (storageMode == StorageMode.BINARY) {
+            return new AntrianCursor(loadAntrian(), filter);
+        }
+        if (storageMode == StorageMode.SEGMENTED && !Files.exists(SEGMENT_STORE.versionFile())) {
+            migrasiKeSegmen();
+        }
+
+        return ANTRIAN_LOCK.baca(() -> {
+            List<Path> files;
+            if (storageMode == StorageMode.SEGMENTED) {
+                files = SEGMENT_STORE.segmentFiles(
+                        filter.getDari() == null ? null : filter.getDari().toLocalDate(),
+                        filter.getSampai() == null ? null : filter.getSampai().toLocalDate());
+            } else {
+                files = List.of(Paths.get(ANTRIAN_FILE));
+            }
+
+            List<BufferedReader> readers = new ArrayList<>();
+            try {
+                for (Path file : files) {
+                    if (Files.exists(file)) readers.add(AntrianSegmentStore.openReader(file));
+                }
+                return new AntrianCursor(readers, ANTRIAN_LOG.baca().baris, filter);
+            } catch (IOException | RuntimeException e) {
+                for (BufferedReader reader : readers) reader.close();
+                throw e;
+            }
+        });
+    }
+
+    /**
+     * Versi {@link Stream} dari {@link #bukaCursor(AntrianFilter)}. Stream wajib
+     * ditutup (misal dengan try-with-resources). Kegagalan membaca file di tengah
+     * stream dilempar sebagai {@link UncheckedIOException}.
+     *
+     * @param filter kriteria penyaringan
+     * @return stream antrian yang cocok
+     * @throws IOException jika file tidak dapat dibuka
+     */
+    public static Stream<Antrian> streamAntrian(AntrianFilter filter) throws IOException {
+        AntrianCursor cursor = bukaCursor(filter);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(cursor,
+                        Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    try {
+                        cursor.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    /**
+     * Mengambil antrian yang cocok dengan filter sebagai daftar.
+     *
+     * @param filter kriteria penyaringan
+     * @return daftar antrian yang cocok, urut sesuai file data, disimpan sebagai
+     *         {@link AntrianTable} (keluhan di luar heap, di-decode saat dibaca)
+     * @throws IOException jika file tidak dapat dibaca
+     */
+    public static List<Antrian> cariAntrian(AntrianFilter filter) throws IOException {
+        AntrianTable hasil = new AntrianTable();
+        try (AntrianCursor cursor = bukaCursor(filter)) {
+            cursor.forEachRemaining(hasil::add);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        hasil.padatkan();
+        return hasil;
+    }
+
+    /**
+     * Mengambil antrian yang dibuat oleh pengguna dengan NIK tertentu lewat
+     * indeks NIK di {@link AntrianRepository}. File hanya di-parse ulang jika
+     * berubah, dan biaya pengambilannya sebanding dengan jumlah antrian pengguna.
+     * Status kosong ditampilkan sebagai "Baru", sama seperti
+     * {@link #loadAndProcessAntrianStatus()}.
+     *
+     * @param nik NIK pembuat antrian
+     * @return daftar antrian milik pengguna, urut sesuai file data
+     * @throws IOException jika file tidak dapat dibaca
+     */
+    public static List<Antrian> cariAntrianPembuat(String nik) throws IOException {
+        return prosesStatus(AntrianRepository.getInstance().getByNikPembuat(nik));
+    }
+
+    /**
+     * Mengambil antrian untuk pasien dengan NIK tertentu lewat indeks NIK di
+     * {@link AntrianRepository}, dengan status kosong ditampilkan sebagai "Baru".
+     *
+     * @param nik NIK pasien
+     * @return daftar antrian pasien, urut sesuai file data
+     * @throws IOException jika file tidak dapat dibaca
+     */
+    public static List<Antrian> cariAntrianPasien(String nik) throws IOException {
+        return prosesStatus(AntrianRepository.getInstance().getByNikPasien(nik));
+    }
+
+    /**
+     * Nomor versi data antrian, naik setiap kali ada proses yang mengubah data
+     * (antrian baru, perubahan status, penghapusan, checkpoint). Membacanya hanya
+     * membaca 8 byte file kunci, sehingga cocok untuk mendeteksi perubahan secara berkala.
+     *
+     * @return nomor versi data antrian saat ini
+     * @throws IOException jika file kunci tidak dapat dibaca
+     */
+    public static long getVersiAntrian() throws IOException {
+        return ANTRIAN_LOCK.versi();
+    }
+
+    /**
+     * Entri log yang dicatat oleh {@link #ubahAntrianOptimistik}.
+     */
+    @FunctionalInterface
+    private interface MutasiAntrian {
+        /**
+         * @param syarat syarat yang diperiksa pemegang kunci log sebelum entri ditulis
+         * @return {@code true} jika entri ditulis
+         */
+        boolean catat(AntrianLog.Syarat syarat) throws IOException;
+    }
+
+    /**
+     * Mencatat mutasi untuk satu antrian dengan optimistic concurrency: validasi
+     * dilakukan di luar kunci eksklusif terhadap cache {@link AntrianRepository}
+     * (yang hanya membaca entri log baru), dan hanya mutasi ini yang diulang jika
+     * data antrian diubah pihak lain di antara validasi dan penulisan (lihat
+     * {@link AntrianLog#tanpaKonflik(long, int)}).
+     *
+     * <p>Validasi tidak boleh dilakukan di dalam kunci eksklusif: repository
+     * mengambil kunci baca data antrian saat memuat ulang sambil memegang
+     * monitornya sendiri.</p>
+     */
+    private static boolean ubahAntrianOptimistik(int id, MutasiAntrian mutasi) throws IOException {
+        for (int percobaan = 0; percobaan < MAX_PERCOBAAN; percobaan++) {
+            long versi = ANTRIAN_LOCK.versi();
+            if (!AntrianRepository.getInstance().ada(id)) return false;
+            if (mutasi.catat(ANTRIAN_LOG.tanpaKonflik(versi, id))) {
+                return true;
+            }
+        }
+
+        // terlalu sering bentrok: pemegang kunci log memvalidasi langsung dari file
+        return mutasi.catat(versiSaatIni -> adaDiFile(id));
+    }
+
+    /**
+     * Memeriksa apakah antrian dengan ID tertentu masih ada, langsung dari snapshot
+     * dan log. Dipanggil pemegang kunci log di dalam kunci eksklusif data antrian,
+     * sehingga tidak memakai {@link AntrianRepository}, tidak menjalankan checkpoint,
+     * dan tidak memigrasi atau mengonversi snapshot. Kegagalan tak terduga
+     * dilaporkan sebagai {@link IOException} agar hanya entri ini yang gagal.
+     *
+     * @param id ID antrian
+     * @return {@code true} jika antrian masih ada
+     * @throws IOException jika file tidak dapat dibaca
+     */
+    private static boolean adaDiFile(int id) throws IOException {
+        try {
+            List<Antrian> list = new ArrayList<>();
+            StorageMode mode = storageMode;
+            if (mode == StorageMode.TEXT || (mode == StorageMode.BINARY && !new File(ANTRIAN_BIN_FILE).exists())) {
+                // snapshot masih berupa teks
+                Antrian a = ID_INDEX.cari(id);
+                if (a != null) list.add(a);
+            } else {
+                for (Antrian a : loadAntrianSnapshot()) {
+                    if (a.getId() == id) list.add(a);
+                }
+            }
+            AntrianLog.terapkan(list, AntrianLog.saring(ANTRIAN_LOG.baca().baris, x -> x == id));
+            return !list.isEmpty();
+        } catch (RuntimeException e) {
+            throw new IOException("Gagal memeriksa antrian dengan ID " + id, e);
         }
     }
 
@@ -208,6 +807,9 @@ public class FileService {
 
     /**
      * Menambahkan satu user baru ke file tanpa menimpa data sebelumnya.
+     * Baris baru dipaksa ke disk sebelum method ini kembali. Jika baris terakhir
+     * file terpotong (misal karena crash saat menulis), baris baru dimulai di
+     * baris tersendiri agar tidak tergabung dengan sisa baris tersebut.
      *
      * @param user user baru
      * @throws IOException jika gagal menulis ke file
@@ -222,75 +824,151 @@ public class FileService {
         }
         // =========================
 
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file, true))) {
-            writer.write(user.toString());
-            writer.newLine();
+        USER_LOCK.tulis(() -> {
+            String baris = user.toString() + System.lineSeparator();
+            if (!diakhiriNewline(file)) baris = System.lineSeparator() + baris;
+            try (FileOutputStream out = new FileOutputStream(file, true)) {
+                out.write(baris.getBytes(StandardCharsets.UTF_8));
+                out.getFD().sync();
+            }
+            return null;
+        });
+    }
+
+    /**
+     * @return {@code true} jika file kosong/tidak ada atau byte terakhirnya newline
+     */
+    private static boolean diakhiriNewline(File file) throws IOException {
+        if (!file.exists() || file.length() == 0) return true;
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            raf.seek(raf.length() - 1);
+            return raf.read() == '\n';
         }
     }
 
     /**
-     * Menambahkan satu data antrian ke file tanpa menimpa data sebelumnya.
+     * Menambahkan satu data antrian tanpa menimpa data sebelumnya.
+     * Data dicatat sebagai entri CREATE di log mutasi agar urutannya
+     * tetap konsisten dengan perubahan status dan penghapusan.
      *
      * @param antrian data antrian baru
      * @throws IOException jika gagal menulis ke file
      */
     public static void appendAntrian(Antrian antrian) throws IOException {
-        File file = new File(ANTRIAN_FILE);
-        File parentDir = file.getParentFile(); // Kode ini sudah benar
-        if (parentDir != null && !parentDir.exists()) parentDir.mkdirs();
-
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file, true))) {
-            writer.write(antrian.toString());
-            writer.newLine();
-        }
+        ANTRIAN_LOG.catatCreate(antrian);
     }
 
     /**
      * Memuat semua antrian dan memperbarui status otomatis jika diperlukan.
-     * Untuk kompatibilitas dengan controller lama.
+     * Data diambil dari {@link AntrianRepository}, sehingga file hanya di-parse
+     * ulang jika isinya berubah sejak pemanggilan sebelumnya.
+     *
+     * <p>Elemen dari repository dipakai bersama dengan cache-nya, sehingga antrian
+     * yang statusnya diproses diganti dengan salinan; cache dan file tidak berubah.</p>
      *
      * @return Daftar antrian yang telah diproses
      * @throws IOException jika gagal membaca file
      */
     public static List<Antrian> loadAndProcessAntrianStatus() throws IOException {
-        List<Antrian> list = loadAntrian();
+        return prosesStatus(AntrianRepository.getInstance().getAll());
+    }
 
+    /**
+     * Memberi status "Baru" pada antrian yang statusnya kosong (data lama).
+     * Antrian tersebut diganti dengan salinan di {@code list}, sehingga elemen
+     * yang dipakai bersama cache {@link AntrianRepository} tidak berubah.
+     *
+     * @param list daftar baru dari repository
+     * @return {@code list} yang sama
+     */
+    private static List<Antrian> prosesStatus(List<Antrian> list) {
         // Jika ingin memproses otomatis, misal ubah status "Baru" menjadi "Diproses"
-        for (Antrian a : list) {
+        for (int i = 0; i < list.size(); i++) {
+            Antrian a = list.get(i);
             if (a.getStatus() == null || a.getStatus().isEmpty()) {
-                a.setStatus("Baru");
+                list.set(i, new Antrian(a.getId(), a.getNikPembuat(), a.getNikPasien(), a.getNamaPasien(),
+                        a.getAlamatPasien(), a.getNoTeleponPasien(), a.getPoli(), a.getKeluhan(),
+                        "Baru", a.getTimestamp()));
             }
         }
-
         return list;
     }
 
     /**
-     * Mengambil ID antrian berikutnya berdasarkan data terakhir di file.
+     * @return path snapshot antrian sesuai mode penyimpanan aktif; pada mode
+     *         {@code SEGMENTED} berupa file penanda versi segmen
+     */
+    static Path antrianSnapshotFile() {
+        return switch (storageMode) {
+            case BINARY -> Paths.get(ANTRIAN_BIN_FILE);
+            case SEGMENTED -> SEGMENT_STORE.versionFile();
+            default -> Paths.get(ANTRIAN_FILE);
+        };
+    }
+
+    /** @return path log mutasi antrian */
+    static Path antrianLogFile() {
+        return Paths.get(ANTRIAN_LOG_FILE);
+    }
+
+    /** @return path file data user */
+    static Path userFile() {
+        return Paths.get(USER_FILE);
+    }
+
+    /** @return kunci antar-proses untuk file data user */
+    static SharedFileLock userLock() {
+        return USER_LOCK;
+    }
+
+    /**
+     * Mengambil ID antrian berikutnya dari file sequence {@code antrian.seq}.
+     * ID langsung dicadangkan sehingga aman dipanggil dari beberapa thread
+     * sekaligus, dan tidak perlu membaca seluruh file antrian.
      *
      * @return nilai ID berikutnya (increment)
-     * @throws IOException jika file tidak dapat dibaca
+     * @throws IOException jika file sequence tidak dapat dibaca atau ditulis
      */
     public static int getNextAntrianId() throws IOException {
-        List<Antrian> list = loadAntrian();
-        if (list.isEmpty()) {
-            return 1;
-        } else {
-            return list.get(list.size() - 1).getId() + 1;
+        return ID_ALLOCATOR.next();
+    }
+
+    /**
+     * Membaca mode penyimpanan dari system property {@code antrian.storage}.
+     * Pada mode {@code SEGMENTED} pemadat segmen langsung dijalankan.
+     */
+    private static StorageMode storageModeDariProperty() {
+        String value = System.getProperty("antrian.storage", "");
+        if (value.equalsIgnoreCase("binary")) return StorageMode.BINARY;
+        if (value.equalsIgnoreCase("segmented")) {
+            SEGMENT_COMPACTOR.start();
+            return StorageMode.SEGMENTED;
         }
+        return StorageMode.TEXT;
     }
 
     /**
-     * Menghapus seluruh data dalam file Antrian.txt.
+     * Menghapus seluruh data dalam file Antrian.txt (serta antrian.bin dan segmen) beserta log mutasinya.
+     * Penomoran antrian juga dimulai ulang dari 1.
      *
      * @throws IOException jika gagal membersihkan file
      */
     public static void clearAntrianFile() throws IOException {
-        File file = new File(ANTRIAN_FILE);
-        if (file.exists()) {
-            new FileWriter(file, false).close();
-            System.out.println("[INFO] Semua data antrian telah dihapus.");
-        }
+        // data dihapus di dalam kunci sequence: tidak ada ID yang dibagikan sebelum sequence direset
+        ID_ALLOCATOR.reset(() -> ANTRIAN_LOCK.tulis(() -> {
+            File file = new File(ANTRIAN_FILE);
+            if (file.exists()) {
+                new FileWriter(file, false).close();
+                System.out.println("[INFO] Semua data antrian telah dihapus.");
+            }
+            File binFile = new File(ANTRIAN_BIN_FILE);
+            if (binFile.exists()) {
+                AntrianBinaryFormat.write(binFile.toPath(), new ArrayList<>());
+            }
+            SEGMENT_STORE.clear();
+            ANTRIAN_LOG.kosongkan();
+            return null;
+        }));
     }
 
 }
\ No newline at end of file
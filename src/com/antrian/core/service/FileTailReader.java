@@ -0,0 +1,171 @@
+package com.antrian.core.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Kelas {@code FileTailReader} membaca baris-baris baru yang ditambahkan di akhir
+ * sebuah file teks, mirip {@code tail -f}.
+ *
+ * <p>Pembaca mengingat posisi byte terakhir yang sudah dikonsumsi, sehingga setiap
+ * pemanggilan {@link #readNewLines()} hanya membaca byte baru. Baris yang belum
+ * diakhiri newline ditunda sampai lengkap.</p>
+ *
+ * <p>Jika file terpotong (ukurannya lebih kecil dari posisi terakhir), diganti
+ * dengan file lain, atau beberapa byte sebelum posisi terakhir berubah (file
+ * ditulis ulang), {@link #readNewLines()} mengembalikan {@code null} sebagai tanda
+ * bahwa pemanggil harus memuat ulang seluruh file lalu memanggil {@link #reset(long)}.</p>
+ *
+ * @author
+ *  Sulistyo Fajar Pratama,
+ *  Dinda Diyah Arifa,
+ *  Musthofa Agung Distyawan
+ * @version 1.0
+ * @since 2025
+ */
+public final class FileTailReader {
+
+    /** Jumlah byte sebelum posisi terakhir yang disimpan untuk mendeteksi penulisan ulang. */
+    private static final int ANCHOR_SIZE = 64;
+
+    private final Path path;
+    /** Posisi byte setelah baris lengkap terakhir yang sudah dibaca. */
+    private long offset;
+    /** Salinan byte tepat sebelum {@link #offset}. */
+    private byte[] anchor = new byte[0];
+    /** Identitas file (inode) saat terakhir dibaca, jika didukung sistem file. */
+    private Object fileKey;
+
+    /**
+     * Membuat pembaca ekor file yang dimulai dari awal file.
+     *
+     * @param path path file yang dibaca
+     */
+    public FileTailReader(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Membaca baris-baris lengkap yang ditambahkan sejak pembacaan terakhir.
+     *
+     * @return daftar baris baru (bisa kosong), atau {@code null} jika file terpotong
+     *         atau ditulis ulang sehingga perlu dimuat ulang penuh
+     * @throws IOException jika file tidak dapat dibaca
+     */
+    public synchronized List<String> readNewLines() throws IOException {
+        BasicFileAttributes attr;
+        try {
+            attr = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return offset == 0 ? new ArrayList<>() : null;
+        }
+        if (attr.size() < offset) return null;
+        if (offset > 0 && fileKey != null && !Objects.equals(fileKey, attr.fileKey())) return null;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < offset) return null;
+            if (!anchorMatches(channel)) return null;
+            if (size == offset) return new ArrayList<>();
+
+            long length = size - offset;
+            if (length > Integer.MAX_VALUE - 8) {
+                throw new IOException("Data baru terlalu besar untuk dibaca sekaligus: " + length + " byte");
+            }
+            ByteBuffer buf = ByteBuffer.allocate((int) length);
+            while (buf.hasRemaining() && channel.read(buf, offset + buf.position()) > 0) {
+                // baca sampai penuh
+            }
+
+            byte[] data = buf.array();
+            int filled = buf.position();
+            List<String> lines = new ArrayList<>();
+            int lineStart = 0;
+            for (int i = 0; i < filled; i++) {
+                if (data[i] == '\n') {
+                    int end = (i > lineStart && data[i - 1] == '\r') ? i - 1 : i;
+                    lines.add(new String(data, lineStart, end - lineStart, StandardCharsets.UTF_8));
+                    lineStart = i + 1;
+                }
+            }
+
+            if (lineStart > 0) {
+                advance(data, lineStart);
+            }
+            fileKey = attr.fileKey();
+            return lines;
+        }
+    }
+
+    /**
+     * Menetapkan posisi baca setelah pemanggil memuat ulang file secara penuh.
+     *
+     * @param newOffset posisi byte yang sudah tercakup oleh pemuatan penuh
+     * @throws IOException jika file tidak dapat dibaca
+     */
+    public synchronized void reset(long newOffset) throws IOException {
+        offset = 0;
+        anchor = new byte[0];
+        fileKey = null;
+        if (newOffset <= 0) return;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long target = Math.min(newOffset, channel.size());
+            int len = (int) Math.min(ANCHOR_SIZE, target);
+            ByteBuffer buf = ByteBuffer.allocate(len);
+            while (buf.hasRemaining() && channel.read(buf, target - len + buf.position()) > 0) {
+                // baca sampai penuh
+            }
+            offset = target;
+            anchor = Arrays.copyOf(buf.array(), buf.position());
+            fileKey = Files.readAttributes(path, BasicFileAttributes.class).fileKey();
+        } catch (NoSuchFileException e) {
+            // file belum ada, mulai dari awal
+        }
+    }
+
+    /** @return posisi byte yang sudah dikonsumsi */
+    public synchronized long getOffset() {
+        return offset;
+    }
+
+    /**
+     * Memajukan posisi baca sebanyak {@code consumed} byte dari data baru.
+     */
+    private void advance(byte[] data, int consumed) {
+        int keepOld = Math.max(0, ANCHOR_SIZE - consumed);
+        keepOld = Math.min(keepOld, anchor.length);
+        int keepNew = Math.min(ANCHOR_SIZE, consumed);
+
+        byte[] next = new byte[keepOld + keepNew];
+        System.arraycopy(anchor, anchor.length - keepOld, next, 0, keepOld);
+        System.arraycopy(data, consumed - keepNew, next, keepOld, keepNew);
+
+        anchor = next;
+        offset += consumed;
+    }
+
+    /**
+     * Memastikan byte sebelum posisi terakhir masih sama (file tidak ditulis ulang).
+     */
+    private boolean anchorMatches(FileChannel channel) throws IOException {
+        if (anchor.length == 0) return true;
+        ByteBuffer buf = ByteBuffer.allocate(anchor.length);
+        long start = offset - anchor.length;
+        while (buf.hasRemaining() && channel.read(buf, start + buf.position()) > 0) {
+            // baca sampai penuh
+        }
+        return buf.position() == anchor.length && Arrays.equals(buf.array(), anchor);
+    }
+}
@@ -0,0 +1,217 @@
+package com.antrian.core.service;
+
+import com.antrian.core.model.Antrian;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Kelas {@code MappedAntrianReader} membaca file antrian berformat teks
+ * ({@link Antrian#toString()}) melalui {@link FileChannel#map}.
+ *
+ * <p>Berbeda dengan {@code Files.readAllLines()}, pembaca ini tidak membuat
+ * {@code List<String>} berisi seluruh baris dan tidak memanggil {@code split(";")}.
+ * Batas field dan baris dicari langsung pada {@link MappedByteBuffer}, ID dan
+ * timestamp diurai dari byte, dan hanya field teks yang dijadikan {@code String}.
+ * Dengan begitu puncak pemakaian memori kira-kira hanya sebesar objek
+ * {@code Antrian} yang dihasilkan.</p>
+ *
+ * <p>File yang lebih besar dari satu jendela mapping dibaca per jendela;
+ * setiap jendela selalu dimulai di awal baris.</p>
+ *
+ * @author
+ *  Sulistyo Fajar Pratama,
+ *  Dinda Diyah Arifa,
+ *  Musthofa Agung Distyawan
+ * @version 1.0
+ * @since 2025
+ */
+public final class MappedAntrianReader {
+
+    /** Ukuran maksimum satu jendela mapping (256 MB). */
+    private static final long WINDOW_SIZE = 256L * 1024 * 1024;
+    /** Jumlah field pada satu baris antrian. */
+    private static final int FIELD_COUNT = 10;
+
+    private MappedAntrianReader() {
+    }
+
+    /**
+     * Membaca seluruh antrian dari file teks menggunakan memory-mapped I/O.
+     * Baris kosong atau rusak dilewati, sama seperti {@link FileService#loadAntrian()}.
+     *
+     * @param path path file antrian
+     * @return daftar antrian sesuai urutan di file
+     * @throws IOException jika file tidak dapat dibuka atau dipetakan
+     */
+    public static List<Antrian> read(Path path) throws IOException {
+        List<Antrian> result = new ArrayList<>();
+        if (!Files.exists(path)) return result;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            int[] start = new int[FIELD_COUNT];
+            int[] end = new int[FIELD_COUNT];
+            byte[] scratch = new byte[256];
+
+            while (position < size) {
+                long length = Math.min(WINDOW_SIZE, size - position);
+                MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                boolean lastWindow = position + length >= size;
+
+                int limit = (int) length;
+                int lineStart = 0;
+                int consumed = 0;
+
+                for (int i = 0; i < limit; i++) {
+                    if (buf.get(i) == '\n') {
+                        scratch = parseLine(buf, lineStart, i, start, end, scratch, result);
+                        lineStart = i + 1;
+                        consumed = lineStart;
+                    }
+                }
+                if (lastWindow && lineStart < limit) {
+                    // baris terakhir tanpa newline
+                    parseLine(buf, lineStart, limit, start, end, scratch, result);
+                    consumed = limit;
+                }
+                if (consumed == 0) {
+                    throw new IOException("Baris antrian lebih panjang dari " + WINDOW_SIZE + " byte");
+                }
+                position += consumed;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Mengurai satu baris pada rentang {@code [from, to)} di buffer.
+     *
+     * @return buffer scratch (mungkin diperbesar) untuk dipakai baris berikutnya
+     */
+    private static byte[] parseLine(MappedByteBuffer buf, int from, int to,
+                                    int[] start, int[] end, byte[] scratch, List<Antrian> out) {
+        if (to > from && buf.get(to - 1) == '\r') to--;
+        if (to <= from) return scratch;
+
+        // cari batas field tanpa membuat String
+        int field = 0;
+        start[0] = from;
+        for (int i = from; i < to && field < FIELD_COUNT; i++) {
+            if (buf.get(i) == ';') {
+                end[field] = i;
+                field++;
+                if (field < FIELD_COUNT) start[field] = i + 1;
+            }
+        }
+        if (field < FIELD_COUNT) {
+            end[field] = to;
+            field++;
+        }
+        if (field < FIELD_COUNT) return scratch; // format rusak
+
+        int maxLen = 0;
+        for (int f = 0; f < FIELD_COUNT; f++) maxLen = Math.max(maxLen, end[f] - start[f]);
+        if (maxLen > scratch.length) scratch = new byte[Math.max(maxLen, scratch.length * 2)];
+
+        try {
+            String keluhan = text(buf, start[7], end[7], scratch);
+            if (keluhan.indexOf('\\') >= 0) keluhan = keluhan.replace("\\n", "\n");
+
+            out.add(new Antrian(
+                    parseInt(buf, start[0], end[0]),
+                    text(buf, start[1], end[1], scratch),
+                    text(buf, start[2], end[2], scratch),
+                    text(buf, start[3], end[3], scratch),
+                    text(buf, start[4], end[4], scratch),
+                    text(buf, start[5], end[5], scratch),
+                    text(buf, start[6], end[6], scratch),
+                    keluhan,
+                    text(buf, start[8], end[8], scratch),
+                    parseTimestamp(buf, start[9], end[9], scratch)
+            ));
+        } catch (RuntimeException e) {
+            System.err.println("[WARN] Gagal parse antrian: " + text(buf, from, to, new byte[to - from]));
+        }
+        return scratch;
+    }
+
+    /** Mendekode field UTF-8 pada rentang {@code [from, to)}. */
+    private static String text(MappedByteBuffer buf, int from, int to, byte[] scratch) {
+        int len = to - from;
+        buf.get(from, scratch, 0, len);
+        return new String(scratch, 0, len, StandardCharsets.UTF_8);
+    }
+
+    /** Mengurai bilangan bulat desimal langsung dari byte. */
+    private static int parseInt(MappedByteBuffer buf, int from, int to) {
+        if (from >= to) throw new NumberFormatException("ID kosong");
+        boolean negative = buf.get(from) == '-';
+        int i = negative ? from + 1 : from;
+        if (i >= to) throw new NumberFormatException("ID tidak valid");
+        long value = 0;
+        for (; i < to; i++) {
+            int d = buf.get(i) - '0';
+            if (d < 0 || d > 9) throw new NumberFormatException("ID tidak valid");
+            value = value * 10 + d;
+            if (value > Integer.MAX_VALUE + 1L) throw new NumberFormatException("ID terlalu besar");
+        }
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE) throw new NumberFormatException("ID terlalu besar");
+        return (int) value;
+    }
+
+    /**
+     * Mengurai timestamp ISO {@code yyyy-MM-ddTHH:mm[:ss[.fffffffff]]}.
+     * Format lain diserahkan ke {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME}.
+     */
+    private static LocalDateTime parseTimestamp(MappedByteBuffer buf, int from, int to, byte[] scratch) {
+        int len = to - from;
+        if (len >= 16 && buf.get(from + 4) == '-' && buf.get(from + 7) == '-'
+                && buf.get(from + 10) == 'T' && buf.get(from + 13) == ':') {
+            int year = digits(buf, from, 4);
+            int month = digits(buf, from + 5, 2);
+            int day = digits(buf, from + 8, 2);
+            int hour = digits(buf, from + 11, 2);
+            int minute = digits(buf, from + 14, 2);
+            if (len == 16) {
+                return LocalDateTime.of(year, month, day, hour, minute);
+            }
+            if (len >= 19 && buf.get(from + 16) == ':') {
+                int second = digits(buf, from + 17, 2);
+                int nano = 0;
+                if (len > 19) {
+                    int fracLen = len - 20;
+                    if (buf.get(from + 19) != '.' || fracLen < 1 || fracLen > 9) {
+                        return LocalDateTime.parse(text(buf, from, to, scratch), DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+                    }
+                    nano = digits(buf, from + 20, fracLen);
+                    for (int k = fracLen; k < 9; k++) nano *= 10;
+                }
+                return LocalDateTime.of(year, month, day, hour, minute, second, nano);
+            }
+        }
+        return LocalDateTime.parse(text(buf, from, to, scratch), DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+    }
+
+    /** Membaca {@code count} digit desimal mulai dari {@code from}. */
+    private static int digits(MappedByteBuffer buf, int from, int count) {
+        int value = 0;
+        for (int i = 0; i < count; i++) {
+            int d = buf.get(from + i) - '0';
+            if (d < 0 || d > 9) throw new NumberFormatException("Digit tidak valid pada timestamp");
+            value = value * 10 + d;
+        }
+        return value;
+    }
+}
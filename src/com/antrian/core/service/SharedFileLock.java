@@ -0,0 +1,260 @@
+package com.antrian.core.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Kelas {@code SharedFileLock} mengoordinasikan akses ke file data yang dipakai
+ * bersama oleh beberapa proses (misal beberapa kiosk pendaftaran dan workstation
+ * admin yang membuka folder data yang sama di disk bersama).
+ *
+ * <p>Koordinasi dilakukan lewat satu file kunci (misal {@code antrian.lock}):</p>
+ * <ul>
+ * <li>{@link #baca(Aksi)} memegang kunci bersama (shared): banyak pembaca boleh
+ *     berjalan bersamaan, tetapi tidak bersamaan dengan penulis.</li>
+ * <li>{@link #tulis(Aksi)} memegang kunci eksklusif dan menaikkan nomor versi
+ *     yang disimpan di dalam file kunci.</li>
+ * <li>{@link #tulisBerversi(AksiBerversi)} memegang kunci eksklusif dan menaikkan
+ *     versi hanya sekali, jika aksinya melaporkan ada perubahan.</li>
+ * <li>{@link #tulisJikaVersi(long, Aksi)} hanya menjalankan perubahan jika versi
+ *     file belum berubah sejak dibaca (optimistic concurrency). Pemanggil membaca
+ *     dan memproses data tanpa memegang kunci eksklusif, lalu mengulang hanya
+ *     perubahannya sendiri jika terjadi konflik.</li>
+ * </ul>
+ *
+ * <p>{@link FileLock} berlaku per proses, sehingga di dalam satu JVM koordinasi
+ * antar-thread dilakukan dengan {@link ReentrantReadWriteLock}. Kunci bersifat
+ * reentrant: aksi yang sudah memegang kunci boleh memanggil {@code baca} atau
+ * {@code tulis} lagi, kecuali menaikkan kunci baca menjadi kunci tulis.</p>
+ *
+ * <p>Setiap file kunci sebaiknya hanya memiliki satu instance per JVM.</p>
+ *
+ * @author
+ *  Sulistyo Fajar Pratama,
+ *  Dinda Diyah Arifa,
+ *  Musthofa Agung Distyawan
+ * @version 1.0
+ * @since 2025
+ */
+public final class SharedFileLock {
+
+    /**
+     * Aksi yang dijalankan selama kunci dipegang.
+     *
+     * @param <T> tipe hasil aksi
+     */
+    @FunctionalInterface
+    public interface Aksi<T> {
+        /**
+         * @return hasil aksi
+         * @throws IOException jika aksi gagal membaca atau menulis file
+         */
+        T jalankan() throws IOException;
+    }
+
+    /**
+     * Aksi tulis yang menerima versi saat ini dan melaporkan apakah data diubah.
+     */
+    @FunctionalInterface
+    public interface AksiBerversi {
+        /**
+         * @param versi versi file saat kunci eksklusif diambil
+         * @return {@code true} jika aksi mengubah data, sehingga versi perlu dinaikkan
+         * @throws IOException jika aksi gagal membaca atau menulis file
+         */
+        boolean jalankan(long versi) throws IOException;
+    }
+
+    /** Path file kunci, yang sekaligus menyimpan nomor versi (8 byte pertama). */
+    private final Path lockFile;
+    /** Koordinasi antar-thread di dalam proses ini. */
+    private final ReentrantReadWriteLock lokal = new ReentrantReadWriteLock();
+
+    /** Channel ke file kunci, dibuka sekali dan dipakai ulang. */
+    private FileChannel channel;
+    /** Kunci bersama yang dipakai bersama oleh semua thread pembaca di proses ini. */
+    private FileLock kunciBaca;
+    /** Jumlah thread di proses ini yang sedang memakai {@link #kunciBaca}. */
+    private int jumlahPembaca;
+
+    /**
+     * Membuat kunci untuk file kunci tertentu.
+     *
+     * @param lockFile path file kunci (misal: "antrian.lock")
+     */
+    public SharedFileLock(Path lockFile) {
+        this.lockFile = lockFile;
+    }
+
+    // ===========================
+    // ==== KUNCI ================
+    // ===========================
+
+    /**
+     * Menjalankan aksi baca sambil memegang kunci bersama.
+     *
+     * @param aksi aksi yang dijalankan
+     * @param <T> tipe hasil aksi
+     * @return hasil aksi
+     * @throws IOException jika kunci tidak dapat diambil atau aksi gagal
+     */
+    public <T> T baca(Aksi<T> aksi) throws IOException {
+        if (lokal.isWriteLockedByCurrentThread() || lokal.getReadHoldCount() > 0) {
+            return aksi.jalankan();
+        }
+        lokal.readLock().lock();
+        try {
+            ambilKunciBaca();
+            try {
+                return aksi.jalankan();
+            } finally {
+                lepasKunciBaca();
+            }
+        } finally {
+            lokal.readLock().unlock();
+        }
+    }
+
+    /**
+     * Menjalankan aksi tulis sambil memegang kunci eksklusif, lalu menaikkan versi.
+     * Jika aksi gagal, versi tidak dinaikkan.
+     *
+     * @param aksi aksi yang dijalankan
+     * @param <T> tipe hasil aksi
+     * @return hasil aksi
+     * @throws IOException jika kunci tidak dapat diambil atau aksi gagal
+     */
+    public <T> T tulis(Aksi<T> aksi) throws IOException {
+        return eksklusif(() -> {
+            T hasil = aksi.jalankan();
+            tulisVersi(bacaVersi() + 1);
+            return hasil;
+        });
+    }
+
+    /**
+     * Menjalankan aksi tulis hanya jika versi file masih sama dengan
+     * {@code versiTerbaca}. Pemeriksaan dan penulisan dilakukan di bawah satu
+     * kunci eksklusif.
+     *
+     * @param versiTerbaca versi yang dibaca sebelum data diproses
+     * @param aksi aksi tulis
+     * @return {@code true} jika aksi dijalankan, {@code false} jika versi sudah berubah
+     * @throws IOException jika kunci tidak dapat diambil atau aksi gagal
+     */
+    public boolean tulisJikaVersi(long versiTerbaca, Aksi<?> aksi) throws IOException {
+        return eksklusif(() -> {
+            if (bacaVersi() != versiTerbaca) return false;
+            aksi.jalankan();
+            tulisVersi(versiTerbaca + 1);
+            return true;
+        });
+    }
+
+    /**
+     * Menjalankan aksi tulis di bawah kunci eksklusif dengan versi saat ini sebagai
+     * masukan. Versi dinaikkan (dan di-{@code force}) satu kali, dan hanya jika aksi
+     * melaporkan data berubah. Dipakai group commit log mutasi: satu batch berisi
+     * banyak entri cukup menaikkan versi sekali.
+     *
+     * @param aksi aksi tulis
+     * @return hasil aksi
+     * @throws IOException jika kunci tidak dapat diambil atau aksi gagal
+     */
+    public boolean tulisBerversi(AksiBerversi aksi) throws IOException {
+        return eksklusif(() -> {
+            long versi = bacaVersi();
+            boolean berubah = aksi.jalankan(versi);
+            if (berubah) tulisVersi(versi + 1);
+            return berubah;
+        });
+    }
+
+    /**
+     * @return nomor versi saat ini; naik setiap kali ada penulisan lewat kunci ini
+     * @throws IOException jika file kunci tidak dapat dibaca
+     */
+    public long versi() throws IOException {
+        return baca(this::bacaVersi);
+    }
+
+    /**
+     * Menjalankan aksi sambil memegang kunci eksklusif tanpa mengubah versi.
+     */
+    private <T> T eksklusif(Aksi<T> aksi) throws IOException {
+        if (lokal.isWriteLockedByCurrentThread()) {
+            return aksi.jalankan();
+        }
+        if (lokal.getReadHoldCount() > 0) {
+            throw new IllegalStateException("Kunci baca tidak dapat dinaikkan menjadi kunci tulis: " + lockFile);
+        }
+        lokal.writeLock().lock();
+        try {
+            FileLock kunciTulis = channel().lock(0, Long.MAX_VALUE, false);
+            try {
+                return aksi.jalankan();
+            } finally {
+                kunciTulis.release();
+            }
+        } finally {
+            lokal.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Mengambil kunci bersama untuk proses ini jika belum ada thread lain yang
+     * memegangnya ({@link FileLock} tidak boleh tumpang tindih dalam satu JVM).
+     */
+    private synchronized void ambilKunciBaca() throws IOException {
+        if (jumlahPembaca == 0) {
+            kunciBaca = channel().lock(0, Long.MAX_VALUE, true);
+        }
+        jumlahPembaca++;
+    }
+
+    private synchronized void lepasKunciBaca() throws IOException {
+        if (--jumlahPembaca == 0) {
+            FileLock kunci = kunciBaca;
+            kunciBaca = null;
+            kunci.release();
+        }
+    }
+
+    // ===========================
+    // ==== VERSI ================
+    // ===========================
+
+    private long bacaVersi() throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(Long.BYTES);
+        FileChannel ch = channel();
+        while (buf.hasRemaining() && ch.read(buf, buf.position()) > 0) {
+            // baca sampai penuh
+        }
+        return buf.position() == Long.BYTES ? buf.getLong(0) : 0;
+    }
+
+    private void tulisVersi(long versi) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(Long.BYTES).putLong(0, versi);
+        FileChannel ch = channel();
+        while (buf.hasRemaining()) {
+            ch.write(buf, buf.position());
+        }
+        ch.force(false);
+    }
+
+    private synchronized FileChannel channel() throws IOException {
+        if (channel == null || !channel.isOpen()) {
+            Path parent = lockFile.toAbsolutePath().getParent();
+            if (parent != null) Files.createDirectories(parent);
+            channel = FileChannel.open(lockFile, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+        return channel;
+    }
+}
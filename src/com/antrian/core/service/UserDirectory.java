@@ -0,0 +1,245 @@
+package com.antrian.core.service;
+
+import com.antrian.core.model.User;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Kelas {@code UserDirectory} menyimpan data pengguna di memori beserta indeks
+ * hash pada email, nama, dan NIK, sehingga login dan pencarian pengguna tidak
+ * perlu mem-parse ulang {@code users.txt} maupun memindai seluruh pengguna.
+ *
+ * <p>Kunci indeks disimpan dalam huruf kecil ({@link Locale#ROOT}), sehingga
+ * pencarian tidak membedakan huruf besar/kecil seperti {@code equalsIgnoreCase}
+ * pada login sebelumnya. Nama dan email bisa dimiliki lebih dari satu pengguna;
+ * setiap kunci menyimpan daftar pengguna sesuai urutan di file.</p>
+ *
+ * <p>NIK dan email juga dimasukkan ke {@link BloomFilter}, sehingga pemeriksaan
+ * duplikat saat registrasi ({@link #isTerdaftar(String, String)}) untuk data yang
+ * belum terdaftar cukup menghitung beberapa hash.</p>
+ *
+ * <p>Setiap pemanggilan {@link #refresh()} hanya membaca baris yang ditambahkan
+ * di akhir {@code users.txt} sejak pemanggilan sebelumnya ({@link FileTailReader}).
+ * Jika file ditulis ulang (misal oleh {@link FileService#saveUsers(List)}),
+ * seluruh isi dimuat ulang.</p>
+ *
+ * @author
+ *  Sulistyo Fajar Pratama,
+ *  Dinda Diyah Arifa,
+ *  Musthofa Agung Distyawan
+ * @version 1.0
+ * @since 2025
+ */
+public final class UserDirectory {
+
+    private static final UserDirectory INSTANCE = new UserDirectory();
+
+    /** Awalan kunci Bloom filter, karena NIK dan email disimpan di filter yang sama. */
+    private static final String KUNCI_NIK = "nik:";
+    private static final String KUNCI_EMAIL = "email:";
+    /** Kapasitas awal Bloom filter; digandakan setiap kali terlampaui. */
+    private static final int KAPASITAS_AWAL = 1024;
+
+    /** Seluruh pengguna sesuai urutan di file. */
+    private final List<User> users = new ArrayList<>();
+    /** Indeks email (huruf kecil) ke posisi pengguna di {@link #users}. */
+    private final Map<String, List<Integer>> byEmail = new HashMap<>();
+    /** Indeks nama (huruf kecil) ke posisi pengguna di {@link #users}. */
+    private final Map<String, List<Integer>> byNama = new HashMap<>();
+    /** Indeks NIK (huruf kecil) ke posisi pengguna di {@link #users}. */
+    private final Map<String, List<Integer>> byNik = new HashMap<>();
+    /** Saringan cepat untuk NIK dan email yang sudah terdaftar, di depan {@link #byNik}/{@link #byEmail}. */
+    private BloomFilter terdaftar = new BloomFilter(KAPASITAS_AWAL);
+    /** Pembaca baris baru di users.txt; dibuat saat pertama kali dimuat. */
+    private FileTailReader tail;
+
+    private UserDirectory() {
+    }
+
+    /** @return instance tunggal direktori pengguna */
+    public static UserDirectory getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Memperbarui indeks dari users.txt. Jika hanya ada baris baru di akhir file,
+     * hanya baris tersebut yang di-parse dan ditambahkan ke indeks.
+     *
+     * @return {@code true} jika isi direktori berubah
+     * @throws IOException jika file tidak dapat dibaca
+     */
+    public boolean refresh() throws IOException {
+        // kunci file selalu diambil sebelum monitor objek ini, sama seperti urutan
+        // di FileService, dan mencegah pembacaan penulisan yang setengah jalan
+        return FileService.userLock().baca(() -> {
+            synchronized (this) {
+                return muatBaris();
+            }
+        });
+    }
+
+    private boolean muatBaris() throws IOException {
+        if (tail != null) {
+            List<String> lines = tail.readNewLines();
+            if (lines != null) {
+                tambah(lines);
+                return !lines.isEmpty();
+            }
+        }
+
+        // pertama kali, atau file ditulis ulang: muat ulang dari awal
+        tail = new FileTailReader(FileService.userFile());
+        users.clear();
+        byEmail.clear();
+        byNama.clear();
+        byNik.clear();
+        terdaftar = new BloomFilter(KAPASITAS_AWAL);
+        tambah(tail.readNewLines());
+        return true;
+    }
+
+    /**
+     * Mencari pengguna untuk login berdasarkan email atau nama (tanpa membedakan
+     * huruf besar/kecil) dan password. Jika beberapa pengguna cocok, yang paling
+     * awal terdaftar yang dipakai.
+     *
+     * @param emailAtauNama email atau nama pengguna
+     * @param password password pengguna
+     * @return pengguna yang cocok, atau {@code null} jika tidak ada
+     * @throws IOException jika file tidak dapat dibaca
+     */
+    public User login(String emailAtauNama, String password) throws IOException {
+        refresh();
+        String key = kunci(emailAtauNama);
+        synchronized (this) {
+            int terbaik = Math.min(cariPertama(byEmail.get(key), password), cariPertama(byNama.get(key), password));
+            return terbaik == Integer.MAX_VALUE ? null : users.get(terbaik);
+        }
+    }
+
+    /**
+     * @param email email pengguna (tanpa membedakan huruf besar/kecil)
+     * @return pengguna pertama dengan email tersebut, atau {@code null}
+     * @throws IOException jika file tidak dapat dibaca
+     */
+    public User findByEmail(String email) throws IOException {
+        refresh();
+        return pertama(byEmail, email);
+    }
+
+    /**
+     * @param nik NIK pengguna
+     * @return pengguna pertama dengan NIK tersebut, atau {@code null}
+     * @throws IOException jika file tidak dapat dibaca
+     */
+    public User findByNik(String nik) throws IOException {
+        refresh();
+        return pertama(byNik, nik);
+    }
+
+    /**
+     * @param nama nama pengguna (tanpa membedakan huruf besar/kecil)
+     * @return semua pengguna dengan nama tersebut, sesuai urutan pendaftaran
+     * @throws IOException jika file tidak dapat dibaca
+     */
+    public List<User> findByNama(String nama) throws IOException {
+        refresh();
+        List<User> result = new ArrayList<>();
+        synchronized (this) {
+            List<Integer> posisi = byNama.get(kunci(nama));
+            if (posisi != null) {
+                for (int i : posisi) result.add(users.get(i));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Memeriksa apakah NIK atau email sudah dipakai pengguna lain. Keduanya
+     * dibandingkan tanpa membedakan huruf besar/kecil, sama seperti {@link #login},
+     * sehingga email yang hanya berbeda huruf besar/kecil dianggap sudah terdaftar.
+     * Bloom filter menjawab lebih dulu; indeks hash hanya disentuh jika filter
+     * menjawab "mungkin ada".
+     *
+     * @param nik NIK yang akan didaftarkan
+     * @param email email yang akan didaftarkan
+     * @return {@code true} jika NIK atau email sudah terdaftar
+     * @throws IOException jika file tidak dapat dibaca
+     */
+    public boolean isTerdaftar(String nik, String email) throws IOException {
+        refresh();
+        synchronized (this) {
+            String kunciNik = kunci(nik);
+            String kunciEmail = kunci(email);
+            if (terdaftar.mungkinAda(KUNCI_NIK + kunciNik) && byNik.containsKey(kunciNik)) return true;
+            return terdaftar.mungkinAda(KUNCI_EMAIL + kunciEmail) && byEmail.containsKey(kunciEmail);
+        }
+    }
+
+    /** @return jumlah pengguna yang dimuat saat ini */
+    public synchronized int size() {
+        return users.size();
+    }
+
+    // ===========================
+    // ==== UTILITIES ============
+    // ===========================
+
+    private void tambah(List<String> lines) {
+        for (String line : lines) {
+            User user = FileService.parseUser(line);
+            if (user == null) continue;
+
+            int posisi = users.size();
+            users.add(user);
+            byEmail.computeIfAbsent(kunci(user.getEmail()), k -> new ArrayList<>(1)).add(posisi);
+            byNama.computeIfAbsent(kunci(user.getNama()), k -> new ArrayList<>(1)).add(posisi);
+            byNik.computeIfAbsent(kunci(user.getNik()), k -> new ArrayList<>(1)).add(posisi);
+            tambahKeFilter(user);
+        }
+    }
+
+    /**
+     * Menambahkan NIK dan email pengguna ke Bloom filter. Jika kapasitasnya
+     * terlampaui, filter dibangun ulang dua kali lebih besar agar peluang
+     * positif palsu tetap rendah.
+     */
+    private void tambahKeFilter(User user) {
+        if (terdaftar.penuh()) {
+            terdaftar = new BloomFilter(Math.max(terdaftar.getKapasitas(), users.size()) * 2);
+            for (User u : users) {
+                terdaftar.tambah(KUNCI_NIK + kunci(u.getNik()));
+                terdaftar.tambah(KUNCI_EMAIL + kunci(u.getEmail()));
+            }
+            return; // user baru sudah ada di users
+        }
+        terdaftar.tambah(KUNCI_NIK + kunci(user.getNik()));
+        terdaftar.tambah(KUNCI_EMAIL + kunci(user.getEmail()));
+    }
+
+    /**
+     * @return posisi pengguna pertama di {@code posisi} yang password-nya cocok,
+     *         atau {@link Integer#MAX_VALUE} jika tidak ada
+     */
+    private int cariPertama(List<Integer> posisi, String password) {
+        if (posisi == null) return Integer.MAX_VALUE;
+        for (int i : posisi) {
+            if (users.get(i).getPassword().equals(password)) return i;
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    private synchronized User pertama(Map<String, List<Integer>> indeks, String nilai) {
+        List<Integer> posisi = indeks.get(kunci(nilai));
+        return posisi == null ? null : users.get(posisi.get(0));
+    }
+
+    private static String kunci(String nilai) {
+        return nilai == null ? "" : nilai.toLowerCase(Locale.ROOT);
+    }
+}
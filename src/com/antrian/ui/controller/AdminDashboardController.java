@@ -1,18 +1,20 @@
 package com.antrian.ui.controller;
 
 import com.antrian.core.model.Antrian;
+import com.antrian.core.model.StatusAntrian;
+import com.antrian.core.query.AntrianQuery;
+import com.antrian.core.service.AntrianWaktuIndex;
+import com.antrian.core.service.AsyncFileService;
 import com.antrian.core.service.FileService;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.scene.layout.VBox; // Import VBox (atau layout panel detail Anda)
 
-import java.io.IOException;
 import java.time.LocalDate;
-import java.time.temporal.WeekFields;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 /**
  * Kelas {@code AdminDashboardController} mengatur perilaku dan logika tampilan dashboard
@@ -40,6 +42,11 @@ public class AdminDashboardController extends BaseDashboardController {
     @FXML
     private ComboBox<String> dateFilterComboBox;
 
+    /** Batas awal rentang tanggal bebas (inklusif), dipotongkan dengan filter waktu di atas. */
+    @FXML private DatePicker dariTanggalPicker;
+    /** Batas akhir rentang tanggal bebas (inklusif, sampai akhir hari). */
+    @FXML private DatePicker sampaiTanggalPicker;
+
     /** Panel/layout yang berisi semua form detail, disembunyikan jika tidak ada item dipilih. */
     @FXML private VBox detailPane;
 
@@ -79,6 +86,8 @@ public class AdminDashboardController extends BaseDashboardController {
         dateFilterComboBox.getItems().addAll("Semua Waktu", "Minggu Ini", "Bulan Ini", "Tahun Ini");
         dateFilterComboBox.setValue("Semua Waktu");
         dateFilterComboBox.valueProperty().addListener((obs, oldVal, newVal) -> applyFilters());
+        dariTanggalPicker.valueProperty().addListener((obs, oldVal, newVal) -> applyFilters());
+        sampaiTanggalPicker.valueProperty().addListener((obs, oldVal, newVal) -> applyFilters());
         
         // 1. Sembunyikan panel detail di awal
         if (detailPane != null) {
@@ -88,7 +97,9 @@ public class AdminDashboardController extends BaseDashboardController {
 
         // 2. Setup status combo box di panel detail
         if (statusComboBoxDetail != null) {
-            statusComboBoxDetail.getItems().addAll("Baru", "Sedang Berlangsung", "Selesai", "Batal");
+            for (StatusAntrian status : StatusAntrian.values()) {
+                statusComboBoxDetail.getItems().add(status.getLabel());
+            }
         }
 
         // 3. Setup ListView selection listener
@@ -113,68 +124,39 @@ public class AdminDashboardController extends BaseDashboardController {
 
     /**
      * Memuat seluruh data antrian dari file dan memperbarui tampilan daftar.
+     * Jika file tidak berubah sejak refresh sebelumnya, tampilan dibiarkan apa adanya.
      */
     @Override
     protected void loadAntrianData() {
-        try {
-            List<Antrian> allData = FileService.loadAndProcessAntrianStatus();
-            fullAntrianList.setAll(allData);
-            applyFilters();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        muatAntrianAsync(FileService::loadAndProcessAntrianStatus);
     }
 
     /**
-     * Menerapkan seluruh filter yang dipilih (nama, poli, status, dan waktu).
-     * Hasil filter akan ditampilkan di {@code antrianListView}.
+     * Menambahkan filter waktu (pilihan periode dan rentang tanggal bebas) pada
+     * query filter nama, poli, dan status.
+     *
+     * @return query untuk seluruh filter yang dipilih
      */
     @Override
-    protected void applyFilters() {
-        Antrian selected = antrianListView.getSelectionModel().getSelectedItem();
-
-        var filteredList = fullAntrianList.stream()
-                // filter berdasarkan nama pasien
-                .filter(antrian -> {
-                    String searchText = searchField.getText().toLowerCase();
-                    if (searchText.isEmpty()) return true;
-                    return antrian.getNamaPasien().toLowerCase().contains(searchText);
-                })
-                // filter berdasarkan poli
-                .filter(antrian -> {
-                    String selectedPoli = poliFilterComboBox.getValue();
-                    if (selectedPoli == null || selectedPoli.equals("Semua Poli")) return true;
-                    return antrian.getPoli().equals(selectedPoli);
-                })
-                // filter berdasarkan status
-                .filter(antrian -> {
-                    String selectedStatus = statusFilterComboBox.getValue();
-                    if (selectedStatus == null || selectedStatus.equals("Semua Status")) return true;
-                    return antrian.getStatus().equals(selectedStatus);
-                })
-                // filter berdasarkan waktu
-                .filter(antrian -> {
-                    String selectedDate = dateFilterComboBox.getValue();
-                    if (selectedDate == null || selectedDate.equals("Semua Waktu")) return true;
-
-                    LocalDate antrianDate = antrian.getTimestamp().toLocalDate();
-                    LocalDate now = LocalDate.now();
+    protected AntrianQuery buatQuery() {
+        // filter waktu dihitung sekali menjadi rentang [dari, sampai)
+        LocalDate[] rentang = rentangTanggal();
+        return super.buatQuery().rentangWaktu(
+                rentang[0] == null ? null : rentang[0].atStartOfDay(),
+                rentang[1] == null ? null : rentang[1].atStartOfDay());
+    }
 
-                    return switch (selectedDate) {
-                        case "Minggu Ini" ->
-                                antrianDate.get(WeekFields.ISO.weekOfYear()) == now.get(WeekFields.ISO.weekOfYear())
-                                        && antrianDate.getYear() == now.getYear();
-                        case "Bulan Ini" ->
-                                antrianDate.getMonth() == now.getMonth()
-                                        && antrianDate.getYear() == now.getYear();
-                        case "Tahun Ini" ->
-                                antrianDate.getYear() == now.getYear();
-                        default -> true;
-                    };
-                })
-                .collect(Collectors.toList());
+    /**
+     * Menampilkan hasil filter. Jika antrian yang sedang dipilih tidak ada di
+     * hasil, pilihan dibersihkan sehingga panel detail disembunyikan.
+     *
+     * @param hasil antrian yang cocok dengan filter
+     */
+    @Override
+    protected void tampilkanHasil(List<Antrian> hasil) {
+        Antrian selected = antrianListView.getSelectionModel().getSelectedItem();
 
-        antrianListView.setItems(FXCollections.observableArrayList(filteredList));
+        antrianListView.setItems(FXCollections.observableArrayList(hasil));
 
         // Mempertahankan pilihan item sebelumnya jika masih ada di list yang baru difilter
         if (selected != null && antrianListView.getItems().contains(selected)) {
@@ -186,6 +168,33 @@ public class AdminDashboardController extends BaseDashboardController {
         }
     }
 
+    /**
+     * Menghitung rentang tanggal dari filter waktu dan rentang tanggal bebas
+     * yang dipilih, sebagai irisan keduanya.
+     *
+     * @return {@code [awal (inklusif), akhir (eksklusif)]}; elemen {@code null} berarti tanpa batas
+     */
+    private LocalDate[] rentangTanggal() {
+        LocalDate now = LocalDate.now();
+        String selectedDate = dateFilterComboBox.getValue();
+        LocalDate[] rentang = selectedDate == null ? new LocalDate[2] : switch (selectedDate) {
+            case "Minggu Ini" -> AntrianWaktuIndex.mingguIni(now);
+            case "Bulan Ini" -> AntrianWaktuIndex.bulanIni(now);
+            case "Tahun Ini" -> AntrianWaktuIndex.tahunIni(now);
+            default -> new LocalDate[2];
+        };
+
+        LocalDate dariTanggal = dariTanggalPicker.getValue();
+        LocalDate sampaiTanggal = sampaiTanggalPicker.getValue();
+        if (dariTanggal != null && (rentang[0] == null || dariTanggal.isAfter(rentang[0]))) {
+            rentang[0] = dariTanggal;
+        }
+        if (sampaiTanggal != null && (rentang[1] == null || sampaiTanggal.plusDays(1).isBefore(rentang[1]))) {
+            rentang[1] = sampaiTanggal.plusDays(1);
+        }
+        return rentang;
+    }
+
     /**
      * Menangani aksi tombol "Reset Antrian" untuk menghapus seluruh data antrian.
      */
@@ -198,18 +207,21 @@ public class AdminDashboardController extends BaseDashboardController {
 
         Optional<ButtonType> result = confirmation.showAndWait();
         if (result.isPresent() && result.get() == ButtonType.OK) {
-            try {
-                FileService.clearAntrianFile();
+            AsyncFileService.clearAntrianFile().whenCompleteAsync((v, error) -> {
+                if (error != null) {
+                    AsyncFileService.penyebab(error).printStackTrace();
+                    showAlert(Alert.AlertType.ERROR, "Error", "Gagal mereset data antrian.");
+                    return;
+                }
                 loadAntrianData(); // Muat ulang (akan jadi kosong)
-            } catch (IOException e) {
-                e.printStackTrace();
-                showAlert(Alert.AlertType.ERROR, "Error", "Gagal mereset data antrian.");
-            }
+            }, Platform::runLater);
         }
     }
 
     /**
      * Mengisi seluruh field pada panel detail dengan data dari objek antrian yang dipilih.
+     * Keluhan baru di-decode di sini, saat panel detail dibuka (lihat
+     * {@link com.antrian.core.model.AntrianTable}).
      *
      * @param antrian Objek antrian yang datanya akan ditampilkan
      */
@@ -231,21 +243,22 @@ public class AdminDashboardController extends BaseDashboardController {
     private void handleSimpan() {
         if (currentAntrian == null) return;
 
-        try {
-            List<Antrian> antrianList = FileService.loadAntrian();
-            antrianList.stream()
-                .filter(a -> a.getId() == currentAntrian.getId())
-                .findFirst()
-                .ifPresent(a -> a.setStatus(statusComboBoxDetail.getValue()));
-
-            FileService.saveAntrian(antrianList);
-            showAlert(Alert.AlertType.INFORMATION, "Sukses", "Data antrian berhasil diperbarui.");
-            loadAntrianData(); 
-            
-        } catch (IOException e) {
-            showAlert(Alert.AlertType.ERROR, "Error", "Gagal menyimpan data.");
-            e.printStackTrace();
-        }
+        setAksiBerjalan(true);
+        AsyncFileService.updateStatusAntrian(currentAntrian.getId(), statusComboBoxDetail.getValue())
+                .whenCompleteAsync((berhasil, error) -> {
+                    setAksiBerjalan(false);
+                    if (error != null) {
+                        showAlert(Alert.AlertType.ERROR, "Error", "Gagal menyimpan data.");
+                        AsyncFileService.penyebab(error).printStackTrace();
+                        return;
+                    }
+                    if (berhasil) {
+                        showAlert(Alert.AlertType.INFORMATION, "Sukses", "Data antrian berhasil diperbarui.");
+                    } else {
+                        showAlert(Alert.AlertType.WARNING, "Konflik", "Antrian ini sudah dihapus dari workstation lain.");
+                    }
+                    loadAntrianData();
+                }, Platform::runLater);
     }
 
     /**
@@ -261,24 +274,39 @@ public class AdminDashboardController extends BaseDashboardController {
 
         confirmAlert.showAndWait().ifPresent(response -> {
             if (response == ButtonType.YES) {
-                try {
-                    List<Antrian> antrianList = FileService.loadAntrian();
-                    antrianList.removeIf(a -> a.getId() == currentAntrian.getId());
-                    FileService.saveAntrian(antrianList);
-                    showAlert(Alert.AlertType.INFORMATION, "Sukses", "Antrian berhasil dihapus.");
-                    
+                setAksiBerjalan(true);
+                AsyncFileService.hapusAntrian(currentAntrian.getId()).whenCompleteAsync((berhasil, error) -> {
+                    setAksiBerjalan(false);
+                    if (error != null) {
+                        showAlert(Alert.AlertType.ERROR, "Error", "Gagal menghapus data.");
+                        AsyncFileService.penyebab(error).printStackTrace();
+                        return;
+                    }
+                    if (berhasil) {
+                        showAlert(Alert.AlertType.INFORMATION, "Sukses", "Antrian berhasil dihapus.");
+                    } else {
+                        showAlert(Alert.AlertType.WARNING, "Konflik", "Antrian ini sudah dihapus dari workstation lain.");
+                    }
+
                     // Muat ulang data. Pilihan akan otomatis hilang (clearSelection)
                     // dan panel detail akan tersembunyi.
-                    loadAntrianData(); 
-                    
-                } catch (IOException e) {
-                    showAlert(Alert.AlertType.ERROR, "Error", "Gagal menghapus data.");
-                    e.printStackTrace();
-                }
+                    loadAntrianData();
+                }, Platform::runLater);
             }
         });
     }
 
+    /**
+     * Menonaktifkan tombol simpan dan hapus selama perubahan sedang disimpan di
+     * latar belakang, sehingga klik ganda tidak mencatat perubahan dua kali.
+     *
+     * @param berjalan {@code true} jika perubahan sedang disimpan
+     */
+    private void setAksiBerjalan(boolean berjalan) {
+        simpanButton.setDisable(berjalan);
+        hapusButton.setDisable(berjalan);
+    }
+
     /**
      * Menangani aksi tombol batal untuk membersihkan pilihan.
      */
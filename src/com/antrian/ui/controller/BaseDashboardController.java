@@ -2,9 +2,17 @@ package com.antrian.ui.controller;
 
 import com.antrian.core.model.Admin;
 import com.antrian.core.model.Antrian;
+import com.antrian.core.model.Poli;
+import com.antrian.core.model.StatusAntrian;
+import com.antrian.core.query.AntrianQuery;
+import com.antrian.core.query.AntrianQueryEngine;
+import com.antrian.core.service.AsyncFileService;
+import com.antrian.core.service.FileService;
 import com.antrian.ui.Main;
 import javafx.animation.KeyFrame;
+import javafx.animation.PauseTransition;
 import javafx.animation.Timeline;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
@@ -22,7 +30,7 @@ import javafx.scene.shape.Circle;
 import javafx.util.Duration;
 
 import java.io.IOException;
-import java.util.stream.Collectors;
+import java.util.List;
 
 /**
  * Kelas {@code BaseDashboardController} merupakan kelas abstrak
@@ -33,7 +41,7 @@ import java.util.stream.Collectors;
  * <ul>
  * <li>Inisialisasi daftar antrian dan label sambutan.</li>
  * <li>Filter berdasarkan nama pasien, poli, dan status.</li>
- * <li>Auto-refresh data setiap 5 detik.</li>
+ * <li>Auto-refresh data setiap 5 detik di thread latar belakang.</li>
  * <li>Menampilkan tampilan kartu (card view) untuk setiap antrian.</li>
  * </ul>
  *
@@ -49,6 +57,9 @@ import java.util.stream.Collectors;
  */
 public abstract class BaseDashboardController {
 
+    /** Lama jeda ketikan sebelum filter pencarian diterapkan. */
+    private static final Duration JEDA_PENCARIAN = Duration.millis(150);
+
     /** Daftar antrian yang akan ditampilkan di dashboard. */
     @FXML protected ListView<Antrian> antrianListView;
     /** Label untuk menampilkan nama pengguna yang sedang login. */
@@ -62,8 +73,18 @@ public abstract class BaseDashboardController {
 
     /** Daftar penuh data antrian sebelum difilter. */
     protected ObservableList<Antrian> fullAntrianList = FXCollections.observableArrayList();
+    /** Engine query (nama, poli, status, waktu) untuk {@link #fullAntrianList}, dibangun setiap kali data dimuat. */
+    private AntrianQueryEngine engine = AntrianQueryEngine.bangun(List.of());
+    /** Nomor permintaan filter terakhir; hasil filter yang lebih lama diabaikan (hanya diakses di thread UI). */
+    private long nomorFilter;
+    /** Jeda sebelum filter diterapkan saat teks pencarian diketik. */
+    private final PauseTransition jedaPencarian = new PauseTransition(JEDA_PENCARIAN);
     /** Timeline untuk auto-refresh data dashboard. */
     private Timeline autoRefreshTimeline;
+    /** Versi data antrian ({@link FileService#getVersiAntrian()}) yang sedang ditampilkan. */
+    private long loadedVersion = -1;
+    /** Penanda pemuatan data di latar belakang sedang berjalan (hanya diakses di thread UI). */
+    private boolean sedangMemuat;
 
     /**
      * Inisialisasi awal tampilan dashboard, termasuk label sambutan,
@@ -94,49 +115,72 @@ public abstract class BaseDashboardController {
 
     /**
      * Mengatur kontrol filter untuk poli, status, dan pencarian.
-     * Saat filter berubah, daftar antrian diperbarui otomatis.
+     * Saat filter berubah, daftar antrian diperbarui otomatis; untuk teks pencarian,
+     * filter baru diterapkan setelah pengetikan berhenti selama {@link #JEDA_PENCARIAN}.
      */
     private void setupFilterControls() {
-        poliFilterComboBox.getItems().addAll("Semua Poli", "Poli Umum", "Poli Gigi", "Poli Anak", "Poli Jantung");
+        poliFilterComboBox.getItems().add("Semua Poli");
+        for (Poli poli : Poli.values()) poliFilterComboBox.getItems().add(poli.getLabel());
         poliFilterComboBox.setValue("Semua Poli");
-        statusFilterComboBox.getItems().addAll("Semua Status", "Baru", "Sedang Berlangsung", "Selesai", "Batal");
+        statusFilterComboBox.getItems().add("Semua Status");
+        for (StatusAntrian status : StatusAntrian.values()) statusFilterComboBox.getItems().add(status.getLabel());
         statusFilterComboBox.setValue("Semua Status");
 
-        searchField.textProperty().addListener((obs, oldVal, newVal) -> applyFilters());
+        jedaPencarian.setOnFinished(event -> applyFilters());
+        searchField.textProperty().addListener((obs, oldVal, newVal) -> jedaPencarian.playFromStart());
         poliFilterComboBox.valueProperty().addListener((obs, oldVal, newVal) -> applyFilters());
         statusFilterComboBox.valueProperty().addListener((obs, oldVal, newVal) -> applyFilters());
     }
 
     /**
-     * Menerapkan filter pada daftar antrian berdasarkan:
-     * <ul>
-     * <li>Nama pasien</li>
-     * <li>Poli</li>
-     * <li>Status antrian</li>
-     * </ul>
+     * Menerapkan filter pada daftar antrian berdasarkan kriteria dari
+     * {@link #buatQuery()} (nama pasien, poli, status, dan kriteria tambahan
+     * subclass).
+     *
+     * <p>Query dijalankan oleh {@link AntrianQueryEngine} di thread latar
+     * belakang, lalu hasilnya ditampilkan di thread UI lewat
+     * {@link #tampilkanHasil(List)}. Jika filter berubah lagi sebelum hasilnya
+     * tiba, hasil yang sudah usang diabaikan.</p>
      */
     protected void applyFilters() {
-        Antrian selected = antrianListView.getSelectionModel().getSelectedItem();
+        AntrianQuery query = buatQuery();
+        AntrianQueryEngine engineAktif = engine;
+        long nomor = ++nomorFilter;
 
-        var filteredList = fullAntrianList.stream()
-            .filter(antrian -> {
-                String searchText = searchField.getText().toLowerCase();
-                if (searchText.isEmpty()) return true;
-                return antrian.getNamaPasien().toLowerCase().contains(searchText);
-            })
-            .filter(antrian -> {
-                String selectedPoli = poliFilterComboBox.getValue();
-                if (selectedPoli == null || selectedPoli.equals("Semua Poli")) return true;
-                return antrian.getPoli().equals(selectedPoli);
-            })
-            .filter(antrian -> {
-                String selectedStatus = statusFilterComboBox.getValue();
-                if (selectedStatus == null || selectedStatus.equals("Semua Status")) return true;
-                return antrian.getStatus().equals(selectedStatus);
-            })
-            .collect(Collectors.toList());
+        AsyncFileService.jalankan(() -> engineAktif.jalankan(query)).whenCompleteAsync((hasil, error) -> {
+            if (error != null) {
+                AsyncFileService.penyebab(error).printStackTrace();
+                return;
+            }
+            if (nomor != nomorFilter) return; // sudah ada filter yang lebih baru
+            tampilkanHasil(hasil.getAntrian());
+        }, Platform::runLater);
+    }
+
+    /**
+     * Menyusun query dari kontrol filter nama, poli, dan status. Subclass dapat
+     * menambahkan kriteria lain pada query hasil method ini.
+     *
+     * @return query untuk filter yang sedang dipilih
+     */
+    protected AntrianQuery buatQuery() {
+        // pilihan "Semua ..." tidak dikenal sebagai poli/status sehingga menjadi null (tanpa filter)
+        return AntrianQuery.semua()
+                .teks(searchField.getText())
+                .poli(Poli.dariLabel(poliFilterComboBox.getValue()))
+                .status(StatusAntrian.dariLabel(statusFilterComboBox.getValue()));
+    }
+
+    /**
+     * Menampilkan hasil filter di {@code antrianListView}, dengan mempertahankan
+     * pilihan sebelumnya jika masih ada di hasil.
+     *
+     * @param hasil antrian yang cocok dengan filter
+     */
+    protected void tampilkanHasil(List<Antrian> hasil) {
+        Antrian selected = antrianListView.getSelectionModel().getSelectedItem();
 
-        antrianListView.setItems(FXCollections.observableArrayList(filteredList));
+        antrianListView.setItems(FXCollections.observableArrayList(hasil));
 
         // mempertahankan pilihan sebelumnya
         if (selected != null && antrianListView.getItems().contains(selected)) {
@@ -157,7 +201,7 @@ public abstract class BaseDashboardController {
                     setText(null);
                     setGraphic(null);
                 } else {
-                    Circle statusCircle = new Circle(8, getStatusColor(item.getStatus()));
+                    Circle statusCircle = new Circle(8, getStatusColor(item.getStatusAntrian()));
 
                     Label antrianIdLabel = new Label("Antrian #" + item.getId());
                     antrianIdLabel.getStyleClass().add("card-title");
@@ -200,22 +244,76 @@ public abstract class BaseDashboardController {
     /**
      * Mengembalikan warna indikator status pada tampilan kartu antrian.
      *
-     * @param status status antrian
+     * @param status status antrian, atau {@code null} jika tidak dikenal
      * @return warna indikator sesuai status
      */
-    private Color getStatusColor(String status) {
+    private Color getStatusColor(StatusAntrian status) {
+        if (status == null) return Color.GREY;
         return switch (status) {
-            case "Baru" -> Color.DODGERBLUE;
-            case "Sedang Berlangsung" -> Color.ORANGE;
-            case "Selesai" -> Color.GREEN;
-            case "Batal" -> Color.RED;
-            default -> Color.GREY;
+            case BARU -> Color.DODGERBLUE;
+            case SEDANG_BERLANGSUNG -> Color.ORANGE;
+            case SELESAI -> Color.GREEN;
+            case BATAL -> Color.RED;
         };
     }
 
+    /**
+     * Memuat data antrian di thread latar belakang lalu menampilkannya di thread UI.
+     *
+     * <p>Di latar belakang, versi data antrian ({@link FileService#getVersiAntrian()})
+     * diperiksa lebih dulu; jika tidak berubah sejak data terakhir ditampilkan,
+     * pemeriksaan ini hanya membaca file kunci dan tampilan dibiarkan apa adanya.
+     * Jika berubah, data dimuat dengan {@code muat} dan engine query-nya
+     * ({@link AntrianQueryEngine}) dibangun, lalu keduanya dipindahkan ke thread UI
+     * lewat {@link Platform#runLater}. Selama satu pemuatan berjalan, permintaan
+     * berikutnya (misal dari auto-refresh) diabaikan.</p>
+     *
+     * @param muat pemuat data yang ditampilkan (dijalankan di latar belakang)
+     */
+    protected void muatAntrianAsync(AsyncFileService.Tugas<List<Antrian>> muat) {
+        if (sedangMemuat) return;
+        sedangMemuat = true;
+
+        long versiTampil = loadedVersion;
+        AsyncFileService.jalankan(() -> {
+            long version = FileService.getVersiAntrian();
+            if (version == versiTampil) return null; // data tidak berubah, tampilan tetap
+            List<Antrian> data = muat.jalankan();
+            return new HasilMuat(version, data, AntrianQueryEngine.bangun(data));
+        }).whenCompleteAsync((hasil, error) -> {
+            sedangMemuat = false;
+            if (error != null) {
+                AsyncFileService.penyebab(error).printStackTrace();
+                return;
+            }
+            if (hasil == null) return;
+            loadedVersion = hasil.version;
+            fullAntrianList.setAll(hasil.data);
+            engine = hasil.engine;
+            applyFilters();
+        }, Platform::runLater);
+    }
+
+    /**
+     * Hasil pemuatan di latar belakang: versi data, daftar antrian yang dimuat,
+     * dan engine query untuk daftar tersebut.
+     */
+    private static final class HasilMuat {
+        final long version;
+        final List<Antrian> data;
+        final AntrianQueryEngine engine;
+
+        HasilMuat(long version, List<Antrian> data, AntrianQueryEngine engine) {
+            this.version = version;
+            this.data = data;
+            this.engine = engine;
+        }
+    }
+
     /**
      * Method abstrak untuk memuat data antrian dari file.
-     * Setiap subclass harus mengimplementasikan metode ini.
+     * Setiap subclass harus mengimplementasikan metode ini, biasanya dengan
+     * memanggil {@link #muatAntrianAsync(AsyncFileService.Tugas)}.
      */
     protected abstract void loadAntrianData();
 
@@ -229,6 +327,7 @@ public abstract class BaseDashboardController {
         if (autoRefreshTimeline != null) {
             autoRefreshTimeline.stop();
         }
+        jedaPencarian.stop();
         Main.loggedInUser = null;
         
         new Main().changeScene("/fxml/Login.fxml", 600, 400); 
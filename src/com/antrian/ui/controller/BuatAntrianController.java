@@ -1,15 +1,17 @@
 package com.antrian.ui.controller;
 
 import com.antrian.core.model.Antrian;
+import com.antrian.core.model.Poli;
+import com.antrian.core.model.StatusAntrian;
+import com.antrian.core.service.AsyncFileService;
 import com.antrian.core.service.FileService;
 import com.antrian.ui.Main;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.stage.Stage;
 
-import java.io.IOException;
 import java.time.LocalDateTime;
-import java.util.List;
 
 /**
  * Kelas {@code BuatAntrianController} mengatur logika pembuatan antrian baru oleh pasien.
@@ -49,6 +51,8 @@ public class BuatAntrianController {
     @FXML private TextArea keluhanArea;
     /** Label untuk menampilkan nomor antrian yang berhasil dibuat. */
     @FXML private Label infoNomorAntrian;
+    /** Tombol "Ambil Antrian"; dinonaktifkan selama antrian sedang disimpan. */
+    @FXML private Button ambilButton;
 
     /** Callback untuk memperbarui data pada dashboard setelah antrian dibuat. */
     private Runnable callback;
@@ -67,13 +71,16 @@ public class BuatAntrianController {
      */
     @FXML
     public void initialize() {
-        poliComboBox.getItems().addAll("Poli Umum", "Poli Gigi", "Poli Anak", "Poli Jantung");
+        for (Poli poli : Poli.values()) {
+            poliComboBox.getItems().add(poli.getLabel());
+        }
     }
 
     /**
      * Menangani aksi tombol "Ambil Antrian".
      * <p>Melakukan validasi, membuat objek antrian baru, menyimpannya ke file,
-     * dan menampilkan pesan sukses atau error.</p>
+     * dan menampilkan pesan sukses atau error. Tombol dinonaktifkan sampai
+     * penyimpanan selesai, sehingga klik ganda tidak membuat dua antrian.</p>
      */
     @FXML
     private void handleAmbilAntrian() {
@@ -88,42 +95,46 @@ public class BuatAntrianController {
             return;
         }
 
-        try {
-            int nextId = FileService.getNextAntrianId();
-
-            // Membuat objek antrian baru
-            Antrian newAntrian = new Antrian(
-                nextId,
-                Main.loggedInUser.getNik(),
-                nikField.getText(),
-                namaField.getText(),
-                alamatField.getText(),
-                noTeleponField.getText(),
-                poliComboBox.getValue(),
-                keluhanArea.getText(),
-                "Baru",
-                LocalDateTime.now()
-            );
-
-            // Menyimpan ke file antrian
-            List<Antrian> antrianList = FileService.loadAntrian();
-            antrianList.add(newAntrian);
-            FileService.saveAntrian(antrianList);
-
-            // Menampilkan notifikasi sukses
-            infoNomorAntrian.setText("Sukses! Anda mendapatkan nomor antrian: #" + nextId);
-            showAlert(Alert.AlertType.INFORMATION, "Sukses", "Antrian berhasil dibuat dengan nomor #" + nextId);
-
-            if (callback != null) {
-                callback.run();
-            }
-
-            closeWindow();
-
-        } catch (IOException e) {
-            showAlert(Alert.AlertType.ERROR, "Error", "Gagal menyimpan data antrian.");
-            e.printStackTrace();
-        }
+        // Nilai form diambil di thread UI sebelum pekerjaan file dipindah ke latar belakang
+        String nikPembuat = Main.loggedInUser.getNik();
+        String nik = nikField.getText();
+        String nama = namaField.getText();
+        String alamat = alamatField.getText();
+        String noTelepon = noTeleponField.getText();
+        String poli = poliComboBox.getValue();
+        String keluhan = keluhanArea.getText();
+        LocalDateTime waktu = LocalDateTime.now();
+
+        // Klik kedua selama penyimpanan berjalan tidak boleh mengambil nomor lagi
+        ambilButton.setDisable(true);
+
+        AsyncFileService.getNextAntrianId()
+            .thenCompose(nextId -> {
+                // Membuat objek antrian baru
+                Antrian newAntrian = new Antrian(nextId, nikPembuat, nik, nama, alamat,
+                        noTelepon, poli, keluhan, StatusAntrian.BARU.getLabel(), waktu);
+
+                // Menyimpan ke file antrian (ditambahkan di akhir, tanpa menulis ulang)
+                return AsyncFileService.appendAntrian(newAntrian).thenApply(v -> nextId);
+            })
+            .whenCompleteAsync((nextId, error) -> {
+                ambilButton.setDisable(false);
+                if (error != null) {
+                    showAlert(Alert.AlertType.ERROR, "Error", "Gagal menyimpan data antrian.");
+                    AsyncFileService.penyebab(error).printStackTrace();
+                    return;
+                }
+
+                // Menampilkan notifikasi sukses
+                infoNomorAntrian.setText("Sukses! Anda mendapatkan nomor antrian: #" + nextId);
+                showAlert(Alert.AlertType.INFORMATION, "Sukses", "Antrian berhasil dibuat dengan nomor #" + nextId);
+
+                if (callback != null) {
+                    callback.run();
+                }
+
+                closeWindow();
+            }, Platform::runLater);
     }
 
     /**
@@ -3,16 +3,15 @@ package com.antrian.ui.controller;
 import com.antrian.core.model.User;
 import com.antrian.core.model.Admin;
 import com.antrian.core.model.Pasien;
-import com.antrian.core.service.FileService;
+import com.antrian.core.service.AsyncFileService;
 import com.antrian.ui.Main;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Label;
 import javafx.scene.control.PasswordField;
 import javafx.scene.control.TextField;
 
 import java.io.IOException;
-import java.util.List;
-import java.util.Optional;
 
 /**
  * Kelas {@code LoginController} mengatur logika autentikasi pengguna
@@ -25,7 +24,7 @@ import java.util.Optional;
  * <p>Fitur utama:</p>
  * <ul>
  *   <li>Validasi input email/nama dan password.</li>
- *   <li>Autentikasi data dari file menggunakan {@link FileService}.</li>
+ *   <li>Autentikasi lewat indeks pengguna {@link com.antrian.core.service.UserDirectory}.</li>
  *   <li>Redirect otomatis ke dashboard sesuai peran (Admin atau Pasien).</li>
  * </ul>
  *
@@ -59,17 +58,27 @@ public class LoginController {
             return;
         }
 
-        try {
-            List<User> users = FileService.loadUsers();
-
-            Optional<User> userOpt = users.stream()
-                    .filter(u -> (u.getEmail().equalsIgnoreCase(emailOrName)
-                            || u.getNama().equalsIgnoreCase(emailOrName))
-                            && u.getPassword().equals(password))
-                    .findFirst();
+        // kredensial dicocokkan lewat indeks UserDirectory di latar belakang;
+        // hasilnya diproses kembali di thread UI
+        AsyncFileService.login(emailOrName, password).whenCompleteAsync((user, error) -> {
+            if (error != null) {
+                errorLabel.setText("Gagal membaca data user.");
+                AsyncFileService.penyebab(error).printStackTrace();
+                return;
+            }
+            bukaDashboard(user);
+        }, Platform::runLater);
+    }
 
-            if (userOpt.isPresent()) {
-                Main.loggedInUser = userOpt.get();
+    /**
+     * Membuka dashboard sesuai peran pengguna yang berhasil login.
+     *
+     * @param user pengguna yang cocok, atau {@code null} jika kredensial salah
+     */
+    private void bukaDashboard(User user) {
+        try {
+            if (user != null) {
+                Main.loggedInUser = user;
                 Main main = new Main();
 
                 if (Main.loggedInUser instanceof Admin) {
@@ -84,7 +93,7 @@ public class LoginController {
                 errorLabel.setText("Email/Nama atau Password salah.");
             }
         } catch (IOException e) {
-            errorLabel.setText("Gagal membaca data user.");
+            errorLabel.setText("Gagal membuka dashboard.");
             e.printStackTrace();
         }
     }
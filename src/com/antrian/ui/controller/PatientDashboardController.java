@@ -1,6 +1,5 @@
 package com.antrian.ui.controller;
 
-import com.antrian.core.model.Antrian;
 import com.antrian.core.service.FileService;
 import com.antrian.ui.Main;
 import javafx.fxml.FXML;
@@ -11,8 +10,6 @@ import javafx.stage.Modality;
 import javafx.stage.Stage;
 
 import java.io.IOException;
-import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Kelas {@code PatientDashboardController} mengatur tampilan dan logika dashboard
@@ -42,20 +39,13 @@ public class PatientDashboardController extends BaseDashboardController {
 
     /**
      * Memuat data antrian khusus untuk pasien yang sedang login.
-     * Data akan difilter berdasarkan NIK pembuat yang sesuai
-     * dengan pengguna saat ini.
+     * Antrian diambil lewat indeks NIK pembuat, sehingga biayanya sebanding
+     * dengan jumlah antrian milik pengguna saat ini, bukan panjang riwayat.
      */
     @Override
     protected void loadAntrianData() {
-        try {
-            List<Antrian> allDataForPatient = FileService.loadAndProcessAntrianStatus().stream()
-                    .filter(a -> a.getNikPembuat().equals(Main.loggedInUser.getNik()))
-                    .collect(Collectors.toList());
-            fullAntrianList.setAll(allDataForPatient);
-            applyFilters();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        String nik = Main.loggedInUser.getNik();
+        muatAntrianAsync(() -> FileService.cariAntrianPembuat(nik));
     }
 
     /**
@@ -2,13 +2,13 @@ package com.antrian.ui.controller;
 
 import com.antrian.core.model.Pasien;
 import com.antrian.core.model.User;
-import com.antrian.core.service.FileService;
+import com.antrian.core.service.AsyncFileService;
 import com.antrian.ui.Main;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import java.io.IOException;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
 
 /**
  * Kelas {@code RegisterController} mengatur proses registrasi akun baru
@@ -22,8 +22,10 @@ import java.util.List;
  * <p>Fitur utama:</p>
  * <ul>
  *   <li>Validasi input agar semua field wajib diisi.</li>
- *   <li>Pengecekan duplikasi NIK atau email sebelum menyimpan.</li>
- *   <li>Penyimpanan data pasien baru menggunakan {@link FileService}.</li>
+ *   <li>Pengecekan duplikasi NIK atau email sebelum menyimpan. Email dibandingkan
+ *       tanpa membedakan huruf besar/kecil, sama seperti saat login, sehingga
+ *       {@code Budi@mail.com} ditolak jika {@code budi@mail.com} sudah terdaftar.</li>
+ *   <li>Penyimpanan data pasien baru menggunakan {@link AsyncFileService}.</li>
  *   <li>Redirect otomatis ke halaman login setelah registrasi sukses.</li>
  * </ul>
  *
@@ -84,34 +86,30 @@ public class RegisterController {
                 "RM-" + nikField.getText()
         );
 
-        try {
-            List<User> users = FileService.loadUsers();
-
-            // Cek duplikasi NIK atau email
-            boolean userExists = users.stream()
-                    .anyMatch(u -> u.getNik().equals(newUser.getNik()) || u.getEmail().equals(newUser.getEmail()));
-
-            if (userExists) {
+        // Simpan pengguna baru di latar belakang; gagal jika NIK atau email sudah terdaftar
+        AsyncFileService.registerUser(newUser).whenCompleteAsync((berhasil, error) -> {
+            if (error != null) {
+                errorLabel.setText("Gagal menyimpan data user.");
+                AsyncFileService.penyebab(error).printStackTrace();
+                return;
+            }
+            if (!berhasil) {
                 errorLabel.setText("NIK atau Email sudah terdaftar.");
                 return;
             }
 
-            // Simpan pengguna baru
-            users.add(newUser);
-            FileService.saveUsers(users);
-
             Alert alert = new Alert(Alert.AlertType.INFORMATION);
             alert.setTitle("Sukses");
             alert.setHeaderText(null);
             alert.setContentText("Registrasi berhasil! Silakan login.");
             alert.showAndWait();
 
-            new Main().changeScene("/fxml/Login.fxml", 600, 400);
-
-        } catch (IOException e) {
-            errorLabel.setText("Gagal menyimpan data user.");
-            e.printStackTrace();
-        }
+            try {
+                new Main().changeScene("/fxml/Login.fxml", 600, 400);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }, Platform::runLater);
     }
 
     /**